@@ -25,8 +25,8 @@ const TaskAPI = {
     deleteRelationship: async function (taskId: number, relatedTaskId: number) {
         return authRequest<any>(`/api/v1/tasks/${taskId}/relationship/${relatedTaskId}?type=PREVIOUS_ACTIVITY`, RequestMethod.Delete)
     },
-    getNotRelatedTask: async function (taskId: Number) {
-        return authRequest<Task[]>(`/api/v1/tasks/${taskId}/not-related-tasks`, RequestMethod.Get)
+    getNotRelatedTask: async function (taskId: Number, successor: boolean) {
+        return authRequest<Task[]>(`/api/v1/tasks/${taskId}/not-related-tasks?direction=${successor ? 'SUCCESSOR' : 'PREDECESSOR'}`, RequestMethod.Get)
     },
     getTaskSuccessor: async function (taskId: Number) {
         return authRequest<RelatedTask[]>(`/api/v1/tasks/${taskId}/successor`, RequestMethod.Get)
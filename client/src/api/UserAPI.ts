@@ -1,4 +1,4 @@
-import {authRequest, RequestMethod} from "../utils/httpUtils";
+import {authEventStream, authRequest, RequestMethod, ServerSentEvent} from "../utils/httpUtils";
 import {Notification, Project, Task} from "../model/models";
 import {ProjectRole} from "../model/enums";
 
@@ -12,8 +12,11 @@ const UserAPI = {
     getUnreadNotificationsCount: async function (userId: number) {
         return authRequest<number>(`/api/v1/users/${userId}/notifications/count`, RequestMethod.Get)
     },
-    getNotifications: async function (userId: number) {
-        return authRequest<Notification[]>(`/api/v1/users/${userId}/notifications`, RequestMethod.Get)
+    subscribeToNotifications: function (userId: number, onEvent: (event: ServerSentEvent) => void, onOpen?: () => void) {
+        return authEventStream(`/api/v1/users/${userId}/notifications/stream`, onEvent, onOpen)
+    },
+    getNotifications: async function (userId: number, cursor?: number, limit: number = 50) {
+        return authRequest<Notification[]>(`/api/v1/users/${userId}/notifications?limit=${limit}${cursor ? `&cursor=${cursor}` : ''}`, RequestMethod.Get)
     },
     markNotificationAsRead: async function (notificationId: number) {
         return authRequest<any>(`/api/v1/users/notifications/${notificationId}/mark-read`, RequestMethod.Put)
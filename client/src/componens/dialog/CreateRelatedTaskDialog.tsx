@@ -53,13 +53,13 @@ const CreateRelatedTaskDialog: React.FC<CreateRelatedTaskDialogProps> = (props)
 
     useEffect(() => {
         if (taskId && open) {
-            TaskAPI.getNotRelatedTask(taskId)
+            TaskAPI.getNotRelatedTask(taskId, swappedRelationship)
                 .then(response => {
                     if (response.isSuccessful && response.data)
                         setAvailableNotRelatedTask(response.data)
                 })
         }
-    }, [taskId, open])
+    }, [taskId, open, swappedRelationship])
 
     const onSubmit = (data: CreateTaskRelationshipFormData): void => {
         if (selectedTask.length > 0) {
@@ -32,6 +32,7 @@ import SimplyListItem from "../common/SimplyListItem";
 import PropaneOutlinedIcon from "@mui/icons-material/PropaneOutlined";
 import {Project} from "../../model/models";
 import {UserAPI} from "../../api/UserAPI";
+import {NotificationEventType} from "../../model/enums";
 import CreateProjectDialog from "../dialog/CreateProjectDialog";
 import ArticleIcon from '@mui/icons-material/Article';
 import QuestionMarkIcon from '@mui/icons-material/QuestionMark';
@@ -112,15 +113,30 @@ export default function MainLayout() {
                     if (response.isSuccessful && response.data)
                         setUserProjects(response.data)
                 })
+        } else {
+            setUserProjects([])
+        }
+    }, [currentUser])
 
-            UserAPI.getUnreadNotificationsCount(currentUser.id)
+    useEffect(() => {
+        if (!currentUser)
+            return
+
+        // the count is read once per connection, the stream then reports every change of it
+        return UserAPI.subscribeToNotifications(
+            currentUser.id,
+            event => {
+                if (event.name === NotificationEventType.CREATED)
+                    setUnreadNotificationsCount(prevState => (prevState ?? 0) + 1)
+                else if (event.name === NotificationEventType.READ)
+                    setUnreadNotificationsCount(prevState => Math.max((prevState ?? 0) - 1, 0))
+            },
+            () => UserAPI.getUnreadNotificationsCount(currentUser.id)
                 .then(response => {
                     if (response.isSuccessful)
                         setUnreadNotificationsCount(response.data)
                 })
-        } else {
-            setUserProjects([])
-        }
+        )
     }, [currentUser])
 
     const handleAddProjectMenuItem = () => {
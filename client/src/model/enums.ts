@@ -67,3 +67,9 @@ export enum ProjectMemberStatus {
 export enum NotificationType {
     PROJECT_INVITATION = "PROJECT_INVITATION",
 }
+
+export enum NotificationEventType {
+    CREATED = "CREATED",
+    READ = "READ",
+    RESOLVED = "RESOLVED",
+}
@@ -1,5 +1,5 @@
 import React, {useContext, useEffect, useState} from "react";
-import {Box, Chip, Divider, Stack, Typography} from "@mui/material";
+import {Box, Button, Chip, Divider, Stack, Typography} from "@mui/material";
 import {withLoading, WithLoadingProps} from "../componens/common/feedback/Loading";
 import {withSnackbar, WithSnackbarProps} from "../componens/common/feedback/Snackbar";
 import {AuthContext, AuthContextType} from "../context/AuthContext";
@@ -11,6 +11,8 @@ import {Notification} from "../model/models";
 import Breadcrumbs from "@mui/material/Breadcrumbs";
 import {useNavigate} from "react-router";
 
+const PAGE_SIZE = 50
+
 interface NotificationsProps extends WithLoadingProps, WithSnackbarProps {
 
 }
@@ -27,17 +29,24 @@ const Notifications: React.FC<NotificationsProps> = (props) => {
     const navigate = useNavigate()
 
     const [notifications, setNotifications] = useState<Notification[]>()
+    const [hasMore, setHasMore] = useState<boolean>(false)
 
-    useEffect(() => {
-        UserAPI.getNotifications(currentUser.id)
+    const loadNotifications = (cursor?: number) => {
+        UserAPI.getNotifications(currentUser.id, cursor, PAGE_SIZE)
             .then(response => {
-                if (response.isSuccessful && response.data)
-                    setNotifications(response.data)
-                else
+                if (response.isSuccessful && response.data) {
+                    const page = response.data
+                    setNotifications(previous => cursor && previous ? [...previous, ...page] : page)
+                    setHasMore(page.length === PAGE_SIZE)
+                } else
                     showAlert(t("common.somethingWentWrong"), 'error')
 
                 stopLoading()
             })
+    }
+
+    useEffect(() => {
+        loadNotifications()
     }, [])
 
     return (
@@ -74,6 +83,17 @@ const Notifications: React.FC<NotificationsProps> = (props) => {
                     <Typography variant='body1'>{t('notification.noNotificationsAvailable')}</Typography>
                 }
 
+                {hasMore &&
+                    <Box display='flex' justifyContent='center' mt={2}>
+                        <Button
+                            variant='outlined'
+                            onClick={() => loadNotifications(notifications[notifications.length - 1].id)}
+                        >
+                            {t('notification.loadMore')}
+                        </Button>
+                    </Box>
+                }
+
             </Stack>
             : <></>
     )
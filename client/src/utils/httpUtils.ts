@@ -28,30 +28,77 @@ export enum RequestMethod {
     Delete = 'DELETE'
 }
 
+export interface ServerSentEvent {
+    name: string
+    data: string
+}
+
+const EVENT_STREAM_RECONNECT_DELAY = 5000
+
+const refreshAuthToken = async (): Promise<boolean> => {
+    const refreshToken = localStorage.getItem(REFRESH_TOKEN_KEY)
+    if (refreshToken == null)
+        return false
+
+    const refreshTokenRes = await request<AuthenticationResponse>(
+        'auth/refresh-token', RequestMethod.Post, {}, {refreshToken: JSON.parse(refreshToken)})
+    if (!refreshTokenRes.isSuccessful || !refreshTokenRes.data)
+        return false
+
+    localStorage.setItem(REFRESH_TOKEN_KEY, JSON.stringify(refreshTokenRes.data.refreshToken))
+    localStorage.setItem(AUTH_TOKEN_KEY, JSON.stringify(refreshTokenRes.data.token))
+    return true
+}
+
+const signOut = () => {
+    localStorage.clear()
+    window.location.reload()
+}
+
 export const authRequest = async <T = any>(url: string, method: RequestMethod, params?: any, body?: any): Promise<ApiResponse<T>> => {
     const response = await request<T>(url, method, params, body)
     if (response.isSuccessful || response.statusCode !== 403) {
         return response
-    } else {
-        const refreshToken = localStorage.getItem(REFRESH_TOKEN_KEY)
-        if (refreshToken != null) {
-            const refreshTokenRes = await request<AuthenticationResponse>(
-                'auth/refresh-token', RequestMethod.Post, {}, {refreshToken: JSON.parse(refreshToken)})
-            if (refreshTokenRes.isSuccessful && refreshTokenRes.data) {
-                localStorage.setItem(REFRESH_TOKEN_KEY, JSON.stringify(refreshTokenRes.data.refreshToken))
-                localStorage.setItem(AUTH_TOKEN_KEY, JSON.stringify(refreshTokenRes.data.token))
-                const secondRequest = await request<T>(url, method, params, body)
-                if (secondRequest.isSuccessful)
-                    return secondRequest
-            }
-        }
+    } else if (await refreshAuthToken()) {
+        const secondRequest = await request<T>(url, method, params, body)
+        if (secondRequest.isSuccessful)
+            return secondRequest
     }
 
-    localStorage.clear()
-    window.location.reload()
+    signOut()
     return {isSuccessful: false}
 }
 
+const readEvents = async (body: ReadableStream<Uint8Array>, onEvent: (event: ServerSentEvent) => void) => {
+    const reader = body.getReader()
+    const decoder = new TextDecoder()
+    let buffer = ''
+
+    while (true) {
+        const {value, done} = await reader.read()
+        if (done)
+            return
+
+        buffer += decoder.decode(value, {stream: true})
+        const blocks = buffer.split(/\r?\n\r?\n/)
+        buffer = blocks.pop() ?? ''
+
+        for (const block of blocks) {
+            let name = 'message'
+            const data: string[] = []
+            for (const line of block.split(/\r?\n/)) {
+                // lines starting with a colon are comments, such as heartbeats
+                if (line.startsWith('event:'))
+                    name = line.substring(6).trim()
+                else if (line.startsWith('data:'))
+                    data.push(line.substring(line.startsWith('data: ') ? 6 : 5))
+            }
+            if (data.length > 0)
+                onEvent({name: name, data: data.join('\n')})
+        }
+    }
+}
+
 export const request = async <T = any>(url: string, method: RequestMethod, params?: any, body?: any): Promise<ApiResponse<T>> => {
     // remove empty strings
     if (body)
@@ -89,4 +136,50 @@ export const request = async <T = any>(url: string, method: RequestMethod, param
             isSuccessful: false
         }
     }
-}
\ No newline at end of file
+}
+
+/**
+ * Opens a server-sent event stream with the token of the user. EventSource cannot send the Authorization header, so
+ * the stream is read by fetch. A closed stream is opened again after a delay, onOpen is called on every connection.
+ *
+ * @return function closing the stream
+ */
+export const authEventStream = (url: string, onEvent: (event: ServerSentEvent) => void, onOpen?: () => void): () => void => {
+    const controller = new AbortController()
+
+    const connect = async () => {
+        while (!controller.signal.aborted) {
+            try {
+                const token = localStorage.getItem(AUTH_TOKEN_KEY)
+                const response = await fetch(new URL(url, httpClient.defaults.baseURL), {
+                    headers: {
+                        'Accept': 'text/event-stream',
+                        'Authorization': token ? 'Bearer ' + JSON.parse(token) : '',
+                    },
+                    signal: controller.signal,
+                })
+
+                if (response.status === 403) {
+                    if (await refreshAuthToken())
+                        continue
+                    signOut()
+                    return
+                }
+
+                if (response.ok && response.body) {
+                    onOpen?.()
+                    await readEvents(response.body, onEvent)
+                }
+            } catch (e: any) {
+                if (controller.signal.aborted)
+                    return
+                console.log(e)
+            }
+
+            await new Promise(resolve => setTimeout(resolve, EVENT_STREAM_RECONNECT_DELAY))
+        }
+    }
+
+    connect()
+    return () => controller.abort()
+}
@@ -0,0 +1,159 @@
+package cz.uhk.projectmgmt.benchmark;
+
+import jakarta.persistence.*;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert cost per task persisted through Hibernate, with ids from a serial column (the schema of V1) and from the
+ * pooled-lo sequences of V3. Needs a PostgreSQL database, see {@code README.md}. Each id generation gets its own schema,
+ * which is dropped and migrated again before the benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final int BATCH_SIZE = 50;
+    private static final int PROJECT_ID = 1_000_000;
+
+    @Param({"identity", "sequence"})
+    public String idGeneration;
+
+    private SessionFactory sessionFactory;
+    private Class<? extends BenchmarkTask> taskClass;
+
+    @Setup
+    public void setUp() {
+        boolean identity = "identity".equals(idGeneration);
+        String schema = "benchmark_" + idGeneration;
+        Flyway flyway = Flyway.configure()
+                .dataSource(jdbcUrl(), jdbcUser(), jdbcPassword())
+                .schemas(schema)
+                .target(identity ? "1" : "latest")
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+
+        taskClass = identity ? IdentityTask.class : SequenceTask.class;
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(taskClass)
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .setProperty("hibernate.connection.url", jdbcUrl())
+                .setProperty("hibernate.connection.username", jdbcUser())
+                .setProperty("hibernate.connection.password", jdbcPassword())
+                .setProperty("hibernate.connection.reWriteBatchedInserts", "true")
+                .setProperty("hibernate.default_schema", schema)
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(BATCH_SIZE))
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery(
+                        "insert into projects (id, created_on, created_by, name, status, type) " +
+                                "values (:id, now(), 'benchmark', 'Benchmark', 'NEW', 'PUBLIC')")
+                .setParameter("id", PROJECT_ID)
+                .executeUpdate());
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteTasks() {
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("delete from tasks").executeUpdate());
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    /**
+     * Persists {@value #ROWS} tasks in one transaction, flushing and clearing every batch as the task import does.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void persistTasks() throws ReflectiveOperationException {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < ROWS; i++) {
+                BenchmarkTask task = taskClass.getDeclaredConstructor().newInstance();
+                task.fill("Task " + i, PROJECT_ID);
+                session.persist(task);
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            session.getTransaction().commit();
+        }
+    }
+
+    private static String jdbcUrl() {
+        return System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/dockerdb");
+    }
+
+    private static String jdbcUser() {
+        return System.getProperty("benchmark.jdbc.username", "dockeruser");
+    }
+
+    private static String jdbcPassword() {
+        return System.getProperty("benchmark.jdbc.password", "dockerpassword");
+    }
+
+    @MappedSuperclass
+    public abstract static class BenchmarkTask {
+
+        private LocalDateTime createdOn;
+        private String createdBy;
+        private String name;
+        private String priority;
+        private String status;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private Integer progress;
+        private Integer projectId;
+
+        void fill(String name, Integer projectId) {
+            this.createdOn = LocalDateTime.now();
+            this.createdBy = "benchmark";
+            this.name = name;
+            this.priority = "NORMAL";
+            this.status = "NEW";
+            this.startDate = LocalDate.now();
+            this.endDate = startDate.plusDays(5);
+            this.progress = 0;
+            this.projectId = projectId;
+        }
+    }
+
+    @Entity
+    @Table(name = "TASKS")
+    public static class IdentityTask extends BenchmarkTask {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Integer id;
+    }
+
+    @Entity
+    @Table(name = "TASKS")
+    public static class SequenceTask extends BenchmarkTask {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+        @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
+        private Integer id;
+    }
+}
@@ -0,0 +1,44 @@
+package cz.uhk.projectmgmt.benchmark;
+
+import cz.uhk.projectmgmt.model.User;
+import cz.uhk.projectmgmt.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation at login and the token check done by the authentication filter on every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils("abcdefghijklmnOPQRSTUVWXYZ", 3_600_000, 604_800_000);
+        user = new User("benchmark", "First", "Last", "benchmark@test.cz", "", "benchmark");
+        user.setId(1);
+        token = jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<User> parseToken() {
+        Optional<Claims> claims = jwtUtils.parseToken(token);
+        return claims.flatMap(jwtUtils::parsePrincipal);
+    }
+}
@@ -0,0 +1,54 @@
+package cz.uhk.projectmgmt.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.uhk.projectmgmt.dto.ProjectDto;
+import cz.uhk.projectmgmt.model.Task;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a loaded project graph to the DTOs of the project endpoint and their serialization.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int tasks;
+
+    @Param({"1.5", "3"})
+    public double density;
+
+    private SyntheticProject project;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        project = SyntheticProject.generate(tasks, density, 42);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+
+    @Benchmark
+    public void taskToDto(Blackhole blackhole) {
+        for (Task task : project.tasks) {
+            blackhole.consume(task.mapEntityToDTO(true));
+        }
+    }
+
+    @Benchmark
+    public ProjectDto projectToDto() {
+        return project.project.mapEntityToDTO(true);
+    }
+
+    @Benchmark
+    public byte[] projectToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(project.project.mapEntityToDTO(true));
+    }
+}
@@ -0,0 +1,87 @@
+package cz.uhk.projectmgmt.benchmark;
+
+import cz.uhk.projectmgmt.model.Task;
+import cz.uhk.projectmgmt.schedule.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedule calculations behind the CPM, MPM and PERT endpoints and the cached schedule updated by task changes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScheduleBenchmark {
+
+    private static final int PERT_ITERATIONS = 1_000;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int tasks;
+
+    @Param({"1.5", "3"})
+    public double density;
+
+    private SyntheticProject project;
+    private ProjectGraph graph;
+    private int[] optimistic;
+    private int[] modal;
+    private int[] pessimistic;
+    private IncrementalSchedule schedule;
+    private long[] startDays;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        project = SyntheticProject.generate(tasks, density, 42);
+        graph = ProjectGraph.fromTasks(project.tasks, project.relationships);
+
+        optimistic = new int[graph.size()];
+        modal = new int[graph.size()];
+        pessimistic = new int[graph.size()];
+        startDays = new long[graph.size()];
+        for (Task task : project.tasks) {
+            int index = graph.indexOf(task.getId());
+            optimistic[index] = task.getOptimisticEstimation();
+            modal[index] = task.getModalEstimation();
+            pessimistic[index] = task.getPessimisticEstimation();
+            startDays[index] = task.getStartDate().toEpochDay();
+        }
+
+        schedule = IncrementalSchedule.of(graph, startDays);
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public ProjectGraph buildGraph() {
+        return ProjectGraph.fromTasks(project.tasks, project.relationships);
+    }
+
+    @Benchmark
+    public CpmResult cpm() {
+        return CpmCalculator.calculate(graph);
+    }
+
+    @Benchmark
+    public MpmResult mpm() {
+        return MpmCalculator.calculate(graph);
+    }
+
+    @Benchmark
+    public PertSimulationResult pertSimulation() {
+        return PertSimulation.simulate(graph, optimistic, modal, pessimistic, PERT_ITERATIONS, new SplittableRandom(11),
+                ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public IncrementalSchedule.Snapshot incrementalTaskUpdate() {
+        int index = random.nextInt(graph.size());
+        schedule.updateTask(graph.taskId(index), startDays[index], 1 + random.nextInt(10));
+        return schedule.snapshot();
+    }
+}
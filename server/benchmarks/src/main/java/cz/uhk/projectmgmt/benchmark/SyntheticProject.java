@@ -0,0 +1,93 @@
+package cz.uhk.projectmgmt.benchmark;
+
+import cz.uhk.projectmgmt.enums.*;
+import cz.uhk.projectmgmt.model.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Acyclic project of generated tasks. Every task depends on tasks among the {@value #WINDOW} tasks created before
+ * it, so the graph has long chains like a real schedule instead of a shallow random DAG.
+ */
+final class SyntheticProject {
+
+    private static final int WINDOW = 64;
+    private static final int MEMBER_COUNT = 10;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    final Project project;
+    final List<Task> tasks;
+    final List<TaskRelationship> relationships;
+
+    private SyntheticProject(Project project, List<Task> tasks, List<TaskRelationship> relationships) {
+        this.project = project;
+        this.tasks = tasks;
+        this.relationships = relationships;
+    }
+
+    /**
+     * @param density average number of predecessors of a task
+     */
+    static SyntheticProject generate(int taskCount, double density, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+
+        Project project = new Project("benchmark", "Benchmark", PROJECT_TYPE.PUBLIC, PROJECT_STATUS.IN_PROGRESS, null);
+        project.setId(1);
+
+        Set<ProjectMember> members = new LinkedHashSet<>();
+        for (int i = 1; i <= MEMBER_COUNT; i++) {
+            User user = new User("user" + i, "First", "Last", "user" + i + "@test.cz", "", "benchmark");
+            user.setId(i);
+            members.add(new ProjectMember("benchmark", user, project, i == 1 ? PROJECT_ROLE.OWNER : PROJECT_ROLE.MEMBER,
+                    PROJECT_MEMBER_STATUS.ACTIVE, null));
+        }
+        project.setProjectMembers(members);
+
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            LocalDate startDate = START.plusDays(random.nextInt(365));
+            int duration = 1 + random.nextInt(10);
+            Task task = new Task("benchmark", "Task " + i, PRIORITY.NORMAL, TASK_STATUS.NEW, null, startDate,
+                    startDate.plusDays(duration - 1), random.nextInt(101), 1 + random.nextInt(MEMBER_COUNT), project.getId());
+            task.setId(i + 1);
+            task.setOptimisticEstimation(Math.max(1, duration - 2));
+            task.setModalEstimation(duration);
+            task.setPessimisticEstimation(duration + 3);
+            tasks.add(task);
+        }
+
+        List<TaskRelationship> relationships = new ArrayList<>((int) (taskCount * density));
+        for (int i = 1; i < taskCount; i++) {
+            int window = Math.min(i, WINDOW);
+            int predecessorCount = (int) density + (random.nextDouble() < density - (int) density ? 1 : 0);
+            long chosen = 0;
+            for (int p = 0; p < Math.min(predecessorCount, window); p++) {
+                int offset;
+                do {
+                    offset = random.nextInt(window);
+                } while ((chosen & (1L << offset)) != 0);
+                chosen |= 1L << offset;
+
+                Task task = tasks.get(i);
+                Task predecessor = tasks.get(i - 1 - offset);
+                TaskRelationship relationship = new TaskRelationship(task.getId(), predecessor.getId(), TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY);
+                if (random.nextInt(4) == 0)
+                    relationship.setMinimumTimeGap(random.nextInt(3));
+                // generous maximum gaps keep the schedule feasible but give the MPM calculation backward arcs
+                if (random.nextInt(10) == 0)
+                    relationship.setMaximumTimeGap(10_000);
+                task.getTaskRelationships().add(relationship);
+                predecessor.getRelatedTaskRelationships().add(relationship);
+                relationships.add(relationship);
+            }
+        }
+        project.setTasks(new LinkedHashSet<>(tasks));
+
+        return new SyntheticProject(project, tasks, relationships);
+    }
+}
@@ -0,0 +1,85 @@
+// Mixed read load with occasional logins, run against the platform and the virtual thread mode:
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=2000 requests.js
+import http from 'k6/http';
+import {check} from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '2000');
+const TASK_COUNT = 50;
+const PASSWORD = 'LoadTest123';
+
+export const options = {
+    scenarios: {
+        clients: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: __ENV.DURATION || '3m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+function json(token) {
+    const headers = {'Content-Type': 'application/json'};
+    if (token)
+        headers['Authorization'] = `Bearer ${token}`;
+    return {headers};
+}
+
+function login(username) {
+    const response = http.post(`${BASE_URL}/auth/login`, JSON.stringify({username, password: PASSWORD}), json());
+    check(response, {'login': r => r.status === 200});
+    return response.json();
+}
+
+export function setup() {
+    const username = `load${Date.now()}`;
+    http.post(`${BASE_URL}/auth/register`, JSON.stringify({
+        username,
+        firstName: 'Load',
+        lastName: 'Test',
+        email: `${username}@test.cz`,
+        password: PASSWORD,
+    }), json());
+    const auth = login(username);
+
+    const project = http.post(`${BASE_URL}/api/v1/projects`, JSON.stringify({
+        name: `Load test ${username}`,
+        type: 'PRIVATE',
+    }), json(auth.token)).json();
+
+    const taskIds = [];
+    for (let i = 0; i < TASK_COUNT; i++) {
+        const task = http.post(`${BASE_URL}/api/v1/tasks`, JSON.stringify({
+            name: `Task ${i}`,
+            priority: 'NORMAL',
+            startDate: '2024-01-01',
+            endDate: '2024-01-05',
+            projectId: project.id,
+            previousActivities: i > 0 ? [taskIds[i - 1]] : [],
+        }), json(auth.token)).json();
+        taskIds.push(task.id);
+    }
+
+    return {username, token: auth.token, userId: auth.user.id, projectId: project.id, taskIds};
+}
+
+export default function (data) {
+    // one request in twenty hashes the password
+    if (Math.random() < 0.05) {
+        login(data.username);
+        return;
+    }
+
+    const params = json(data.token);
+    const taskId = data.taskIds[Math.floor(Math.random() * data.taskIds.length)];
+    const responses = http.batch([
+        ['GET', `${BASE_URL}/api/v1/users/${data.userId}/projects`, null, params],
+        ['GET', `${BASE_URL}/api/v1/tasks/${taskId}`, null, params],
+        ['GET', `${BASE_URL}/api/v1/projects/${data.projectId}/changes?since=0`, null, params],
+    ]);
+    responses.forEach(response => check(response, {'status 200': r => r.status === 200}));
+}
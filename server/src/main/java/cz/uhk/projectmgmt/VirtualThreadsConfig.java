@@ -0,0 +1,42 @@
+package cz.uhk.projectmgmt;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the Tomcat request processing, and with it the transactional service calls, on virtual threads, so requests
+ * blocked on JDBC or password hashing do not hold a platform thread. Enabled by the {@code virtual-threads} profile,
+ * which needs Java 21. The executor is looked up reflectively, so the application still builds with Java 17.
+ * Pinning is described in {@code load-test/README.md}.
+ * <p>
+ * The executor is not a bean, an {@link java.util.concurrent.Executor} bean would replace the task executor Spring
+ * Boot configures for {@code @Async} and asynchronous MVC requests. Virtual threads do not keep the JVM alive, so the
+ * executor needs no shutdown.
+ */
+@Configuration
+@Profile("virtual-threads")
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual thread executor cannot be created", e);
+        }
+    }
+}
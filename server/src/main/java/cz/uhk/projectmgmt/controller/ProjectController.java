@@ -5,8 +5,12 @@ import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
 import cz.uhk.projectmgmt.model.User;
 import cz.uhk.projectmgmt.service.ProjectMemberService;
 import cz.uhk.projectmgmt.service.ProjectService;
+import cz.uhk.projectmgmt.service.ProjectSnapshotCache;
+import cz.uhk.projectmgmt.service.ScheduleService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -20,11 +24,14 @@ public class ProjectController {
 
     private final ProjectService projectService;
     private final ProjectMemberService projectMemberService;
+    private final ScheduleService scheduleService;
 
     public ProjectController(ProjectService projectService,
-                             ProjectMemberService projectMemberService) {
+                             ProjectMemberService projectMemberService,
+                             ScheduleService scheduleService) {
         this.projectService = projectService;
         this.projectMemberService = projectMemberService;
+        this.scheduleService = scheduleService;
     }
 
     @PostMapping
@@ -33,10 +40,26 @@ public class ProjectController {
         return new ResponseEntity<>(projectService.createNewProject(createProjectDto, authenticatedUser), HttpStatus.CREATED);
     }
 
+    /**
+     * Answers with the cached serialized project, a request with the current ETag in {@code If-None-Match} gets
+     * 304 Not Modified without the body.
+     */
     @GetMapping("/{projectId}")
-    public ResponseEntity<ProjectDto> readProject(@PathVariable Integer projectId,
-                                                  @AuthenticationPrincipal User authenticatedUser) {
-        return new ResponseEntity<>(projectService.readProjectById(projectId, authenticatedUser), HttpStatus.OK);
+    public ResponseEntity<byte[]> readProject(@PathVariable Integer projectId,
+                                              @AuthenticationPrincipal User authenticatedUser) {
+        ProjectSnapshotCache.ProjectSnapshot snapshot = projectService.readProjectSnapshot(projectId, authenticatedUser);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(snapshot.eTag())
+                .body(snapshot.body());
+    }
+
+    @GetMapping("/{projectId}/changes")
+    public ResponseEntity<ProjectChangesDto> readProjectChanges(@PathVariable Integer projectId,
+                                                                @RequestParam(name = "since") long sinceVersion,
+                                                                @AuthenticationPrincipal User authenticatedUser) {
+        return ResponseEntity.ok(projectService.readProjectChanges(projectId, sinceVersion, authenticatedUser));
     }
 
     @PutMapping("/{projectId}")
@@ -91,4 +114,42 @@ public class ProjectController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/{projectId}/calendar")
+    public ResponseEntity<ProjectCalendarDto> readProjectCalendar(@PathVariable Integer projectId,
+                                                                  @AuthenticationPrincipal User authenticatedUser) {
+        return ResponseEntity.ok(projectService.readProjectCalendar(projectId, authenticatedUser));
+    }
+
+    @PutMapping("/{projectId}/calendar")
+    public ResponseEntity<ProjectCalendarDto> updateProjectCalendar(@PathVariable Integer projectId,
+                                                                    @RequestBody @Valid UpdateProjectCalendarDto updateProjectCalendarDto,
+                                                                    @AuthenticationPrincipal User authenticatedUser) {
+        return ResponseEntity.ok(projectService.updateProjectCalendar(projectId, updateProjectCalendarDto, authenticatedUser));
+    }
+
+    @GetMapping("/{projectId}/schedule/cpm")
+    public ResponseEntity<CpmScheduleDto> readCpmSchedule(@PathVariable Integer projectId,
+                                                          @AuthenticationPrincipal User authenticatedUser) {
+        return ResponseEntity.ok(scheduleService.calculateCpm(projectId, authenticatedUser));
+    }
+
+    @GetMapping("/{projectId}/schedule/mpm")
+    public ResponseEntity<MpmScheduleDto> readMpmSchedule(@PathVariable Integer projectId,
+                                                          @AuthenticationPrincipal User authenticatedUser) {
+        return ResponseEntity.ok(scheduleService.calculateMpm(projectId, authenticatedUser));
+    }
+
+    @GetMapping("/{projectId}/schedule/pert/simulation")
+    public ResponseEntity<PertSimulationDto> simulatePertSchedule(@PathVariable Integer projectId,
+                                                                  @RequestParam(name = "iterations", defaultValue = "10000") int iterations,
+                                                                  @AuthenticationPrincipal User authenticatedUser) {
+        return ResponseEntity.ok(scheduleService.simulatePert(projectId, iterations, authenticatedUser));
+    }
+
+    @GetMapping("/{projectId}/schedule/leveling")
+    public ResponseEntity<LevelingScheduleDto> readLevelingSchedule(@PathVariable Integer projectId,
+                                                                    @AuthenticationPrincipal User authenticatedUser) {
+        return ResponseEntity.ok(scheduleService.calculateLeveling(projectId, authenticatedUser));
+    }
+
 }
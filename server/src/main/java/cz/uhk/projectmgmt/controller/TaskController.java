@@ -1,6 +1,7 @@
 package cz.uhk.projectmgmt.controller;
 
 import cz.uhk.projectmgmt.dto.*;
+import cz.uhk.projectmgmt.enums.TASK_RELATIONSHIP_DIRECTION;
 import cz.uhk.projectmgmt.enums.TASK_RELATIONSHIP_TYPE;
 import cz.uhk.projectmgmt.model.User;
 import cz.uhk.projectmgmt.service.TaskService;
@@ -11,6 +12,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @CrossOrigin(origins = "*", allowedHeaders = "*")
@@ -33,6 +35,16 @@ public class TaskController {
         );
     }
 
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Integer>> importTasks(
+            @RequestBody @Valid ImportTasksDto importTasksDto,
+            @AuthenticationPrincipal User authenticatedUser) {
+        return new ResponseEntity<>(
+                taskService.importTasks(importTasksDto, authenticatedUser),
+                HttpStatus.CREATED
+        );
+    }
+
     @GetMapping("/{taskId}")
     public ResponseEntity<TaskDto> getTask(
             @PathVariable Integer taskId,
@@ -57,8 +69,9 @@ public class TaskController {
 
     @GetMapping("/{taskId}/not-related-tasks")
     public ResponseEntity<List<TaskDto>> getNotRelatedTasks(@PathVariable Integer taskId,
+                                                            @RequestParam(name = "direction", defaultValue = "PREDECESSOR") TASK_RELATIONSHIP_DIRECTION direction,
                                                             @AuthenticationPrincipal User authenticatedUser) {
-        return new ResponseEntity<>(taskService.getNotRelatedTasks(taskId, authenticatedUser), HttpStatus.OK);
+        return new ResponseEntity<>(taskService.getNotRelatedTasks(taskId, direction, authenticatedUser), HttpStatus.OK);
     }
 
     @GetMapping("/{taskId}/successor")
@@ -3,16 +3,21 @@ package cz.uhk.projectmgmt.controller;
 import cz.uhk.projectmgmt.dto.NotificationDto;
 import cz.uhk.projectmgmt.dto.ProjectDto;
 import cz.uhk.projectmgmt.dto.TaskDto;
+import cz.uhk.projectmgmt.dto.WorkloadDto;
 import cz.uhk.projectmgmt.enums.PROJECT_ROLE;
 import cz.uhk.projectmgmt.model.User;
 import cz.uhk.projectmgmt.service.NotificationService;
 import cz.uhk.projectmgmt.service.ProjectMemberService;
 import cz.uhk.projectmgmt.service.ProjectService;
 import cz.uhk.projectmgmt.service.TaskService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 // https://github.com/saifaustcse/api-best-practices
@@ -52,8 +57,10 @@ public class UserController {
 
     @GetMapping("/{userId}/notifications")
     public ResponseEntity<List<NotificationDto>> readUserNotifications(@PathVariable Integer userId,
+                                                                       @RequestParam(name = "cursor", required = false) Integer cursor,
+                                                                       @RequestParam(name = "limit", defaultValue = "${app.notifications.page-size}") int limit,
                                                                        @AuthenticationPrincipal User authenticatedUser) {
-        return ResponseEntity.ok(notificationService.readUserNotifications(userId, authenticatedUser));
+        return ResponseEntity.ok(notificationService.readUserNotifications(userId, cursor, limit, authenticatedUser));
     }
 
     @GetMapping("/{userId}/notifications/count")
@@ -62,6 +69,12 @@ public class UserController {
         return ResponseEntity.ok(notificationService.readUnreadNotificationsCountForUser(userId, authenticatedUser));
     }
 
+    @GetMapping(path = "/{userId}/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToNotifications(@PathVariable Integer userId,
+                                               @AuthenticationPrincipal User authenticatedUser) {
+        return notificationService.subscribeToNotifications(userId, authenticatedUser);
+    }
+
     @PutMapping("/notifications/{notificationId}/mark-read")
     public ResponseEntity<?> markNotificationAsRead(@PathVariable Integer notificationId,
                                                     @AuthenticationPrincipal User authenticatedUser) {
@@ -83,4 +96,12 @@ public class UserController {
         return ResponseEntity.ok(taskService.readUserAssignedTasks(userId, authenticatedUser));
     }
 
+    @GetMapping("/{userId}/workload")
+    public ResponseEntity<WorkloadDto> readUserWorkload(@PathVariable Integer userId,
+                                                        @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @AuthenticationPrincipal User authenticatedUser) {
+        return ResponseEntity.ok(taskService.readUserWorkload(userId, from, to, authenticatedUser));
+    }
+
 }
@@ -0,0 +1,91 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.time.LocalDate;
+
+public class CpmActivityDto {
+
+    private final Integer taskId;
+    private final int duration;
+    private final int earliestStart;
+    private final int earliestFinish;
+    private final int latestStart;
+    private final int latestFinish;
+    private final int totalFloat;
+    private final int freeFloat;
+    private final boolean critical;
+    private final LocalDate earliestStartDate;
+    private final LocalDate earliestFinishDate;
+    private final LocalDate latestStartDate;
+    private final LocalDate latestFinishDate;
+
+    public CpmActivityDto(Integer taskId, int duration, int earliestStart, int earliestFinish, int latestStart,
+                          int latestFinish, int totalFloat, int freeFloat, boolean critical,
+                          LocalDate earliestStartDate, LocalDate earliestFinishDate, LocalDate latestStartDate,
+                          LocalDate latestFinishDate) {
+        this.taskId = taskId;
+        this.duration = duration;
+        this.earliestStart = earliestStart;
+        this.earliestFinish = earliestFinish;
+        this.latestStart = latestStart;
+        this.latestFinish = latestFinish;
+        this.totalFloat = totalFloat;
+        this.freeFloat = freeFloat;
+        this.critical = critical;
+        this.earliestStartDate = earliestStartDate;
+        this.earliestFinishDate = earliestFinishDate;
+        this.latestStartDate = latestStartDate;
+        this.latestFinishDate = latestFinishDate;
+    }
+
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public int getEarliestStart() {
+        return earliestStart;
+    }
+
+    public int getEarliestFinish() {
+        return earliestFinish;
+    }
+
+    public int getLatestStart() {
+        return latestStart;
+    }
+
+    public int getLatestFinish() {
+        return latestFinish;
+    }
+
+    public int getTotalFloat() {
+        return totalFloat;
+    }
+
+    public int getFreeFloat() {
+        return freeFloat;
+    }
+
+    public boolean isCritical() {
+        return critical;
+    }
+
+    public LocalDate getEarliestStartDate() {
+        return earliestStartDate;
+    }
+
+    public LocalDate getEarliestFinishDate() {
+        return earliestFinishDate;
+    }
+
+    public LocalDate getLatestStartDate() {
+        return latestStartDate;
+    }
+
+    public LocalDate getLatestFinishDate() {
+        return latestFinishDate;
+    }
+}
@@ -0,0 +1,42 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class CpmScheduleDto {
+
+    private final Integer projectId;
+    private final LocalDate projectStartDate;
+    private final int projectDuration;
+    private final LocalDate projectEndDate;
+    private final List<CpmActivityDto> activities;
+
+    public CpmScheduleDto(Integer projectId, LocalDate projectStartDate, int projectDuration, LocalDate projectEndDate,
+                          List<CpmActivityDto> activities) {
+        this.projectId = projectId;
+        this.projectStartDate = projectStartDate;
+        this.projectDuration = projectDuration;
+        this.projectEndDate = projectEndDate;
+        this.activities = activities;
+    }
+
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public LocalDate getProjectStartDate() {
+        return projectStartDate;
+    }
+
+    public int getProjectDuration() {
+        return projectDuration;
+    }
+
+    public LocalDate getProjectEndDate() {
+        return projectEndDate;
+    }
+
+    public List<CpmActivityDto> getActivities() {
+        return activities;
+    }
+}
@@ -9,12 +9,14 @@ import jakarta.validation.constraints.Size;
 public record CreateProjectDto(@NotBlank @Size(min = 5, max = 255) String name,
                                @NotNull PROJECT_TYPE type,
                                @Size(max = 1024) String description,
-                               PROJECT_STATUS status) {
+                               PROJECT_STATUS status,
+                               Boolean autoSchedule) {
 
-    public CreateProjectDto(String name, PROJECT_TYPE type, String description, PROJECT_STATUS status) {
+    public CreateProjectDto(String name, PROJECT_TYPE type, String description, PROJECT_STATUS status, Boolean autoSchedule) {
         this.name = name;
         this.type = type;
         this.description = description;
         this.status = status;
+        this.autoSchedule = autoSchedule;
     }
 }
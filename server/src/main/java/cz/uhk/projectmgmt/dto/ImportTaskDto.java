@@ -0,0 +1,23 @@
+package cz.uhk.projectmgmt.dto;
+
+import cz.uhk.projectmgmt.enums.PRIORITY;
+import cz.uhk.projectmgmt.enums.TASK_STATUS;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+/**
+ * @param key client side key of the task, referenced by {@link ImportTaskRelationshipDto}
+ */
+public record ImportTaskDto(@NotBlank @Size(max = 255) String key,
+                            @NotBlank @Size(min = 1, max = 255) String name,
+                            PRIORITY priority,
+                            TASK_STATUS status,
+                            @NotNull LocalDate startDate,
+                            @NotNull LocalDate endDate,
+                            @Positive Integer assignedUserId,
+                            @Size(max = 1024) String description) {
+}
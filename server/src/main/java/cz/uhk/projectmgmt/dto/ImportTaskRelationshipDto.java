@@ -0,0 +1,10 @@
+package cz.uhk.projectmgmt.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * {@link cz.uhk.projectmgmt.enums.TASK_RELATIONSHIP_TYPE#PREVIOUS_ACTIVITY} relationship between two imported tasks.
+ */
+public record ImportTaskRelationshipDto(@NotBlank String taskKey,
+                                        @NotBlank String predecessorKey) {
+}
@@ -0,0 +1,14 @@
+package cz.uhk.projectmgmt.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ImportTasksDto(@Positive @NotNull Integer projectId,
+                             @NotEmpty @Size(max = 10000) List<@Valid @NotNull ImportTaskDto> tasks,
+                             List<@Valid @NotNull ImportTaskRelationshipDto> relationships) {
+}
@@ -0,0 +1,65 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.time.LocalDate;
+
+public class LevelingActivityDto {
+
+    private final Integer taskId;
+    private final Integer assignedUserId;
+    private final int duration;
+    private final int earliestStart;
+    private final int start;
+    private final int finish;
+    private final int delay;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public LevelingActivityDto(Integer taskId, Integer assignedUserId, int duration, int earliestStart, int start,
+                               int finish, int delay, LocalDate startDate, LocalDate endDate) {
+        this.taskId = taskId;
+        this.assignedUserId = assignedUserId;
+        this.duration = duration;
+        this.earliestStart = earliestStart;
+        this.start = start;
+        this.finish = finish;
+        this.delay = delay;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public Integer getAssignedUserId() {
+        return assignedUserId;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public int getEarliestStart() {
+        return earliestStart;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getFinish() {
+        return finish;
+    }
+
+    public int getDelay() {
+        return delay;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+}
@@ -0,0 +1,42 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class LevelingScheduleDto {
+
+    private final Integer projectId;
+    private final LocalDate projectStartDate;
+    private final int projectDuration;
+    private final int unleveledProjectDuration;
+    private final List<LevelingActivityDto> activities;
+
+    public LevelingScheduleDto(Integer projectId, LocalDate projectStartDate, int projectDuration,
+                               int unleveledProjectDuration, List<LevelingActivityDto> activities) {
+        this.projectId = projectId;
+        this.projectStartDate = projectStartDate;
+        this.projectDuration = projectDuration;
+        this.unleveledProjectDuration = unleveledProjectDuration;
+        this.activities = activities;
+    }
+
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public LocalDate getProjectStartDate() {
+        return projectStartDate;
+    }
+
+    public int getProjectDuration() {
+        return projectDuration;
+    }
+
+    public int getUnleveledProjectDuration() {
+        return unleveledProjectDuration;
+    }
+
+    public List<LevelingActivityDto> getActivities() {
+        return activities;
+    }
+}
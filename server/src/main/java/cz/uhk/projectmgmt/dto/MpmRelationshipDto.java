@@ -0,0 +1,32 @@
+package cz.uhk.projectmgmt.dto;
+
+public class MpmRelationshipDto {
+
+    private final Integer taskId;
+    private final Integer relatedTaskId;
+    private final Integer minimumTimeGap;
+    private final Integer maximumTimeGap;
+
+    public MpmRelationshipDto(Integer taskId, Integer relatedTaskId, Integer minimumTimeGap, Integer maximumTimeGap) {
+        this.taskId = taskId;
+        this.relatedTaskId = relatedTaskId;
+        this.minimumTimeGap = minimumTimeGap;
+        this.maximumTimeGap = maximumTimeGap;
+    }
+
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public Integer getRelatedTaskId() {
+        return relatedTaskId;
+    }
+
+    public Integer getMinimumTimeGap() {
+        return minimumTimeGap;
+    }
+
+    public Integer getMaximumTimeGap() {
+        return maximumTimeGap;
+    }
+}
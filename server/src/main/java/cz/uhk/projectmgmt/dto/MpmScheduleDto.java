@@ -0,0 +1,54 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class MpmScheduleDto {
+
+    private final Integer projectId;
+    private final LocalDate projectStartDate;
+    private final boolean feasible;
+    private final Integer projectDuration;
+    private final LocalDate projectEndDate;
+    private final List<MpmActivityDto> activities;
+    private final List<MpmRelationshipDto> conflictRelationships;
+
+    public MpmScheduleDto(Integer projectId, LocalDate projectStartDate, boolean feasible, Integer projectDuration,
+                          LocalDate projectEndDate, List<MpmActivityDto> activities, List<MpmRelationshipDto> conflictRelationships) {
+        this.projectId = projectId;
+        this.projectStartDate = projectStartDate;
+        this.feasible = feasible;
+        this.projectDuration = projectDuration;
+        this.projectEndDate = projectEndDate;
+        this.activities = activities;
+        this.conflictRelationships = conflictRelationships;
+    }
+
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public LocalDate getProjectStartDate() {
+        return projectStartDate;
+    }
+
+    public boolean isFeasible() {
+        return feasible;
+    }
+
+    public Integer getProjectDuration() {
+        return projectDuration;
+    }
+
+    public LocalDate getProjectEndDate() {
+        return projectEndDate;
+    }
+
+    public List<MpmActivityDto> getActivities() {
+        return activities;
+    }
+
+    public List<MpmRelationshipDto> getConflictRelationships() {
+        return conflictRelationships;
+    }
+}
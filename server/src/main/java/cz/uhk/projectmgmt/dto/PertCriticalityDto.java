@@ -0,0 +1,20 @@
+package cz.uhk.projectmgmt.dto;
+
+public class PertCriticalityDto {
+
+    private final Integer taskId;
+    private final double criticalityIndex;
+
+    public PertCriticalityDto(Integer taskId, double criticalityIndex) {
+        this.taskId = taskId;
+        this.criticalityIndex = criticalityIndex;
+    }
+
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public double getCriticalityIndex() {
+        return criticalityIndex;
+    }
+}
@@ -0,0 +1,28 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.time.LocalDate;
+
+public class PertPercentileDto {
+
+    private final int percentile;
+    private final double duration;
+    private final LocalDate completionDate;
+
+    public PertPercentileDto(int percentile, double duration, LocalDate completionDate) {
+        this.percentile = percentile;
+        this.duration = duration;
+        this.completionDate = completionDate;
+    }
+
+    public int getPercentile() {
+        return percentile;
+    }
+
+    public double getDuration() {
+        return duration;
+    }
+
+    public LocalDate getCompletionDate() {
+        return completionDate;
+    }
+}
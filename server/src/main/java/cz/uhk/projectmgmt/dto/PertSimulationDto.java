@@ -0,0 +1,48 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class PertSimulationDto {
+
+    private final Integer projectId;
+    private final LocalDate projectStartDate;
+    private final int iterations;
+    private final double meanDuration;
+    private final List<PertPercentileDto> percentiles;
+    private final List<PertCriticalityDto> activities;
+
+    public PertSimulationDto(Integer projectId, LocalDate projectStartDate, int iterations, double meanDuration,
+                             List<PertPercentileDto> percentiles, List<PertCriticalityDto> activities) {
+        this.projectId = projectId;
+        this.projectStartDate = projectStartDate;
+        this.iterations = iterations;
+        this.meanDuration = meanDuration;
+        this.percentiles = percentiles;
+        this.activities = activities;
+    }
+
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public LocalDate getProjectStartDate() {
+        return projectStartDate;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public double getMeanDuration() {
+        return meanDuration;
+    }
+
+    public List<PertPercentileDto> getPercentiles() {
+        return percentiles;
+    }
+
+    public List<PertCriticalityDto> getActivities() {
+        return activities;
+    }
+}
@@ -0,0 +1,38 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public class ProjectCalendarDto {
+
+    private final Integer projectId;
+    private final List<DayOfWeek> workingWeekDays;
+    private final List<LocalDate> holidays;
+    private final Map<Integer, List<LocalDate>> userDaysOff;
+
+    public ProjectCalendarDto(Integer projectId, List<DayOfWeek> workingWeekDays, List<LocalDate> holidays,
+                              Map<Integer, List<LocalDate>> userDaysOff) {
+        this.projectId = projectId;
+        this.workingWeekDays = workingWeekDays;
+        this.holidays = holidays;
+        this.userDaysOff = userDaysOff;
+    }
+
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public List<DayOfWeek> getWorkingWeekDays() {
+        return workingWeekDays;
+    }
+
+    public List<LocalDate> getHolidays() {
+        return holidays;
+    }
+
+    public Map<Integer, List<LocalDate>> getUserDaysOff() {
+        return userDaysOff;
+    }
+}
@@ -0,0 +1,68 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.util.List;
+
+/**
+ * Changes of a project after a content version known to the client. Changed rows are returned whole, deleted ones by
+ * their ids, members by their user ids. Rows changed by a later version may be included as well, applying the
+ * changes again is harmless.
+ */
+public class ProjectChangesDto {
+
+    private final long version;
+    private final ProjectDto project;
+    private final List<TaskDto> tasks;
+    private final List<TaskRelationshipDto> relationships;
+    private final List<ProjectMemberDto> members;
+    private final List<Integer> deletedTaskIds;
+    private final List<Integer> deletedRelationshipIds;
+    private final List<Integer> deletedMemberUserIds;
+
+    public ProjectChangesDto(long version, ProjectDto project, List<TaskDto> tasks, List<TaskRelationshipDto> relationships,
+                             List<ProjectMemberDto> members, List<Integer> deletedTaskIds,
+                             List<Integer> deletedRelationshipIds, List<Integer> deletedMemberUserIds) {
+        this.version = version;
+        this.project = project;
+        this.tasks = tasks;
+        this.relationships = relationships;
+        this.members = members;
+        this.deletedTaskIds = deletedTaskIds;
+        this.deletedRelationshipIds = deletedRelationshipIds;
+        this.deletedMemberUserIds = deletedMemberUserIds;
+    }
+
+    /**
+     * @return version to ask for the next changes with
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public ProjectDto getProject() {
+        return project;
+    }
+
+    public List<TaskDto> getTasks() {
+        return tasks;
+    }
+
+    public List<TaskRelationshipDto> getRelationships() {
+        return relationships;
+    }
+
+    public List<ProjectMemberDto> getMembers() {
+        return members;
+    }
+
+    public List<Integer> getDeletedTaskIds() {
+        return deletedTaskIds;
+    }
+
+    public List<Integer> getDeletedRelationshipIds() {
+        return deletedRelationshipIds;
+    }
+
+    public List<Integer> getDeletedMemberUserIds() {
+        return deletedMemberUserIds;
+    }
+}
@@ -3,6 +3,7 @@ package cz.uhk.projectmgmt.dto;
 import cz.uhk.projectmgmt.enums.PROJECT_STATUS;
 import cz.uhk.projectmgmt.enums.PROJECT_TYPE;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public final class ProjectDto {
@@ -14,6 +15,7 @@ public final class ProjectDto {
     private String description;
     private List<TaskDto> tasks;
     private List<ProjectMemberDto> members;
+    private boolean autoSchedule;
 
     public ProjectDto(Integer id, String name, PROJECT_TYPE type, PROJECT_STATUS status,
                       String description, List<TaskDto> tasks, List<ProjectMemberDto> members) {
@@ -26,6 +28,10 @@ public final class ProjectDto {
         this.members = members;
     }
 
+    public ProjectDto(Integer id, String name, PROJECT_TYPE type, PROJECT_STATUS status, String description) {
+        this(id, name, type, status, description, new ArrayList<>(), new ArrayList<>());
+    }
+
     public Integer getId() {
         return id;
     }
@@ -81,4 +87,12 @@ public final class ProjectDto {
     public void setMembers(List<ProjectMemberDto> members) {
         this.members = members;
     }
+
+    public boolean isAutoSchedule() {
+        return autoSchedule;
+    }
+
+    public void setAutoSchedule(boolean autoSchedule) {
+        this.autoSchedule = autoSchedule;
+    }
 }
@@ -20,6 +20,10 @@ public class RelatedTaskDto {
         this.maximumTimeGap = maximumTimeGap;
     }
 
+    public RelatedTaskDto(Integer relatedTaskId, String taskName, TASK_STATUS taskStatus) {
+        this(relatedTaskId, taskName, taskStatus, null, null);
+    }
+
     public Integer getRelatedTaskId() {
         return relatedTaskId;
     }
@@ -0,0 +1,28 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.time.LocalDate;
+
+public class TaskDateRangeDto {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long tasks;
+
+    public TaskDateRangeDto(LocalDate startDate, LocalDate endDate, long tasks) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.tasks = tasks;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+}
@@ -5,6 +5,7 @@ import cz.uhk.projectmgmt.enums.TASK_STATUS;
 import jakarta.persistence.Column;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 public final class TaskDto {
@@ -59,6 +60,13 @@ public final class TaskDto {
         this.taskPredecessor = taskPredecessor;
     }
 
+    public TaskDto(Integer id, String name, PRIORITY priority, TASK_STATUS status, String description, LocalDate startDate,
+                   LocalDate endDate, Integer progress, Integer assignedUserId, Integer projectId, Integer optimisticEstimation,
+                   Integer modalEstimation, Integer pessimisticEstimation) {
+        this(id, name, priority, status, description, startDate, endDate, progress, assignedUserId, projectId,
+                optimisticEstimation, modalEstimation, pessimisticEstimation, new ArrayList<>(), new ArrayList<>());
+    }
+
     public Integer getId() {
         return id;
     }
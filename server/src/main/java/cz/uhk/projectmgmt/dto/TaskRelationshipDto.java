@@ -0,0 +1,47 @@
+package cz.uhk.projectmgmt.dto;
+
+import cz.uhk.projectmgmt.enums.TASK_RELATIONSHIP_TYPE;
+
+public class TaskRelationshipDto {
+
+    private final Integer id;
+    private final Integer taskId;
+    private final Integer relatedTaskId;
+    private final TASK_RELATIONSHIP_TYPE type;
+    private final Integer minimumTimeGap;
+    private final Integer maximumTimeGap;
+
+    public TaskRelationshipDto(Integer id, Integer taskId, Integer relatedTaskId, TASK_RELATIONSHIP_TYPE type,
+                               Integer minimumTimeGap, Integer maximumTimeGap) {
+        this.id = id;
+        this.taskId = taskId;
+        this.relatedTaskId = relatedTaskId;
+        this.type = type;
+        this.minimumTimeGap = minimumTimeGap;
+        this.maximumTimeGap = maximumTimeGap;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public Integer getRelatedTaskId() {
+        return relatedTaskId;
+    }
+
+    public TASK_RELATIONSHIP_TYPE getType() {
+        return type;
+    }
+
+    public Integer getMinimumTimeGap() {
+        return minimumTimeGap;
+    }
+
+    public Integer getMaximumTimeGap() {
+        return maximumTimeGap;
+    }
+}
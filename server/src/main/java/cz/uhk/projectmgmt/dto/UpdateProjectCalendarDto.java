@@ -0,0 +1,36 @@
+package cz.uhk.projectmgmt.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public record UpdateProjectCalendarDto(@NotEmpty Set<@NotNull DayOfWeek> workingWeekDays,
+                                       @Size(max = 3660) List<@NotNull LocalDate> holidays,
+                                       Map<@NotNull Integer, @NotNull @Size(max = 3660) List<@NotNull LocalDate>> userDaysOff) {
+
+    /**
+     * Days off are kept in the schedule calendars day by day, so they must not lie further from today.
+     */
+    public static final int MAX_YEARS_FROM_TODAY = 10;
+
+    @AssertTrue(message = "days off must lie within " + MAX_YEARS_FROM_TODAY + " years from today")
+    public boolean isWithinCalendarRange() {
+        LocalDate today = LocalDate.now();
+        LocalDate min = today.minusYears(MAX_YEARS_FROM_TODAY);
+        LocalDate max = today.plusYears(MAX_YEARS_FROM_TODAY);
+        return Stream.concat(
+                        holidays != null ? holidays.stream() : Stream.empty(),
+                        userDaysOff != null ? userDaysOff.values().stream().filter(Objects::nonNull).flatMap(List::stream) : Stream.empty()
+                )
+                .allMatch(day -> day == null || !day.isBefore(min) && !day.isAfter(max));
+    }
+}
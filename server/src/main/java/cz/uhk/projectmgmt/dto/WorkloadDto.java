@@ -0,0 +1,48 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class WorkloadDto {
+
+    private final Integer userId;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int capacity;
+    private final int overAllocatedDays;
+    private final List<WorkloadIntervalDto> timeline;
+
+    public WorkloadDto(Integer userId, LocalDate from, LocalDate to, int capacity, int overAllocatedDays,
+                       List<WorkloadIntervalDto> timeline) {
+        this.userId = userId;
+        this.from = from;
+        this.to = to;
+        this.capacity = capacity;
+        this.overAllocatedDays = overAllocatedDays;
+        this.timeline = timeline;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getOverAllocatedDays() {
+        return overAllocatedDays;
+    }
+
+    public List<WorkloadIntervalDto> getTimeline() {
+        return timeline;
+    }
+}
@@ -0,0 +1,34 @@
+package cz.uhk.projectmgmt.dto;
+
+import java.time.LocalDate;
+
+public class WorkloadIntervalDto {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final int tasks;
+    private final boolean overAllocated;
+
+    public WorkloadIntervalDto(LocalDate startDate, LocalDate endDate, int tasks, boolean overAllocated) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.tasks = tasks;
+        this.overAllocated = overAllocated;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public int getTasks() {
+        return tasks;
+    }
+
+    public boolean isOverAllocated() {
+        return overAllocated;
+    }
+}
@@ -0,0 +1,9 @@
+package cz.uhk.projectmgmt.enums;
+
+public enum NOTIFICATION_EVENT_TYPE {
+
+    CREATED,
+    READ,
+    RESOLVED,
+    ;
+}
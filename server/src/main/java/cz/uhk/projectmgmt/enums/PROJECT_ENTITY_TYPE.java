@@ -0,0 +1,13 @@
+package cz.uhk.projectmgmt.enums;
+
+/**
+ * Entities of a project with recorded deletions. Deleting a task also records the deletion of each of its
+ * relationships, at the same content version.
+ */
+public enum PROJECT_ENTITY_TYPE {
+
+    TASK,
+    TASK_RELATIONSHIP,
+    PROJECT_MEMBER,
+    ;
+}
@@ -0,0 +1,8 @@
+package cz.uhk.projectmgmt.enums;
+
+public enum TASK_RELATIONSHIP_DIRECTION {
+
+    PREDECESSOR,
+    SUCCESSOR,
+    ;
+}
@@ -56,6 +56,16 @@ public class ExceptionHandlerController {
         );
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiErrorMessageDto> handleServiceBusyException(ServiceBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(
+                new ApiErrorMessageDto(
+                        LocalDateTime.now(),
+                        messageSource.getMessage(e.getMessageKey(), e.getArgs(), LocaleContextHolder.getLocale())
+                )
+        );
+    }
+
     @ExceptionHandler(AuthenticationException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public ResponseEntity<String> handleAuthenticationException(AuthenticationException e) {
@@ -0,0 +1,21 @@
+package cz.uhk.projectmgmt.exception;
+
+public class ServiceBusyException extends RuntimeException {
+
+    private final String messageKey;
+
+    private final Object[] args;
+
+    public ServiceBusyException(String messageKey, Object... args) {
+        this.messageKey = messageKey;
+        this.args = args;
+    }
+
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    public Object[] getArgs() {
+        return args;
+    }
+}
@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 public abstract class EntityWithChanges {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Integer id;
 
     @CreationTimestamp
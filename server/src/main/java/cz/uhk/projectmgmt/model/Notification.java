@@ -6,7 +6,7 @@ import jakarta.persistence.*;
 import org.hibernate.type.YesNoConverter;
 
 @Entity
-@Table(name = "NOTIFICATIONS")
+@Table(name = "NOTIFICATIONS", indexes = @Index(name = "IX_NOTIFICATIONS_USER_ID", columnList = "USER_ID, ID"))
 public class Notification extends EntityWithChanges implements EntityWithDTO<NotificationDto> {
 
     @Column(nullable = false, name = "USER_ID")
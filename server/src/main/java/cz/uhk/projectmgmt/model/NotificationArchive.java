@@ -0,0 +1,98 @@
+package cz.uhk.projectmgmt.model;
+
+import cz.uhk.projectmgmt.enums.NOTIFICATION_TYPE;
+import jakarta.persistence.*;
+import org.hibernate.type.YesNoConverter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification moved out of the inbox by the retention job. Mirrors the columns of {@link Notification}.
+ */
+@Entity
+@Table(name = "NOTIFICATIONS_ARCHIVE", indexes = @Index(name = "IX_NOTIFICATIONS_ARCHIVE_USER_ID", columnList = "USER_ID"))
+public class NotificationArchive {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false, name = "USER_ID")
+    private Integer userId;
+
+    @Column(nullable = false)
+    @Convert(converter = YesNoConverter.class)
+    private boolean unread;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private NOTIFICATION_TYPE type;
+
+    @Column(nullable = false, length = 512)
+    private String content;
+
+    @Column(nullable = false)
+    @Convert(converter = YesNoConverter.class)
+    private boolean resolved;
+
+    @Column(nullable = false)
+    private LocalDateTime createdOn;
+
+    @Column(nullable = false)
+    private String createdBy;
+
+    @Column
+    private LocalDateTime updatedOn;
+
+    @Column
+    private String updatedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedOn;
+
+    public NotificationArchive() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public boolean isUnread() {
+        return unread;
+    }
+
+    public NOTIFICATION_TYPE getType() {
+        return type;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public boolean isResolved() {
+        return resolved;
+    }
+
+    public LocalDateTime getCreatedOn() {
+        return createdOn;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public LocalDateTime getUpdatedOn() {
+        return updatedOn;
+    }
+
+    public String getUpdatedBy() {
+        return updatedBy;
+    }
+
+    public LocalDateTime getArchivedOn() {
+        return archivedOn;
+    }
+}
@@ -0,0 +1,42 @@
+package cz.uhk.projectmgmt.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Denormalized number of unread notifications of a user, kept in step with {@link Notification#isUnread()}.
+ */
+@Entity
+@Table(name = "NOTIFICATION_COUNTERS")
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "USER_ID")
+    private Integer userId;
+
+    @Column(nullable = false, name = "UNREAD_COUNT")
+    private int unreadCount;
+
+    public NotificationCounter() {
+    }
+
+    public NotificationCounter(Integer userId, int unreadCount) {
+        this.userId = userId;
+        this.unreadCount = unreadCount;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(int unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
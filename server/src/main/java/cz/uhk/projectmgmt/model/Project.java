@@ -4,7 +4,10 @@ import cz.uhk.projectmgmt.dto.ProjectDto;
 import cz.uhk.projectmgmt.dto.ProjectMemberDto;
 import cz.uhk.projectmgmt.enums.PROJECT_STATUS;
 import cz.uhk.projectmgmt.enums.PROJECT_TYPE;
+import cz.uhk.projectmgmt.schedule.WorkingCalendar;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.type.YesNoConverter;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -29,6 +32,18 @@ public class Project extends EntityWithChanges implements EntityWithDTO<ProjectD
     @Column(length = 1024)
     private String description;
 
+    @Column(name = "AUTO_SCHEDULE", nullable = false)
+    @Convert(converter = YesNoConverter.class)
+    private boolean autoSchedule;
+
+    @Column(name = "WORKING_WEEK_DAYS", nullable = false)
+    @ColumnDefault("31")
+    private int workingWeekDays = WorkingCalendar.MONDAY_TO_FRIDAY;
+
+    @Column(name = "CONTENT_VERSION", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long contentVersion;
+
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.REMOVE)
     @JoinColumn(name = "PROJECT_ID", foreignKey = @ForeignKey(name = "FK_TASKS_PROJECTS"))
     @OrderBy("id")
@@ -81,6 +96,29 @@ public class Project extends EntityWithChanges implements EntityWithDTO<ProjectD
         this.description = description;
     }
 
+    public boolean isAutoSchedule() {
+        return autoSchedule;
+    }
+
+    public void setAutoSchedule(boolean autoSchedule) {
+        this.autoSchedule = autoSchedule;
+    }
+
+    /**
+     * @return bit mask of the working week days, bit 0 is Monday
+     */
+    public int getWorkingWeekDays() {
+        return workingWeekDays;
+    }
+
+    public void setWorkingWeekDays(int workingWeekDays) {
+        this.workingWeekDays = workingWeekDays;
+    }
+
+    public long getContentVersion() {
+        return contentVersion;
+    }
+
     public Set<Task> getTasks() {
         return tasks;
     }
@@ -99,7 +137,7 @@ public class Project extends EntityWithChanges implements EntityWithDTO<ProjectD
 
     @Override
     public ProjectDto mapEntityToDTO(boolean fetchCollections) {
-        return new ProjectDto(
+        ProjectDto projectDto = new ProjectDto(
                 this.getId(),
                 this.name,
                 this.type,
@@ -125,5 +163,7 @@ public class Project extends EntityWithChanges implements EntityWithDTO<ProjectD
                         :
                         new ArrayList<>()
         );
+        projectDto.setAutoSchedule(this.autoSchedule);
+        return projectDto;
     }
 }
@@ -0,0 +1,51 @@
+package cz.uhk.projectmgmt.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Non-working day in the calendar of a project, a holiday of the whole project when it has no user.
+ */
+@Entity
+@Table(name = "PROJECT_DAYS_OFF", indexes = @Index(name = "IX_PROJECT_DAYS_OFF_PROJECT_ID_OFF_DAY", columnList = "PROJECT_ID, OFF_DAY"))
+public class ProjectDayOff {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Integer id;
+
+    @Column(name = "PROJECT_ID", nullable = false)
+    private Integer projectId;
+
+    @Column(name = "USER_ID")
+    private Integer userId;
+
+    @Column(name = "OFF_DAY", nullable = false)
+    private LocalDate day;
+
+    public ProjectDayOff() {
+    }
+
+    public ProjectDayOff(Integer projectId, Integer userId, LocalDate day) {
+        this.projectId = projectId;
+        this.userId = userId;
+        this.day = day;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+}
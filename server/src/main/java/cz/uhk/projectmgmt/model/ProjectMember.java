@@ -4,6 +4,7 @@ import cz.uhk.projectmgmt.dto.ProjectMemberDto;
 import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
 import cz.uhk.projectmgmt.enums.PROJECT_ROLE;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(
@@ -30,6 +31,10 @@ public class ProjectMember extends EntityWithChanges implements EntityWithDTO<Pr
     @JoinColumn(name = "NOTIFICATION_ID", foreignKey = @ForeignKey(name = "FK_PROJECT_MEMBERS_NOTIFICATIONS"))
     private Notification notification;
 
+    @Column(name = "CHANGE_VERSION", nullable = false)
+    @ColumnDefault("0")
+    private long changeVersion;
+
     public ProjectMember() {
 
     }
@@ -43,6 +48,14 @@ public class ProjectMember extends EntityWithChanges implements EntityWithDTO<Pr
         this.notification = notification;
     }
 
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
     public User getUser() {
         return user;
     }
@@ -0,0 +1,60 @@
+package cz.uhk.projectmgmt.model;
+
+import cz.uhk.projectmgmt.enums.PROJECT_ENTITY_TYPE;
+import jakarta.persistence.*;
+
+/**
+ * Deletion of a task, relationship or member recorded with the project content version of the deletion. Members are
+ * identified by their user id.
+ */
+@Entity
+@Table(name = "PROJECT_TOMBSTONES", indexes = @Index(name = "IX_PROJECT_TOMBSTONES_PROJECT_ID_VERSION", columnList = "PROJECT_ID, VERSION"))
+public class ProjectTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Integer id;
+
+    @Column(name = "PROJECT_ID", nullable = false)
+    private Integer projectId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private PROJECT_ENTITY_TYPE entityType;
+
+    @Column(nullable = false)
+    private Integer entityId;
+
+    @Column(nullable = false)
+    private long version;
+
+    public ProjectTombstone() {
+    }
+
+    public ProjectTombstone(Integer projectId, PROJECT_ENTITY_TYPE entityType, Integer entityId, long version) {
+        this.projectId = projectId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.version = version;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public PROJECT_ENTITY_TYPE getEntityType() {
+        return entityType;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
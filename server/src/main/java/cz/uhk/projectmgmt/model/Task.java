@@ -59,6 +59,10 @@ public class Task extends EntityWithChanges implements EntityWithDTO<TaskDto> {
     @Column
     private Integer pessimisticEstimation;
 
+    @Column(name = "CHANGE_VERSION", nullable = false)
+    @ColumnDefault("0")
+    private long changeVersion;
+
     @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.REMOVE)
     @JoinColumn(name = "TASK_ID", insertable = false, updatable = false, nullable = false, foreignKey = @ForeignKey(name = "FK_TASK_RELATIONSHIPS_TASK"))
     private Set<TaskRelationship> taskRelationships = new HashSet<>();
@@ -180,6 +184,14 @@ public class Task extends EntityWithChanges implements EntityWithDTO<TaskDto> {
         this.pessimisticEstimation = pessimisticEstimation;
     }
 
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
     public Set<TaskRelationship> getTaskRelationships() {
         return taskRelationships;
     }
@@ -1,17 +1,19 @@
 package cz.uhk.projectmgmt.model;
 
+import cz.uhk.projectmgmt.dto.TaskRelationshipDto;
 import cz.uhk.projectmgmt.enums.TASK_RELATIONSHIP_TYPE;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(
         name = "TASK_RELATIONSHIPS",
         uniqueConstraints = @UniqueConstraint(columnNames = {"TASK_ID", "RELATED_TASK_ID", "TYPE"}, name = "TASK_RELATIONSHIPS_TYPE_UC")
 )
-public class TaskRelationship {
+public class TaskRelationship implements EntityWithDTO<TaskRelationshipDto> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Integer id;
 
     @Column(name = "TASK_ID", nullable = false)
@@ -30,6 +32,10 @@ public class TaskRelationship {
     @Column
     private Integer maximumTimeGap;
 
+    @Column(name = "CHANGE_VERSION", nullable = false)
+    @ColumnDefault("0")
+    private long changeVersion;
+
     public TaskRelationship() {
     }
 
@@ -55,6 +61,14 @@ public class TaskRelationship {
         return type;
     }
 
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
     public Integer getMinimumTimeGap() {
         return minimumTimeGap;
     }
@@ -70,4 +84,9 @@ public class TaskRelationship {
     public void setMaximumTimeGap(Integer maximumTimeGap) {
         this.maximumTimeGap = maximumTimeGap;
     }
+
+    @Override
+    public TaskRelationshipDto mapEntityToDTO(boolean fetchCollections) {
+        return new TaskRelationshipDto(id, taskId, relatedTaskId, type, minimumTimeGap, maximumTimeGap);
+    }
 }
@@ -130,6 +130,10 @@ public class User extends EntityWithChanges implements UserDetails, EntityWithDT
         return enable;
     }
 
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
     @Override
     public UserDto mapEntityToDTO(boolean fetchCollections) {
         return new UserDto(
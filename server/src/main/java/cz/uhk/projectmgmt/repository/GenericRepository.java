@@ -2,9 +2,11 @@ package cz.uhk.projectmgmt.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -37,6 +39,35 @@ public abstract class GenericRepository<CLAZZ, ID> {
         entityManager.persist(entity);
     }
 
+    /**
+     * Persists the entities and flushes them every {@code hibernate.jdbc.batch_size} rows, so the inserts are sent in
+     * JDBC batches. Every flushed batch is detached, so the persistence context does not grow with the number of
+     * entities. The given entities are detached afterwards, other managed entities stay managed.
+     */
+    public void persistAll(List<?> entities) {
+        Integer configuredBatchSize = entityManager.unwrap(Session.class).getFactory().getSessionFactoryOptions().getJdbcBatchSize();
+        int batchSize = configuredBatchSize != null && configuredBatchSize > 0 ? configuredBatchSize : entities.size();
+
+        int batchStart = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            entityManager.persist(entities.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                detach(entities, batchStart, i + 1);
+                batchStart = i + 1;
+            }
+        }
+
+        entityManager.flush();
+        detach(entities, batchStart, entities.size());
+    }
+
+    private void detach(List<?> entities, int from, int to) {
+        for (int i = from; i < to; i++) {
+            entityManager.detach(entities.get(i));
+        }
+    }
+
     public void remove(Object entity) {
         entityManager.remove(entity);
     }
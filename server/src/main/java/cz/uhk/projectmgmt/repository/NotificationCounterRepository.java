@@ -0,0 +1,79 @@
+package cz.uhk.projectmgmt.repository;
+
+import cz.uhk.projectmgmt.model.NotificationCounter;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class NotificationCounterRepository extends GenericRepository<NotificationCounter, Integer> {
+    public NotificationCounterRepository() {
+        super(NotificationCounter.class);
+    }
+
+    public Integer readUnreadCount(Integer userId) {
+        return findById(userId)
+                .map(NotificationCounter::getUnreadCount)
+                .orElse(0);
+    }
+
+    /**
+     * Atomically adds {@code delta} to the user's counter, creating the row on first use. Concurrent updates of the
+     * same user serialize on the counter row.
+     */
+    public void adjustUnreadCount(Integer userId, int delta) {
+        getEntityManager()
+                .createNativeQuery("insert into NOTIFICATION_COUNTERS (USER_ID, UNREAD_COUNT) " +
+                        "values (:userId, :delta) " +
+                        "on conflict (USER_ID) do update " +
+                        "set UNREAD_COUNT = NOTIFICATION_COUNTERS.UNREAD_COUNT + excluded.UNREAD_COUNT")
+                .setParameter("userId", userId)
+                .setParameter("delta", delta)
+                .executeUpdate();
+    }
+
+    public int createMissingCounters() {
+        return getEntityManager()
+                .createNativeQuery("insert into NOTIFICATION_COUNTERS (USER_ID, UNREAD_COUNT) " +
+                        "select u.ID, 0 from USERS u " +
+                        "where not exists (select 1 from NOTIFICATION_COUNTERS c where c.USER_ID = u.ID) " +
+                        "on conflict (USER_ID) do nothing")
+                .executeUpdate();
+    }
+
+    /**
+     * Recounts the unread notifications of the next batch of users after {@code afterUserId} and fixes the counters
+     * that drifted. The counter rows are locked before counting, so a notification committed meanwhile is either
+     * counted here or applies its own increment afterwards.
+     *
+     * @return ids of the users in the batch, empty when there are no more counters
+     */
+    @SuppressWarnings("unchecked")
+    public List<Integer> reconcileUnreadCounts(Integer afterUserId, int batchSize) {
+        List<Integer> userIds = getEntityManager()
+                .createNativeQuery("select c.USER_ID from NOTIFICATION_COUNTERS c " +
+                        "where c.USER_ID > :afterUserId " +
+                        "order by c.USER_ID " +
+                        "limit :batchSize " +
+                        "for update", Integer.class)
+                .setParameter("afterUserId", afterUserId)
+                .setParameter("batchSize", batchSize)
+                .getResultList();
+
+        if (!userIds.isEmpty()) {
+            getEntityManager()
+                    .createNativeQuery("update NOTIFICATION_COUNTERS c " +
+                            "set UNREAD_COUNT = n.UNREAD_COUNT " +
+                            "from (select c2.USER_ID, count(n2.ID) as UNREAD_COUNT from NOTIFICATION_COUNTERS c2 " +
+                            "left join NOTIFICATIONS n2 on n2.USER_ID = c2.USER_ID and n2.UNREAD = 'Y' " +
+                            "where c2.USER_ID in (:userIds) " +
+                            "group by c2.USER_ID) n " +
+                            "where c.USER_ID = n.USER_ID and c.UNREAD_COUNT <> n.UNREAD_COUNT")
+                    .setParameter("userIds", userIds)
+                    .executeUpdate();
+        }
+
+        return userIds;
+    }
+
+}
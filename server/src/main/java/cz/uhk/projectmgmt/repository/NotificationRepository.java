@@ -1,9 +1,11 @@
 package cz.uhk.projectmgmt.repository;
 
 
+import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
 import cz.uhk.projectmgmt.model.Notification;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,24 +15,17 @@ public class NotificationRepository extends GenericRepository<Notification, Inte
         super(Notification.class);
     }
 
-    public List<Notification> readUserNotifications(Integer userId) {
+    public List<Notification> readUserNotifications(Integer userId, Integer cursor, int limit) {
         return getEntityManager()
                 .createQuery("select n from Notification n " +
-                        "where n.userId = :userId " +
+                        "where n.userId = :userId and n.id < :cursor " +
                         "order by n.id desc", Notification.class)
                 .setParameter("userId", userId)
+                .setParameter("cursor", cursor == null ? Integer.MAX_VALUE : cursor)
+                .setMaxResults(limit)
                 .getResultList();
     }
 
-    public Integer readUnreadNotificationsCount(Integer userId) {
-        return getEntityManager()
-                .createQuery("select count(n) from Notification n " +
-                        "where n.userId = :userId and n.unread", Long.class)
-                .setParameter("userId", userId)
-                .getSingleResult()
-                .intValue();
-    }
-
     public Optional<Notification> readRelatedNotification(Integer relatedEntityId) {
         return getEntityManager()
                 .createQuery("select n from Notification n " +
@@ -40,4 +35,59 @@ public class NotificationRepository extends GenericRepository<Notification, Inte
                 .findFirst();
     }
 
+    /**
+     * Moves one batch of read or resolved notifications last changed before {@code threshold} into
+     * NOTIFICATIONS_ARCHIVE. Notifications of pending project invitations are kept, the invitation can still be
+     * resolved. Rows locked by running requests are skipped and picked up by a later run.
+     *
+     * @return number of archived notifications
+     */
+    @SuppressWarnings("unchecked")
+    public int archiveNotifications(LocalDateTime threshold, int batchSize) {
+        List<Integer> ids = getEntityManager()
+                .createNativeQuery("select n.ID from NOTIFICATIONS n " +
+                        "where (n.RESOLVED = 'Y' or n.UNREAD = 'N') " +
+                        "and coalesce(n.UPDATED_ON, n.CREATED_ON) < :threshold " +
+                        "and not exists (select 1 from PROJECT_MEMBERS pm " +
+                        "where pm.NOTIFICATION_ID = n.ID and pm.STATUS = :pendingStatus) " +
+                        "order by n.ID " +
+                        "limit :batchSize " +
+                        "for update skip locked", Integer.class)
+                .setParameter("threshold", threshold)
+                .setParameter("pendingStatus", PROJECT_MEMBER_STATUS.WAITING_FOR_CONFIRMATION.name())
+                .setParameter("batchSize", batchSize)
+                .getResultList();
+
+        if (ids.isEmpty())
+            return 0;
+
+        getEntityManager()
+                .createNativeQuery("update PROJECT_MEMBERS set NOTIFICATION_ID = null where NOTIFICATION_ID in (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        getEntityManager()
+                .createNativeQuery("update NOTIFICATION_COUNTERS c " +
+                        "set UNREAD_COUNT = c.UNREAD_COUNT - n.UNREAD_COUNT " +
+                        "from (select USER_ID, count(*) as UNREAD_COUNT from NOTIFICATIONS " +
+                        "where ID in (:ids) and UNREAD = 'Y' " +
+                        "group by USER_ID) n " +
+                        "where c.USER_ID = n.USER_ID")
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        getEntityManager()
+                .createNativeQuery("insert into NOTIFICATIONS_ARCHIVE " +
+                        "(ID, USER_ID, UNREAD, TYPE, CONTENT, RESOLVED, CREATED_ON, CREATED_BY, UPDATED_ON, UPDATED_BY, ARCHIVED_ON) " +
+                        "select ID, USER_ID, UNREAD, TYPE, CONTENT, RESOLVED, CREATED_ON, CREATED_BY, UPDATED_ON, UPDATED_BY, current_timestamp " +
+                        "from NOTIFICATIONS where ID in (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        return getEntityManager()
+                .createNativeQuery("delete from NOTIFICATIONS where ID in (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
 }
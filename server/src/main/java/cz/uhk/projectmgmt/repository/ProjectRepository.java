@@ -1,11 +1,26 @@
 package cz.uhk.projectmgmt.repository;
 
+import cz.uhk.projectmgmt.dto.ProjectDto;
+import cz.uhk.projectmgmt.enums.PRIORITY;
 import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
+import cz.uhk.projectmgmt.enums.TASK_RELATIONSHIP_TYPE;
+import cz.uhk.projectmgmt.enums.TASK_STATUS;
 import cz.uhk.projectmgmt.model.Project;
+import cz.uhk.projectmgmt.model.ProjectDayOff;
+import cz.uhk.projectmgmt.model.ProjectMember;
+import cz.uhk.projectmgmt.model.ProjectTombstone;
+import cz.uhk.projectmgmt.model.Task;
+import cz.uhk.projectmgmt.model.TaskRelationship;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
 public class ProjectRepository extends GenericRepository<Project, Integer> {
@@ -24,15 +39,207 @@ public class ProjectRepository extends GenericRepository<Project, Integer> {
                 .findFirst();
     }
 
-    public List<Project> readAllActiveUserProjects(Integer userId) {
+    @Transactional(readOnly = true)
+    public List<ProjectDto> readAllActiveUserProjects(Integer userId) {
         return getEntityManager()
-                .createNativeQuery("select p.* from PROJECTS p " +
-                        "inner join PROJECT_MEMBERS pm on p.id = pm.PROJECT_ID " +
-                        "where pm.user_id = :userId and pm.status = :status", Project.class)
+                .createQuery("select new cz.uhk.projectmgmt.dto.ProjectDto(p.id, p.name, p.type, p.status, p.description) " +
+                        "from Project p " +
+                        "inner join p.projectMembers pm " +
+                        "where pm.user.id = :userId and pm.status = :status", ProjectDto.class)
                 .setParameter("userId", userId)
-                .setParameter("status", PROJECT_MEMBER_STATUS.ACTIVE.name())
+                .setParameter("status", PROJECT_MEMBER_STATUS.ACTIVE)
+                .getResultList();
+    }
+
+    /**
+     * Loads the project with its members, tasks and both directions of task relationships in four queries, one per
+     * collection level, so no lazy collection is initialized per row afterwards.
+     */
+    public Optional<Project> readProjectWithTasks(Integer projectId) {
+        Optional<Project> projectOpt = getEntityManager()
+                .createQuery("select p from Project p " +
+                        "left join fetch p.projectMembers pm " +
+                        "left join fetch pm.user " +
+                        "where p.id = :projectId", Project.class)
+                .setParameter("projectId", projectId)
+                .getResultStream()
+                .findFirst();
+
+        if (!projectOpt.isPresent())
+            return projectOpt;
+
+        getEntityManager()
+                .createQuery("select p from Project p " +
+                        "left join fetch p.tasks " +
+                        "where p.id = :projectId", Project.class)
+                .setParameter("projectId", projectId)
+                .getResultList();
+
+        getEntityManager()
+                .createQuery("select t from Task t " +
+                        "left join fetch t.taskRelationships " +
+                        "where t.projectId = :projectId", Task.class)
+                .setParameter("projectId", projectId)
+                .getResultList();
+
+        getEntityManager()
+                .createQuery("select t from Task t " +
+                        "left join fetch t.relatedTaskRelationships " +
+                        "where t.projectId = :projectId", Task.class)
+                .setParameter("projectId", projectId)
+                .getResultList();
+
+        return projectOpt;
+    }
+
+    public Optional<Long> readContentVersion(Integer projectId) {
+        return getEntityManager()
+                .createQuery("select p.contentVersion from Project p where p.id = :projectId", Long.class)
+                .setParameter("projectId", projectId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Marks a change of the project content, the row stays locked until the transaction completes, so the changes of
+     * one project are versioned in their commit order.
+     *
+     * @return the new content version to stamp the changed rows with
+     */
+    public long incrementContentVersion(Integer projectId) {
+        return ((Number) getEntityManager()
+                .createNativeQuery("UPDATE PROJECTS SET CONTENT_VERSION = CONTENT_VERSION + 1 WHERE ID = :projectId RETURNING CONTENT_VERSION")
+                .setParameter("projectId", projectId)
+                .getSingleResult())
+                .longValue();
+    }
+
+    public List<Task> readChangedTasks(Integer projectId, long sinceVersion) {
+        return getEntityManager()
+                .createQuery("select t from Task t " +
+                        "where t.projectId = :projectId and t.changeVersion > :sinceVersion " +
+                        "order by t.id", Task.class)
+                .setParameter("projectId", projectId)
+                .setParameter("sinceVersion", sinceVersion)
+                .getResultList();
+    }
+
+    public List<TaskRelationship> readChangedTaskRelationships(Integer projectId, long sinceVersion) {
+        return getEntityManager()
+                .createQuery("select tr from TaskRelationship tr, Task t " +
+                        "where t.id = tr.taskId and t.projectId = :projectId and tr.changeVersion > :sinceVersion " +
+                        "order by tr.id", TaskRelationship.class)
+                .setParameter("projectId", projectId)
+                .setParameter("sinceVersion", sinceVersion)
+                .getResultList();
+    }
+
+    public List<ProjectMember> readChangedProjectMembers(Integer projectId, long sinceVersion) {
+        return getEntityManager()
+                .createQuery("select pm from ProjectMember pm " +
+                        "join fetch pm.user " +
+                        "where pm.project.id = :projectId and pm.changeVersion > :sinceVersion " +
+                        "order by pm.id", ProjectMember.class)
+                .setParameter("projectId", projectId)
+                .setParameter("sinceVersion", sinceVersion)
+                .getResultList();
+    }
+
+    public List<ProjectTombstone> readTombstones(Integer projectId, long sinceVersion) {
+        return getEntityManager()
+                .createQuery("select pt from ProjectTombstone pt " +
+                        "where pt.projectId = :projectId and pt.version > :sinceVersion " +
+                        "order by pt.version", ProjectTombstone.class)
+                .setParameter("projectId", projectId)
+                .setParameter("sinceVersion", sinceVersion)
+                .getResultList();
+    }
+
+    public List<ProjectDayOff> readDaysOff(Integer projectId) {
+        return getEntityManager()
+                .createQuery("select d from ProjectDayOff d " +
+                        "where d.projectId = :projectId " +
+                        "order by d.day", ProjectDayOff.class)
+                .setParameter("projectId", projectId)
+                .getResultList();
+    }
+
+    public void deleteDaysOff(Integer projectId) {
+        getEntityManager()
+                .createQuery("delete from ProjectDayOff d where d.projectId = :projectId")
+                .setParameter("projectId", projectId)
+                .executeUpdate();
+    }
+
+    public boolean demoTemplateNamesExist(String language) {
+        return !getEntityManager()
+                .createNativeQuery("select 1 from DEMO_TEMPLATE_TASK_NAMES where LANGUAGE = :language")
+                .setParameter("language", language)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Integer> readDemoTemplateOrdinals() {
+        return getEntityManager()
+                .createNativeQuery("select ORDINAL from DEMO_TEMPLATE_TASKS order by ORDINAL", Integer.class)
                 .getResultList();
     }
 
+    public void createDemoTemplateNames(String language, Map<Integer, String> names) {
+        names.forEach((ordinal, name) -> getEntityManager()
+                .createNativeQuery("insert into DEMO_TEMPLATE_TASK_NAMES (LANGUAGE, ORDINAL, NAME) " +
+                        "values (:language, :ordinal, :name) " +
+                        "on conflict do nothing")
+                .setParameter("language", language)
+                .setParameter("ordinal", ordinal)
+                .setParameter("name", name)
+                .executeUpdate());
+    }
+
+    /**
+     * Copies the demo template into the project with one statement. Every template row takes its own value of the
+     * pooled-lo sequence, which is the start of a block no other session uses, so the template may have any size.
+     * The task ids follow the template ordinals.
+     */
+    public void cloneDemoTemplate(String language, Integer projectId, String username, LocalDate startDate) {
+        getEntityManager().flush();
+
+        getEntityManager()
+                .createNativeQuery("with TASK_IDS as (" +
+                        "select t.ORDINAL, nextval('TASKS_SEQ') as ID from DEMO_TEMPLATE_TASKS t order by t.ORDINAL" +
+                        "), CLONED_TASKS as (" +
+                        "insert into TASKS (ID, CREATED_ON, CREATED_BY, NAME, PRIORITY, STATUS, START_DATE, END_DATE, " +
+                        "PROGRESS, PROJECT_ID, OPTIMISTIC_ESTIMATION, MODAL_ESTIMATION, PESSIMISTIC_ESTIMATION) " +
+                        "select i.ID, :createdOn, :username, n.NAME, " +
+                        randomElement(PRIORITY.values()) + ", " +
+                        randomElement(new TASK_STATUS[]{TASK_STATUS.NEW, TASK_STATUS.WAITING, TASK_STATUS.ON_HOLD, TASK_STATUS.IN_PROGRESS}) + ", " +
+                        "cast(:startDate as date) + t.START_OFFSET, cast(:startDate as date) + t.START_OFFSET + t.DURATION - 1, " +
+                        "0, :projectId, t.OPTIMISTIC_ESTIMATION, t.MODAL_ESTIMATION, t.PESSIMISTIC_ESTIMATION " +
+                        "from DEMO_TEMPLATE_TASKS t " +
+                        "inner join TASK_IDS i on i.ORDINAL = t.ORDINAL " +
+                        "inner join DEMO_TEMPLATE_TASK_NAMES n on n.ORDINAL = t.ORDINAL and n.LANGUAGE = :language" +
+                        ") " +
+                        "insert into TASK_RELATIONSHIPS (ID, TASK_ID, RELATED_TASK_ID, TYPE) " +
+                        "select nextval('TASK_RELATIONSHIPS_SEQ'), task.ID, related.ID, :type " +
+                        "from DEMO_TEMPLATE_RELATIONSHIPS r " +
+                        "inner join TASK_IDS task on task.ORDINAL = r.TASK_ORDINAL " +
+                        "inner join TASK_IDS related on related.ORDINAL = r.RELATED_TASK_ORDINAL " +
+                        "order by r.ORDINAL")
+                .setParameter("createdOn", LocalDateTime.now())
+                .setParameter("username", username)
+                .setParameter("startDate", startDate)
+                .setParameter("projectId", projectId)
+                .setParameter("language", language)
+                .setParameter("type", TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY.name())
+                .executeUpdate();
+    }
+
+    private static String randomElement(Enum<?>[] values) {
+        return Arrays.stream(values)
+                .map(value -> "'" + value.name() + "'")
+                .collect(Collectors.joining(",", "(array[", "])[1 + cast(floor(random() * " + values.length + ") as integer)]"));
+    }
 
 }
@@ -1,10 +1,18 @@
 package cz.uhk.projectmgmt.repository;
 
+import cz.uhk.projectmgmt.dto.RelatedTaskDto;
+import cz.uhk.projectmgmt.dto.TaskDateRangeDto;
+import cz.uhk.projectmgmt.dto.TaskDto;
+import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
+import cz.uhk.projectmgmt.enums.PROJECT_ROLE;
 import cz.uhk.projectmgmt.enums.TASK_RELATIONSHIP_TYPE;
+import cz.uhk.projectmgmt.enums.TASK_STATUS;
 import cz.uhk.projectmgmt.model.Task;
 import cz.uhk.projectmgmt.model.TaskRelationship;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,45 +32,27 @@ public class TaskRepository extends GenericRepository<Task, Integer> {
                 .findFirst();
     }
 
-    public List<Task> readTaskSuccessor(Integer taskId) {
+    @Transactional(readOnly = true)
+    public List<RelatedTaskDto> readTaskSuccessor(Integer taskId) {
         return getEntityManager()
-                .createQuery("select d from Task d " +
+                .createQuery("select new cz.uhk.projectmgmt.dto.RelatedTaskDto(d.id, d.name, d.status) from Task d " +
                         "inner join TaskRelationship tr " +
-                        "on tr.relatedTaskId = :taskId and d.id = tr.taskId and tr.type = :relationshipType", Task.class)
+                        "on tr.relatedTaskId = :taskId and d.id = tr.taskId and tr.type = :relationshipType", RelatedTaskDto.class)
                 .setParameter("taskId", taskId)
                 .setParameter("relationshipType", TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY)
                 .getResultList();
     }
 
-    public List<Task> readTaskPredecessors(Integer taskId) {
-        return getEntityManager().createQuery("select d from Task d " +
+    @Transactional(readOnly = true)
+    public List<RelatedTaskDto> readTaskPredecessors(Integer taskId) {
+        return getEntityManager().createQuery("select new cz.uhk.projectmgmt.dto.RelatedTaskDto(d.id, d.name, d.status) from Task d " +
                         "inner join TaskRelationship tr " +
-                        "on tr.taskId = :taskId and d.id = tr.relatedTaskId and tr.type = :relationshipType", Task.class)
+                        "on tr.taskId = :taskId and d.id = tr.relatedTaskId and tr.type = :relationshipType", RelatedTaskDto.class)
                 .setParameter("taskId", taskId)
                 .setParameter("relationshipType", TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY)
                 .getResultList();
     }
 
-    public List<Task> readNotRelatedTasks(Integer taskId) {
-        return getEntityManager().createNativeQuery("select allTasks.*\n" +
-                        "from tasks currentTask\n" +
-                        "         inner join tasks allTasks on currentTask.project_id = allTasks.project_id\n" +
-                        "where currentTask.id = :taskId\n" +
-                        "  and allTasks.id <> :taskId\n" +
-                        "EXCEPT\n" +
-                        "select predecessors.*\n" +
-                        "from tasks predecessors\n" +
-                        "         inner join task_relationships tr on predecessors.id = tr.related_task_id\n" +
-                        "where tr.task_id = :taskId\n" +
-                        "except\n" +
-                        "select successor.*\n" +
-                        "from tasks successor\n" +
-                        "         inner join task_relationships tr on successor.id = tr.task_id\n" +
-                        "where tr.related_task_id = :taskId", Task.class)
-                .setParameter("taskId", taskId)
-                .getResultList();
-    }
-
     public Optional<TaskRelationship> findTaskRelationship(Integer taskId, Integer relatedTaskId, TASK_RELATIONSHIP_TYPE relationshipType) {
         return getEntityManager().createQuery("select tr from TaskRelationship tr " +
                         "where tr.taskId = :taskId and tr.relatedTaskId = :relatedTaskId and tr.type = :relationshipType", TaskRelationship.class)
@@ -73,11 +63,81 @@ public class TaskRepository extends GenericRepository<Task, Integer> {
                 .findFirst();
     }
 
-    public List<Task> readUserAssignedTasks(Integer userId) {
+    public List<Integer> readTaskRelationshipIds(Integer taskId) {
+        return getEntityManager().createQuery("select tr.id from TaskRelationship tr " +
+                        "where tr.taskId = :taskId or tr.relatedTaskId = :taskId", Integer.class)
+                .setParameter("taskId", taskId)
+                .getResultList();
+    }
+
+    public List<Task> readProjectTasks(Integer projectId) {
         return getEntityManager().createQuery("select t from Task t " +
-                        "where t.assignedUserId = :userId", Task.class)
+                        "where t.projectId = :projectId " +
+                        "order by t.id", Task.class)
+                .setParameter("projectId", projectId)
+                .getResultList();
+    }
+
+    public List<TaskRelationship> readProjectTaskRelationships(Integer projectId, TASK_RELATIONSHIP_TYPE relationshipType) {
+        return getEntityManager().createQuery("select tr from TaskRelationship tr " +
+                        "inner join Task t on t.id = tr.taskId " +
+                        "where t.projectId = :projectId and tr.type = :relationshipType", TaskRelationship.class)
+                .setParameter("projectId", projectId)
+                .setParameter("relationshipType", relationshipType)
+                .getResultList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskDto> readUserAssignedTasks(Integer userId) {
+        return getEntityManager().createQuery("select new cz.uhk.projectmgmt.dto.TaskDto(t.id, t.name, t.priority, t.status, " +
+                        "t.description, t.startDate, t.endDate, t.progress, t.assignedUserId, t.projectId, " +
+                        "t.optimisticEstimation, t.modalEstimation, t.pessimisticEstimation) from Task t " +
+                        "where t.assignedUserId = :userId", TaskDto.class)
                 .setParameter("userId", userId)
                 .getResultList();
     }
 
+    @Transactional(readOnly = true)
+    public List<TaskDto> readProjectTaskDtos(Integer projectId) {
+        return getEntityManager().createQuery("select new cz.uhk.projectmgmt.dto.TaskDto(t.id, t.name, t.priority, t.status, " +
+                        "t.description, t.startDate, t.endDate, t.progress, t.assignedUserId, t.projectId, " +
+                        "t.optimisticEstimation, t.modalEstimation, t.pessimisticEstimation) from Task t " +
+                        "where t.projectId = :projectId " +
+                        "order by t.id", TaskDto.class)
+                .setParameter("projectId", projectId)
+                .getResultList();
+    }
+
+    /**
+     * Counts the unfinished tasks of the user overlapping the period by their date range, only tasks of projects the
+     * user is an active member of count. Unless the user reads their own tasks, only projects managed by the context
+     * user are included.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDateRangeDto> readUserTaskDateRanges(Integer userId, LocalDate from, LocalDate to, Integer contextUserId) {
+        return getEntityManager().createQuery("select new cz.uhk.projectmgmt.dto.TaskDateRangeDto(t.startDate, t.endDate, count(t)) " +
+                        "from Task t, ProjectMember pm " +
+                        "where pm.project.id = t.projectId and pm.user.id = t.assignedUserId and pm.status = :memberStatus " +
+                        "and t.assignedUserId = :userId and t.status <> :doneStatus " +
+                        "and t.endDate >= :from and t.startDate <= :to " +
+                        "and (t.assignedUserId = :contextUserId or exists (select 1 from ProjectMember m " +
+                        "where m.project.id = t.projectId and m.user.id = :contextUserId and m.status = :memberStatus and m.role in :managerRoles)) " +
+                        "group by t.startDate, t.endDate", TaskDateRangeDto.class)
+                .setParameter("userId", userId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("contextUserId", contextUserId)
+                .setParameter("memberStatus", PROJECT_MEMBER_STATUS.ACTIVE)
+                .setParameter("doneStatus", TASK_STATUS.DONE)
+                .setParameter("managerRoles", List.of(PROJECT_ROLE.OWNER, PROJECT_ROLE.MANAGER))
+                .getResultList();
+    }
+
+    public List<String> readProjectTaskNames(Integer projectId) {
+        return getEntityManager()
+                .createQuery("select t.name from Task t where t.projectId = :projectId", String.class)
+                .setParameter("projectId", projectId)
+                .getResultList();
+    }
+
 }
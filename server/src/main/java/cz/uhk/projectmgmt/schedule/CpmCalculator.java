@@ -0,0 +1,54 @@
+package cz.uhk.projectmgmt.schedule;
+
+/**
+ * Critical path method over a {@link ProjectGraph}. Forward and backward passes walk the topological order once,
+ * so the whole calculation is linear in the number of tasks and relationships.
+ */
+public final class CpmCalculator {
+
+    private CpmCalculator() {
+    }
+
+    public static CpmResult calculate(ProjectGraph graph) {
+        return calculate(graph, graph.durations());
+    }
+
+    public static CpmResult calculate(ProjectGraph graph, int[] durations) {
+        final int n = graph.size();
+        final int[] order = graph.topologicalOrder();
+
+        int[] earliestStart = new int[n];
+        int[] earliestFinish = new int[n];
+        int[] latestStart = new int[n];
+        int[] latestFinish = new int[n];
+        int[] freeFloat = new int[n];
+
+        int projectDuration = 0;
+        for (int current : order) {
+            int start = 0;
+            for (int p = graph.predecessorStart(current); p < graph.predecessorEnd(current); p++) {
+                start = Math.max(start, earliestFinish[graph.predecessor(p)]);
+            }
+            earliestStart[current] = start;
+            earliestFinish[current] = start + durations[current];
+            projectDuration = Math.max(projectDuration, earliestFinish[current]);
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            int current = order[i];
+            int finish = projectDuration;
+            // a task without successors may slip until the project finish
+            int minSuccessorEarliestStart = projectDuration;
+            for (int p = graph.successorStart(current); p < graph.successorEnd(current); p++) {
+                int successor = graph.successor(p);
+                finish = Math.min(finish, latestStart[successor]);
+                minSuccessorEarliestStart = Math.min(minSuccessorEarliestStart, earliestStart[successor]);
+            }
+            latestFinish[current] = finish;
+            latestStart[current] = finish - durations[current];
+            freeFloat[current] = minSuccessorEarliestStart - earliestFinish[current];
+        }
+
+        return new CpmResult(order, earliestStart, earliestFinish, latestStart, latestFinish, freeFloat, projectDuration);
+    }
+}
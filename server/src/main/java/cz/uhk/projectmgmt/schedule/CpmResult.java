@@ -0,0 +1,63 @@
+package cz.uhk.projectmgmt.schedule;
+
+/**
+ * Result of the critical path method, all values are indexed by the task index of the {@link ProjectGraph}
+ * and expressed in days from the project start.
+ */
+public class CpmResult {
+
+    private final int[] topologicalOrder;
+    private final int[] earliestStart;
+    private final int[] earliestFinish;
+    private final int[] latestStart;
+    private final int[] latestFinish;
+    private final int[] freeFloat;
+    private final int projectDuration;
+
+    public CpmResult(int[] topologicalOrder, int[] earliestStart, int[] earliestFinish, int[] latestStart,
+                     int[] latestFinish, int[] freeFloat, int projectDuration) {
+        this.topologicalOrder = topologicalOrder;
+        this.earliestStart = earliestStart;
+        this.earliestFinish = earliestFinish;
+        this.latestStart = latestStart;
+        this.latestFinish = latestFinish;
+        this.freeFloat = freeFloat;
+        this.projectDuration = projectDuration;
+    }
+
+    public int[] getTopologicalOrder() {
+        return topologicalOrder;
+    }
+
+    public int earliestStart(int index) {
+        return earliestStart[index];
+    }
+
+    public int earliestFinish(int index) {
+        return earliestFinish[index];
+    }
+
+    public int latestStart(int index) {
+        return latestStart[index];
+    }
+
+    public int latestFinish(int index) {
+        return latestFinish[index];
+    }
+
+    public int totalFloat(int index) {
+        return latestStart[index] - earliestStart[index];
+    }
+
+    public int freeFloat(int index) {
+        return freeFloat[index];
+    }
+
+    public boolean isCritical(int index) {
+        return totalFloat(index) <= 0;
+    }
+
+    public int getProjectDuration() {
+        return projectDuration;
+    }
+}
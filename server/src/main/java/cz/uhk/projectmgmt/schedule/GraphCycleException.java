@@ -0,0 +1,18 @@
+package cz.uhk.projectmgmt.schedule;
+
+public class GraphCycleException extends RuntimeException {
+
+    private final int[] taskIds;
+
+    public GraphCycleException(int[] taskIds) {
+        super("Project graph contains a cycle");
+        this.taskIds = taskIds;
+    }
+
+    /**
+     * Ids of the tasks forming the cycle in the direction of the relationships (predecessor first).
+     */
+    public int[] getTaskIds() {
+        return taskIds;
+    }
+}
@@ -0,0 +1,809 @@
+package cz.uhk.projectmgmt.schedule;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mutable critical path schedule of one project that is repaired in place after every change.
+ * <p>
+ * Earliest values depend only on predecessors, so a change is propagated forward through the downstream cone
+ * of the changed task in topological order. Latest values depend only on successors and the project duration,
+ * so they are repaired backward through the upstream cone. Only a change of the project duration forces a full
+ * backward pass. Free float is derived on read.
+ * <p>
+ * The topological order is maintained online with the Pearce–Kelly algorithm, a new relationship that breaks the
+ * order only visits the tasks positioned between its successor and predecessor.
+ * <p>
+ * The transitive closure of the relationships is built on the first reachability query and maintained as bitsets,
+ * a new relationship ORs the descendants of its successor into the ancestors of its predecessor and a removed one
+ * recomputes only the ancestors of its predecessor. The closure takes n² bits, so it is kept only for schedules of at
+ * most {@link #MAX_REACHABILITY_TASKS} tasks, larger schedules search the relationships on every query instead.
+ * <p>
+ * All operations are idempotent, which lets the caller replay a change the schedule has already seen.
+ * Instances are thread safe.
+ */
+public class IncrementalSchedule {
+
+    public static final int MAX_REACHABILITY_TASKS = 2048;
+
+    private static final int INITIAL_DEGREE = 2;
+
+    private final int reachabilityLimit;
+    private final WorkingCalendar calendar;
+
+    private final Map<Integer, Integer> indexByTaskId = new HashMap<>();
+
+    private int size;
+    private int[] taskIds;
+    private boolean[] removed;
+    private long[] startDays;
+    private int[] durations;
+    private int[] earliestStart;
+    private int[] earliestFinish;
+    private int[] latestStart;
+    private int[] latestFinish;
+
+    private int[][] successors;
+    private int[] successorCount;
+    private int[][] predecessors;
+    private int[] predecessorCount;
+
+    private int[] order;
+    private int[] position;
+
+    private int projectDuration;
+
+    private int[] heap;
+    private int heapSize;
+    private boolean heapReversed;
+    private boolean[] queued;
+
+    private long[][] descendants;
+
+    private int[] visited;
+    private int visitStamp;
+    private int[] parent;
+    private int[] stack;
+
+    private IncrementalSchedule(int capacity, int reachabilityLimit, WorkingCalendar calendar) {
+        this.reachabilityLimit = reachabilityLimit;
+        this.calendar = calendar;
+        capacity = Math.max(capacity, 16);
+        taskIds = new int[capacity];
+        removed = new boolean[capacity];
+        startDays = new long[capacity];
+        durations = new int[capacity];
+        earliestStart = new int[capacity];
+        earliestFinish = new int[capacity];
+        latestStart = new int[capacity];
+        latestFinish = new int[capacity];
+        successors = new int[capacity][];
+        successorCount = new int[capacity];
+        predecessors = new int[capacity][];
+        predecessorCount = new int[capacity];
+        order = new int[capacity];
+        position = new int[capacity];
+        heap = new int[capacity];
+        queued = new boolean[capacity];
+        visited = new int[capacity];
+        parent = new int[capacity];
+        stack = new int[capacity];
+    }
+
+    /**
+     * @param startDays epoch day of the planned start of each task, indexed as the graph
+     * @throws GraphCycleException if the graph is not acyclic
+     */
+    public static IncrementalSchedule of(ProjectGraph graph, long[] startDays) {
+        return of(graph, startDays, null, MAX_REACHABILITY_TASKS);
+    }
+
+    /**
+     * @param startDays epoch day of the planned start of each task, indexed as the graph
+     * @param calendar  working calendar the durations of the graph are counted in
+     * @throws GraphCycleException if the graph is not acyclic
+     */
+    public static IncrementalSchedule of(ProjectGraph graph, long[] startDays, WorkingCalendar calendar) {
+        return of(graph, startDays, calendar, MAX_REACHABILITY_TASKS);
+    }
+
+    static IncrementalSchedule of(ProjectGraph graph, long[] startDays, int reachabilityLimit) {
+        return of(graph, startDays, null, reachabilityLimit);
+    }
+
+    private static IncrementalSchedule of(ProjectGraph graph, long[] startDays, WorkingCalendar calendar, int reachabilityLimit) {
+        final int n = graph.size();
+        int[] topologicalOrder = graph.topologicalOrder();
+
+        IncrementalSchedule schedule = new IncrementalSchedule(n, reachabilityLimit, calendar);
+        for (int i = 0; i < n; i++) {
+            schedule.appendTask(graph.taskId(i), startDays[i], graph.duration(i));
+        }
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            schedule.link(graph.edgePredecessor(e), graph.edgeSuccessor(e));
+        }
+        for (int p = 0; p < n; p++) {
+            schedule.order[p] = topologicalOrder[p];
+            schedule.position[topologicalOrder[p]] = p;
+        }
+
+        schedule.forwardPass();
+        schedule.backwardPass();
+        return schedule;
+    }
+
+    public synchronized void addTask(int taskId, long startDay, int duration) {
+        if (indexByTaskId.containsKey(taskId))
+            return;
+
+        int index = appendTask(taskId, startDay, duration);
+        order[index] = index;
+        position[index] = index;
+        earliestStart[index] = 0;
+        earliestFinish[index] = duration;
+
+        if (!updateProjectDuration())
+            repairBackward(index);
+    }
+
+    public synchronized void updateTask(int taskId, long startDay, int duration) {
+        Integer index = indexByTaskId.get(taskId);
+        if (index == null)
+            throw new IllegalArgumentException("Unknown task " + taskId);
+
+        startDays[index] = startDay;
+        if (durations[index] == duration)
+            return;
+
+        durations[index] = duration;
+        repairForward(index);
+        if (!updateProjectDuration())
+            repairBackward(index);
+    }
+
+    public synchronized void removeTask(int taskId) {
+        Integer index = indexByTaskId.remove(taskId);
+        if (index == null)
+            return;
+
+        int[] formerSuccessors = Arrays.copyOf(successors[index], successorCount[index]);
+        int[] formerPredecessors = Arrays.copyOf(predecessors[index], predecessorCount[index]);
+        for (int successor : formerSuccessors) {
+            unlink(index, successor);
+        }
+        for (int predecessor : formerPredecessors) {
+            unlink(predecessor, index);
+        }
+        removed[index] = true;
+        if (descendants != null) {
+            recalculateAncestors(index);
+            Arrays.fill(descendants[index], 0L);
+        }
+
+        repairForward(formerSuccessors);
+        if (!updateProjectDuration())
+            repairBackward(formerPredecessors);
+    }
+
+    /**
+     * Moves the tasks so the relationship fits into the topological order without adding it. The order stays valid
+     * whether the relationship is added later or not.
+     *
+     * @throws GraphCycleException if the relationship would close a cycle
+     */
+    public synchronized void checkRelationship(int predecessorTaskId, int successorTaskId) {
+        int predecessor = requireIndex(predecessorTaskId);
+        int successor = requireIndex(successorTaskId);
+        if (predecessor == successor)
+            throw new GraphCycleException(new int[]{predecessorTaskId});
+
+        if (position[predecessor] > position[successor])
+            reorder(predecessor, successor);
+    }
+
+    /**
+     * @throws GraphCycleException if the relationship would close a cycle, the schedule stays unchanged
+     */
+    public synchronized void addRelationship(int predecessorTaskId, int successorTaskId) {
+        int predecessor = requireIndex(predecessorTaskId);
+        int successor = requireIndex(successorTaskId);
+        if (contains(successors[predecessor], successorCount[predecessor], successor))
+            return;
+
+        checkRelationship(predecessorTaskId, successorTaskId);
+        link(predecessor, successor);
+        if (descendants != null)
+            addReachability(predecessor, successor);
+
+        repairForward(successor);
+        if (!updateProjectDuration())
+            repairBackward(predecessor);
+    }
+
+    public synchronized void removeRelationship(int predecessorTaskId, int successorTaskId) {
+        Integer predecessor = indexByTaskId.get(predecessorTaskId);
+        Integer successor = indexByTaskId.get(successorTaskId);
+        if (predecessor == null || successor == null || !contains(successors[predecessor], successorCount[predecessor], successor))
+            return;
+
+        unlink(predecessor, successor);
+        if (descendants != null) {
+            recalculateDescendants(predecessor);
+            recalculateAncestors(predecessor);
+        }
+
+        repairForward(successor);
+        if (!updateProjectDuration())
+            repairBackward(predecessor);
+    }
+
+    /**
+     * @return ids of the tasks that can become a predecessor of the task without closing a cycle, excluding its
+     * current predecessors
+     */
+    public synchronized int[] candidatePredecessors(int taskId) {
+        int index = requireIndex(taskId);
+
+        long[] excluded = descendantsOf(index);
+        setBit(excluded, index);
+        for (int p = 0; p < predecessorCount[index]; p++) {
+            setBit(excluded, predecessors[index][p]);
+        }
+        return liveTasksExcept(excluded);
+    }
+
+    /**
+     * @return ids of the tasks that can become a successor of the task without closing a cycle, excluding its
+     * current successors
+     */
+    public synchronized int[] candidateSuccessors(int taskId) {
+        int index = requireIndex(taskId);
+
+        long[] excluded = ancestorsOf(index);
+        setBit(excluded, index);
+        for (int s = 0; s < successorCount[index]; s++) {
+            setBit(excluded, successors[index][s]);
+        }
+        return liveTasksExcept(excluded);
+    }
+
+    /**
+     * @return working calendar the durations are counted in, null when they are counted in calendar days
+     */
+    public WorkingCalendar getCalendar() {
+        return calendar;
+    }
+
+    public synchronized int size() {
+        return indexByTaskId.size();
+    }
+
+    public synchronized Snapshot snapshot() {
+        int count = indexByTaskId.size();
+        Snapshot snapshot = new Snapshot(count, projectDuration);
+        long projectStartDay = Long.MAX_VALUE;
+        int i = 0;
+        for (int index = 0; index < size; index++) {
+            if (removed[index])
+                continue;
+
+            snapshot.taskIds[i] = taskIds[index];
+            snapshot.durations[i] = durations[index];
+            snapshot.earliestStart[i] = earliestStart[index];
+            snapshot.earliestFinish[i] = earliestFinish[index];
+            snapshot.latestStart[i] = latestStart[index];
+            snapshot.latestFinish[i] = latestFinish[index];
+            snapshot.freeFloat[i] = freeFloat(index);
+            projectStartDay = Math.min(projectStartDay, startDays[index]);
+            i++;
+        }
+        snapshot.projectStartDay = count > 0 ? projectStartDay : null;
+        return snapshot;
+    }
+
+    private int freeFloat(int index) {
+        // a task without successors may slip until the project finish
+        int minimumEarliestStart = projectDuration;
+        for (int s = 0; s < successorCount[index]; s++) {
+            minimumEarliestStart = Math.min(minimumEarliestStart, earliestStart[successors[index][s]]);
+        }
+        return minimumEarliestStart - earliestFinish[index];
+    }
+
+    private int[] liveTasksExcept(long[] excluded) {
+        int[] result = new int[indexByTaskId.size()];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removed[i] && !hasBit(excluded, i))
+                result[count++] = taskIds[i];
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private long[] descendantsOf(int index) {
+        long[][] reachability = reachability();
+        return reachability != null ? reachability[index].clone() : search(index, true);
+    }
+
+    private long[] ancestorsOf(int index) {
+        long[][] reachability = reachability();
+        if (reachability == null)
+            return search(index, false);
+
+        long[] ancestors = new long[reachability[index].length];
+        for (int i = 0; i < size; i++) {
+            if (hasBit(reachability[i], index))
+                setBit(ancestors, i);
+        }
+        return ancestors;
+    }
+
+    /**
+     * Depth first search along the successors or the predecessors of the task, used instead of the transitive closure
+     * in large schedules.
+     *
+     * @return bitset of the reached tasks, excluding the task itself
+     */
+    private long[] search(int index, boolean forward) {
+        long[] reached = new long[(size + 63) >>> 6];
+        visitStamp++;
+
+        int top = 0;
+        stack[top++] = index;
+        visited[index] = visitStamp;
+        while (top > 0) {
+            int current = stack[--top];
+            int[] next = forward ? successors[current] : predecessors[current];
+            int count = forward ? successorCount[current] : predecessorCount[current];
+            for (int i = 0; i < count; i++) {
+                if (visited[next[i]] != visitStamp) {
+                    visited[next[i]] = visitStamp;
+                    setBit(reached, next[i]);
+                    stack[top++] = next[i];
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * @return the transitive closure or null if the schedule is too large to keep it
+     */
+    private long[][] reachability() {
+        if (descendants == null && taskIds.length <= reachabilityLimit) {
+            descendants = new long[taskIds.length][(taskIds.length + 63) >>> 6];
+            for (int p = size - 1; p >= 0; p--) {
+                recalculateDescendants(order[p]);
+            }
+        }
+        return descendants;
+    }
+
+    private void recalculateDescendants(int index) {
+        long[] row = descendants[index];
+        Arrays.fill(row, 0L);
+        for (int s = 0; s < successorCount[index]; s++) {
+            int successor = successors[index][s];
+            orInto(row, descendants[successor]);
+            setBit(row, successor);
+        }
+    }
+
+    private void addReachability(int predecessor, int successor) {
+        long[] reachable = descendants[successor].clone();
+        setBit(reachable, successor);
+
+        orInto(descendants[predecessor], reachable);
+        for (int i = 0; i < size; i++) {
+            if (hasBit(descendants[i], predecessor))
+                orInto(descendants[i], reachable);
+        }
+    }
+
+    /**
+     * Recomputes the ancestors of the task in reverse topological order after a relationship was removed, the
+     * descendants of all other tasks cannot change.
+     */
+    private void recalculateAncestors(int index) {
+        for (int p = position[index] - 1; p >= 0; p--) {
+            int current = order[p];
+            if (hasBit(descendants[current], index))
+                recalculateDescendants(current);
+        }
+    }
+
+    private static void orInto(long[] target, long[] source) {
+        for (int w = 0; w < target.length; w++) {
+            target[w] |= source[w];
+        }
+    }
+
+    private static void setBit(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean hasBit(long[] bits, int index) {
+        return (bits[index >>> 6] & 1L << index) != 0;
+    }
+
+    private int requireIndex(int taskId) {
+        Integer index = indexByTaskId.get(taskId);
+        if (index == null)
+            throw new IllegalArgumentException("Unknown task " + taskId);
+        return index;
+    }
+
+    private int appendTask(int taskId, long startDay, int duration) {
+        if (size == taskIds.length)
+            grow(size * 2);
+
+        int index = size++;
+        taskIds[index] = taskId;
+        startDays[index] = startDay;
+        durations[index] = duration;
+        successors[index] = new int[INITIAL_DEGREE];
+        predecessors[index] = new int[INITIAL_DEGREE];
+        indexByTaskId.put(taskId, index);
+        return index;
+    }
+
+    private void grow(int capacity) {
+        taskIds = Arrays.copyOf(taskIds, capacity);
+        removed = Arrays.copyOf(removed, capacity);
+        startDays = Arrays.copyOf(startDays, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        earliestStart = Arrays.copyOf(earliestStart, capacity);
+        earliestFinish = Arrays.copyOf(earliestFinish, capacity);
+        latestStart = Arrays.copyOf(latestStart, capacity);
+        latestFinish = Arrays.copyOf(latestFinish, capacity);
+        successors = Arrays.copyOf(successors, capacity);
+        successorCount = Arrays.copyOf(successorCount, capacity);
+        predecessors = Arrays.copyOf(predecessors, capacity);
+        predecessorCount = Arrays.copyOf(predecessorCount, capacity);
+        order = Arrays.copyOf(order, capacity);
+        position = Arrays.copyOf(position, capacity);
+        heap = Arrays.copyOf(heap, capacity);
+        queued = Arrays.copyOf(queued, capacity);
+        visited = Arrays.copyOf(visited, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        stack = Arrays.copyOf(stack, capacity);
+        descendants = null;
+    }
+
+    private void link(int predecessor, int successor) {
+        successors[predecessor] = add(successors[predecessor], successorCount[predecessor]++, successor);
+        predecessors[successor] = add(predecessors[successor], predecessorCount[successor]++, predecessor);
+    }
+
+    private void unlink(int predecessor, int successor) {
+        successorCount[predecessor] = remove(successors[predecessor], successorCount[predecessor], successor);
+        predecessorCount[successor] = remove(predecessors[successor], predecessorCount[successor], predecessor);
+    }
+
+    private static int[] add(int[] values, int count, int value) {
+        if (count == values.length)
+            values = Arrays.copyOf(values, count * 2);
+        values[count] = value;
+        return values;
+    }
+
+    private static int remove(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                values[i] = values[count - 1];
+                return count - 1;
+            }
+        }
+        return count;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Pearce–Kelly reordering for a new relationship whose predecessor is positioned after its successor. The tasks
+     * reachable from the successor and the tasks reaching the predecessor inside the affected region swap positions,
+     * all other tasks keep theirs.
+     */
+    private void reorder(int predecessor, int successor) {
+        final int lowerBound = position[successor];
+        final int upperBound = position[predecessor];
+        visitStamp++;
+
+        int forwardCount = 0;
+        int top = 0;
+        stack[top++] = successor;
+        visited[successor] = visitStamp;
+        long[] forward = new long[Math.min(size, upperBound - lowerBound + 1)];
+        while (top > 0) {
+            int current = stack[--top];
+            forward[forwardCount++] = (long) position[current] << 32 | current;
+            for (int s = 0; s < successorCount[current]; s++) {
+                int next = successors[current][s];
+                if (next == predecessor)
+                    throw new GraphCycleException(cycle(successor, current, predecessor));
+                if (visited[next] != visitStamp && position[next] < upperBound) {
+                    visited[next] = visitStamp;
+                    parent[next] = current;
+                    stack[top++] = next;
+                }
+            }
+        }
+
+        int backwardCount = 0;
+        stack[top++] = predecessor;
+        visited[predecessor] = visitStamp;
+        long[] backward = new long[Math.min(size, upperBound - lowerBound + 1)];
+        while (top > 0) {
+            int current = stack[--top];
+            backward[backwardCount++] = (long) position[current] << 32 | current;
+            for (int p = 0; p < predecessorCount[current]; p++) {
+                int next = predecessors[current][p];
+                if (visited[next] != visitStamp && position[next] > lowerBound) {
+                    visited[next] = visitStamp;
+                    stack[top++] = next;
+                }
+            }
+        }
+
+        Arrays.sort(forward, 0, forwardCount);
+        Arrays.sort(backward, 0, backwardCount);
+
+        int[] positions = new int[forwardCount + backwardCount];
+        for (int i = 0; i < backwardCount; i++) {
+            positions[i] = (int) (backward[i] >>> 32);
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            positions[backwardCount + i] = (int) (forward[i] >>> 32);
+        }
+        Arrays.sort(positions);
+
+        int next = 0;
+        for (int i = 0; i < backwardCount; i++) {
+            place((int) backward[i], positions[next++]);
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            place((int) forward[i], positions[next++]);
+        }
+    }
+
+    private void place(int node, int newPosition) {
+        order[newPosition] = node;
+        position[node] = newPosition;
+    }
+
+    /**
+     * @return task ids of the path from the successor to the last visited task followed by the predecessor
+     */
+    private int[] cycle(int successor, int last, int predecessor) {
+        int length = 2;
+        for (int node = last; node != successor; node = parent[node]) {
+            length++;
+        }
+
+        int[] cycle = new int[length];
+        cycle[length - 1] = taskIds[predecessor];
+        int node = last;
+        for (int i = length - 2; i >= 0; i--) {
+            cycle[i] = taskIds[node];
+            node = node == successor ? node : parent[node];
+        }
+        return cycle;
+    }
+
+    private void forwardPass() {
+        for (int p = 0; p < size; p++) {
+            int current = order[p];
+            if (!removed[current])
+                recalculateEarliest(current);
+        }
+        updateProjectDuration();
+    }
+
+    private void backwardPass() {
+        for (int p = size - 1; p >= 0; p--) {
+            int current = order[p];
+            if (!removed[current])
+                recalculateLatest(current);
+        }
+    }
+
+    private boolean recalculateEarliest(int index) {
+        int start = 0;
+        for (int p = 0; p < predecessorCount[index]; p++) {
+            start = Math.max(start, earliestFinish[predecessors[index][p]]);
+        }
+        int finish = start + durations[index];
+        boolean changed = start != earliestStart[index] || finish != earliestFinish[index];
+        earliestStart[index] = start;
+        earliestFinish[index] = finish;
+        return changed;
+    }
+
+    private boolean recalculateLatest(int index) {
+        int finish = projectDuration;
+        for (int s = 0; s < successorCount[index]; s++) {
+            finish = Math.min(finish, latestStart[successors[index][s]]);
+        }
+        int start = finish - durations[index];
+        boolean changed = start != latestStart[index] || finish != latestFinish[index];
+        latestStart[index] = start;
+        latestFinish[index] = finish;
+        return changed;
+    }
+
+    /**
+     * A plain scan over the finish values, a change of the project duration invalidates all latest values anyway.
+     *
+     * @return true if the project duration changed and the backward pass was run over the whole graph
+     */
+    private boolean updateProjectDuration() {
+        int duration = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removed[i])
+                duration = Math.max(duration, earliestFinish[i]);
+        }
+
+        if (duration == projectDuration)
+            return false;
+
+        projectDuration = duration;
+        backwardPass();
+        return true;
+    }
+
+    private void repairForward(int... startNodes) {
+        heapReversed = false;
+        for (int node : startNodes) {
+            push(node);
+        }
+        while (heapSize > 0) {
+            int current = pop();
+            if (recalculateEarliest(current)) {
+                for (int s = 0; s < successorCount[current]; s++) {
+                    push(successors[current][s]);
+                }
+            }
+        }
+    }
+
+    private void repairBackward(int... startNodes) {
+        heapReversed = true;
+        for (int node : startNodes) {
+            push(node);
+        }
+        while (heapSize > 0) {
+            int current = pop();
+            if (recalculateLatest(current)) {
+                for (int p = 0; p < predecessorCount[current]; p++) {
+                    push(predecessors[current][p]);
+                }
+            }
+        }
+    }
+
+    private int key(int node) {
+        return heapReversed ? -position[node] : position[node];
+    }
+
+    private void push(int node) {
+        if (queued[node])
+            return;
+        queued[node] = true;
+
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (key(heap[parent]) <= key(node))
+                break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = node;
+    }
+
+    private int pop() {
+        int top = heap[0];
+        queued[top] = false;
+        int last = heap[--heapSize];
+
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize)
+                break;
+            if (child + 1 < heapSize && key(heap[child + 1]) < key(heap[child]))
+                child++;
+            if (key(last) <= key(heap[child]))
+                break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    /**
+     * Consistent copy of the schedule of the live tasks.
+     */
+    public static class Snapshot {
+
+        private final int[] taskIds;
+        private final int[] durations;
+        private final int[] earliestStart;
+        private final int[] earliestFinish;
+        private final int[] latestStart;
+        private final int[] latestFinish;
+        private final int[] freeFloat;
+        private final int projectDuration;
+        private Long projectStartDay;
+
+        private Snapshot(int count, int projectDuration) {
+            this.taskIds = new int[count];
+            this.durations = new int[count];
+            this.earliestStart = new int[count];
+            this.earliestFinish = new int[count];
+            this.latestStart = new int[count];
+            this.latestFinish = new int[count];
+            this.freeFloat = new int[count];
+            this.projectDuration = projectDuration;
+        }
+
+        public int size() {
+            return taskIds.length;
+        }
+
+        public int taskId(int i) {
+            return taskIds[i];
+        }
+
+        public int duration(int i) {
+            return durations[i];
+        }
+
+        public int earliestStart(int i) {
+            return earliestStart[i];
+        }
+
+        public int earliestFinish(int i) {
+            return earliestFinish[i];
+        }
+
+        public int latestStart(int i) {
+            return latestStart[i];
+        }
+
+        public int latestFinish(int i) {
+            return latestFinish[i];
+        }
+
+        public int totalFloat(int i) {
+            return latestStart[i] - earliestStart[i];
+        }
+
+        public int freeFloat(int i) {
+            return freeFloat[i];
+        }
+
+        public boolean isCritical(int i) {
+            return totalFloat(i) <= 0;
+        }
+
+        public int getProjectDuration() {
+            return projectDuration;
+        }
+
+        /**
+         * Epoch day of the earliest planned task start or null for an empty project.
+         */
+        public Long getProjectStartDay() {
+            return projectStartDay;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package cz.uhk.projectmgmt.schedule;
+
+/**
+ * Result of the resource leveling, all values are indexed by the task index of the {@link ProjectGraph} and expressed
+ * in days from the project start.
+ */
+public class LevelingResult {
+
+    private final CpmResult cpmResult;
+    private final int[] start;
+    private final int[] finish;
+    private final int projectDuration;
+
+    public LevelingResult(CpmResult cpmResult, int[] start, int[] finish, int projectDuration) {
+        this.cpmResult = cpmResult;
+        this.start = start;
+        this.finish = finish;
+        this.projectDuration = projectDuration;
+    }
+
+    /**
+     * @return schedule of the same graph without resource limits
+     */
+    public CpmResult getCpmResult() {
+        return cpmResult;
+    }
+
+    public int start(int index) {
+        return start[index];
+    }
+
+    public int finish(int index) {
+        return finish[index];
+    }
+
+    /**
+     * @return days the task starts after its earliest start without resource limits
+     */
+    public int delay(int index) {
+        return start[index] - cpmResult.earliestStart(index);
+    }
+
+    public int getProjectDuration() {
+        return projectDuration;
+    }
+}
@@ -0,0 +1,244 @@
+package cz.uhk.projectmgmt.schedule;
+
+import java.util.Arrays;
+
+/**
+ * Metra potential method as a longest path problem over a difference constraint graph.
+ * <p>
+ * Every relationship {@code i -> j} yields the arc {@code S(j) >= S(i) + d(i) + minGap} and, when a maximum gap is set,
+ * the reverse arc {@code S(i) >= S(j) - d(i) - maxGap}. The earliest starts are the longest paths from a virtual source,
+ * computed by a FIFO label-correcting algorithm seeded in topological order, so a plain precedence graph is settled
+ * in a single sweep. The time gaps are infeasible exactly when the graph has a positive cycle, which is detected
+ * by an amortized search of the parent graph after every {@code n} relaxations.
+ */
+public final class MpmCalculator {
+
+    private final ProjectGraph graph;
+    private final int n;
+    private final int edgeCount;
+
+    private final int[] arcFrom;
+    private final int[] arcTo;
+    private final int[] arcWeight;
+
+    private final int[] outOffsets;
+    private final int[] outArcs;
+    private final int[] inOffsets;
+    private final int[] inArcs;
+
+    private MpmCalculator(ProjectGraph graph) {
+        this.graph = graph;
+        this.n = graph.size();
+        this.edgeCount = graph.edgeCount();
+
+        // arc a < m is the minimum gap arc of edge a, arc a >= m is the maximum gap arc of edge a - m
+        this.arcFrom = new int[2 * edgeCount];
+        this.arcTo = new int[2 * edgeCount];
+        this.arcWeight = new int[2 * edgeCount];
+        this.outOffsets = new int[n + 1];
+        this.inOffsets = new int[n + 1];
+
+        boolean[] present = new boolean[2 * edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int predecessor = graph.edgePredecessor(e);
+            int successor = graph.edgeSuccessor(e);
+            int duration = graph.duration(predecessor);
+            int minimumTimeGap = graph.minimumTimeGap(e);
+            int maximumTimeGap = graph.maximumTimeGap(e);
+
+            addArc(present, e, predecessor, successor,
+                    duration + (minimumTimeGap == ProjectGraph.NO_TIME_GAP ? 0 : minimumTimeGap));
+            if (maximumTimeGap != ProjectGraph.NO_TIME_GAP)
+                addArc(present, edgeCount + e, successor, predecessor, -(duration + maximumTimeGap));
+        }
+
+        for (int i = 0; i < n; i++) {
+            outOffsets[i + 1] += outOffsets[i];
+            inOffsets[i + 1] += inOffsets[i];
+        }
+
+        this.outArcs = new int[outOffsets[n]];
+        this.inArcs = new int[inOffsets[n]];
+        int[] outFill = Arrays.copyOf(outOffsets, n);
+        int[] inFill = Arrays.copyOf(inOffsets, n);
+        for (int a = 0; a < present.length; a++) {
+            if (!present[a])
+                continue;
+            outArcs[outFill[arcFrom[a]]++] = a;
+            inArcs[inFill[arcTo[a]]++] = a;
+        }
+    }
+
+    private void addArc(boolean[] present, int arc, int from, int to, int weight) {
+        present[arc] = true;
+        arcFrom[arc] = from;
+        arcTo[arc] = to;
+        arcWeight[arc] = weight;
+        outOffsets[from + 1]++;
+        inOffsets[to + 1]++;
+    }
+
+    public static MpmResult calculate(ProjectGraph graph) {
+        return new MpmCalculator(graph).calculate();
+    }
+
+    private MpmResult calculate() {
+        int[] order = seedOrder();
+
+        int[] earliestStart = new int[n];
+        int[] parentArc = new int[n];
+        Arrays.fill(parentArc, -1);
+
+        int[] cycle = forwardPass(order, earliestStart, parentArc);
+        if (cycle != null)
+            return MpmResult.infeasible(cycle);
+
+        int projectDuration = 0;
+        for (int i = 0; i < n; i++) {
+            projectDuration = Math.max(projectDuration, earliestStart[i] + graph.duration(i));
+        }
+
+        int[] latestStart = new int[n];
+        for (int i = 0; i < n; i++) {
+            latestStart[i] = projectDuration - graph.duration(i);
+        }
+        backwardPass(order, latestStart);
+
+        return MpmResult.feasible(earliestStart, latestStart, projectDuration);
+    }
+
+    private int[] seedOrder() {
+        try {
+            return graph.topologicalOrder();
+        } catch (GraphCycleException e) {
+            // a precedence cycle is infeasible only with a positive length, leave it on the label-correcting pass
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            return order;
+        }
+    }
+
+    private int[] forwardPass(int[] order, int[] distance, int[] parentArc) {
+        int[] queue = new int[n + 1];
+        boolean[] queued = new boolean[n];
+        int head = 0;
+        int tail = 0;
+        for (int node : order) {
+            queue[tail++] = node;
+            queued[node] = true;
+        }
+        int size = n;
+        int relaxations = 0;
+
+        while (size > 0) {
+            int u = queue[head];
+            head = head == n ? 0 : head + 1;
+            size--;
+            queued[u] = false;
+
+            for (int p = outOffsets[u]; p < outOffsets[u + 1]; p++) {
+                int arc = outArcs[p];
+                int v = arcTo[arc];
+                int candidate = distance[u] + arcWeight[arc];
+                if (candidate <= distance[v])
+                    continue;
+
+                distance[v] = candidate;
+                parentArc[v] = arc;
+                if (!queued[v]) {
+                    queue[tail] = v;
+                    tail = tail == n ? 0 : tail + 1;
+                    size++;
+                    queued[v] = true;
+                }
+
+                if (++relaxations == n) {
+                    relaxations = 0;
+                    int[] cycle = findParentCycle(parentArc);
+                    if (cycle != null)
+                        return cycle;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private void backwardPass(int[] order, int[] latest) {
+        int[] queue = new int[n + 1];
+        boolean[] queued = new boolean[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            queue[tail++] = order[i];
+            queued[order[i]] = true;
+        }
+        int size = n;
+
+        while (size > 0) {
+            int v = queue[head];
+            head = head == n ? 0 : head + 1;
+            size--;
+            queued[v] = false;
+
+            for (int p = inOffsets[v]; p < inOffsets[v + 1]; p++) {
+                int arc = inArcs[p];
+                int u = arcFrom[arc];
+                int candidate = latest[v] - arcWeight[arc];
+                if (candidate >= latest[u])
+                    continue;
+
+                latest[u] = candidate;
+                if (!queued[u]) {
+                    queue[tail] = u;
+                    tail = tail == n ? 0 : tail + 1;
+                    size++;
+                    queued[u] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks for a cycle in the graph of the last improving arcs. Any such cycle has a positive length.
+     *
+     * @return edges of the cycle in the direction of the arcs or null if there is none
+     */
+    private int[] findParentCycle(int[] parentArc) {
+        int[] stamp = new int[n];
+        for (int start = 0; start < n; start++) {
+            if (stamp[start] != 0)
+                continue;
+
+            int node = start;
+            while (node >= 0 && stamp[node] == 0) {
+                stamp[node] = start + 1;
+                node = parentArc[node] >= 0 ? arcFrom[parentArc[node]] : -1;
+            }
+
+            if (node >= 0 && stamp[node] == start + 1)
+                return cycleEdges(node, parentArc);
+        }
+        return null;
+    }
+
+    private int[] cycleEdges(int cycleNode, int[] parentArc) {
+        int length = 0;
+        int node = cycleNode;
+        do {
+            length++;
+            node = arcFrom[parentArc[node]];
+        } while (node != cycleNode);
+
+        int[] edges = new int[length];
+        node = cycleNode;
+        for (int i = length - 1; i >= 0; i--) {
+            int arc = parentArc[node];
+            edges[i] = arc < edgeCount ? arc : arc - edgeCount;
+            node = arcFrom[arc];
+        }
+        return edges;
+    }
+}
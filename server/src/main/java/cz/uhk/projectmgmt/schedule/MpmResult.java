@@ -0,0 +1,54 @@
+package cz.uhk.projectmgmt.schedule;
+
+/**
+ * Result of the metra potential method. When the time gaps cannot be satisfied the result is infeasible
+ * and only {@link #getConflictEdges()} is filled.
+ */
+public class MpmResult {
+
+    private final boolean feasible;
+    private final int[] earliestStart;
+    private final int[] latestStart;
+    private final int projectDuration;
+    private final int[] conflictEdges;
+
+    private MpmResult(boolean feasible, int[] earliestStart, int[] latestStart, int projectDuration, int[] conflictEdges) {
+        this.feasible = feasible;
+        this.earliestStart = earliestStart;
+        this.latestStart = latestStart;
+        this.projectDuration = projectDuration;
+        this.conflictEdges = conflictEdges;
+    }
+
+    static MpmResult feasible(int[] earliestStart, int[] latestStart, int projectDuration) {
+        return new MpmResult(true, earliestStart, latestStart, projectDuration, new int[0]);
+    }
+
+    static MpmResult infeasible(int[] conflictEdges) {
+        return new MpmResult(false, null, null, 0, conflictEdges);
+    }
+
+    public boolean isFeasible() {
+        return feasible;
+    }
+
+    public int earliestStart(int index) {
+        return earliestStart[index];
+    }
+
+    public int latestStart(int index) {
+        return latestStart[index];
+    }
+
+    public int getProjectDuration() {
+        return projectDuration;
+    }
+
+    /**
+     * Relationship edges (see {@link ProjectGraph#edgePredecessor(int)}) forming a cycle whose time gaps
+     * contradict each other, in the order they are chained.
+     */
+    public int[] getConflictEdges() {
+        return conflictEdges;
+    }
+}
@@ -0,0 +1,177 @@
+package cz.uhk.projectmgmt.schedule;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo simulation of the project duration with beta-PERT distributed task durations.
+ * <p>
+ * Iterations are split into chunks executed on a {@link ForkJoinPool}. Every chunk owns a {@link SplittableRandom}
+ * split from its parent and a set of primitive work arrays, so a single iteration (sampling, forward and backward pass)
+ * allocates nothing.
+ */
+public final class PertSimulation {
+
+    private static final double EPSILON = 1e-9;
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    private final ProjectGraph graph;
+    private final int[] order;
+    private final int n;
+
+    private final double[] minimum;
+    private final double[] range;
+    private final double[] alpha;
+    private final double[] beta;
+
+    private final double[] durations;
+    private final long[] criticalCounts;
+    private final int chunkSize;
+
+    private PertSimulation(ProjectGraph graph, int[] optimistic, int[] modal, int[] pessimistic, int iterations, int parallelism) {
+        this.graph = graph;
+        this.order = graph.topologicalOrder();
+        this.n = graph.size();
+        this.minimum = new double[n];
+        this.range = new double[n];
+        this.alpha = new double[n];
+        this.beta = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            minimum[i] = optimistic[i];
+            range[i] = pessimistic[i] - optimistic[i];
+            if (range[i] > 0) {
+                alpha[i] = 1 + 4.0 * (modal[i] - optimistic[i]) / range[i];
+                beta[i] = 1 + 4.0 * (pessimistic[i] - modal[i]) / range[i];
+            }
+        }
+
+        this.durations = new double[iterations];
+        this.criticalCounts = new long[n];
+        this.chunkSize = Math.max(MIN_CHUNK_SIZE, iterations / (parallelism * 4));
+    }
+
+    /**
+     * @param optimistic  optimistic estimation of each task, indexed as the graph
+     * @param modal       most likely estimation of each task
+     * @param pessimistic pessimistic estimation of each task
+     */
+    public static PertSimulationResult simulate(ProjectGraph graph, int[] optimistic, int[] modal, int[] pessimistic,
+                                                int iterations, SplittableRandom random, ForkJoinPool pool) {
+        if (iterations <= 0)
+            throw new IllegalArgumentException("Number of iterations must be positive");
+
+        PertSimulation simulation = new PertSimulation(graph, optimistic, modal, pessimistic, iterations, pool.getParallelism());
+        pool.invoke(simulation.new Chunk(0, iterations, random));
+        return simulation.result();
+    }
+
+    private PertSimulationResult result() {
+        double sum = 0;
+        for (double duration : durations) {
+            sum += duration;
+        }
+        Arrays.parallelSort(durations);
+
+        double[] criticalityIndex = new double[n];
+        for (int i = 0; i < n; i++) {
+            criticalityIndex[i] = (double) criticalCounts[i] / durations.length;
+        }
+
+        return new PertSimulationResult(durations, sum / durations.length, criticalityIndex);
+    }
+
+    private synchronized void addCriticalCounts(int[] counts) {
+        for (int i = 0; i < n; i++) {
+            criticalCounts[i] += counts[i];
+        }
+    }
+
+    private class Chunk extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        Chunk(int from, int to, SplittableRandom random) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunkSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Chunk(from, middle, random.split()), new Chunk(middle, to, random));
+                return;
+            }
+
+            double[] duration = new double[n];
+            double[] earliestFinish = new double[n];
+            double[] latestFinish = new double[n];
+            int[] criticalCounts = new int[n];
+
+            for (int iteration = from; iteration < to; iteration++) {
+                for (int i = 0; i < n; i++) {
+                    duration[i] = range[i] > 0 ? minimum[i] + range[i] * sampleBeta(alpha[i], beta[i]) : minimum[i];
+                }
+
+                double projectDuration = 0;
+                for (int current : order) {
+                    double start = 0;
+                    for (int p = graph.predecessorStart(current); p < graph.predecessorEnd(current); p++) {
+                        start = Math.max(start, earliestFinish[graph.predecessor(p)]);
+                    }
+                    earliestFinish[current] = start + duration[current];
+                    projectDuration = Math.max(projectDuration, earliestFinish[current]);
+                }
+
+                for (int i = n - 1; i >= 0; i--) {
+                    int current = order[i];
+                    double finish = projectDuration;
+                    for (int p = graph.successorStart(current); p < graph.successorEnd(current); p++) {
+                        int successor = graph.successor(p);
+                        finish = Math.min(finish, latestFinish[successor] - duration[successor]);
+                    }
+                    latestFinish[current] = finish;
+                    if (finish - earliestFinish[current] <= EPSILON)
+                        criticalCounts[current]++;
+                }
+
+                durations[iteration] = projectDuration;
+            }
+
+            addCriticalCounts(criticalCounts);
+        }
+
+        private double sampleBeta(double a, double b) {
+            double x = sampleGamma(a);
+            double y = sampleGamma(b);
+            return x / (x + y);
+        }
+
+        /**
+         * Marsaglia-Tsang method, the shape of beta-PERT parameters is always at least 1.
+         */
+        private double sampleGamma(double shape) {
+            final double d = shape - 1.0 / 3.0;
+            final double c = 1.0 / Math.sqrt(9.0 * d);
+            while (true) {
+                double x;
+                double v;
+                do {
+                    x = random.nextGaussian();
+                    v = 1.0 + c * x;
+                } while (v <= 0);
+
+                v = v * v * v;
+                double u = random.nextDouble();
+                if (u < 1.0 - 0.0331 * x * x * x * x || Math.log(u) < 0.5 * x * x + d * (1.0 - v + Math.log(v)))
+                    return d * v;
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package cz.uhk.projectmgmt.schedule;
+
+/**
+ * Outcome of {@link PertSimulation}, durations are in days from the project start.
+ */
+public class PertSimulationResult {
+
+    private final double[] sortedDurations;
+    private final double meanDuration;
+    private final double[] criticalityIndex;
+
+    PertSimulationResult(double[] sortedDurations, double meanDuration, double[] criticalityIndex) {
+        this.sortedDurations = sortedDurations;
+        this.meanDuration = meanDuration;
+        this.criticalityIndex = criticalityIndex;
+    }
+
+    public int getIterations() {
+        return sortedDurations.length;
+    }
+
+    public double getMeanDuration() {
+        return meanDuration;
+    }
+
+    /**
+     * Nearest-rank percentile of the simulated project duration.
+     *
+     * @param percentile value between 0 and 100
+     */
+    public double percentile(double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedDurations.length);
+        return sortedDurations[Math.max(0, Math.min(sortedDurations.length - 1, rank - 1))];
+    }
+
+    /**
+     * Share of iterations in which the task at the given index lay on a critical path.
+     */
+    public double criticalityIndex(int index) {
+        return criticalityIndex[index];
+    }
+}
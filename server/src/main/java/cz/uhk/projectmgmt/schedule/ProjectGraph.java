@@ -0,0 +1,302 @@
+package cz.uhk.projectmgmt.schedule;
+
+import cz.uhk.projectmgmt.enums.TASK_RELATIONSHIP_TYPE;
+import cz.uhk.projectmgmt.model.Task;
+import cz.uhk.projectmgmt.model.TaskRelationship;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable activity-on-node graph of a project. Tasks are addressed by a dense index (tasks sorted by id),
+ * relationships are stored in CSR form in both directions, so the scheduling passes work on primitive arrays only.
+ */
+public final class ProjectGraph {
+
+    public static final int NO_TIME_GAP = Integer.MIN_VALUE;
+
+    private final int[] taskIds;
+    private final int[] durations;
+
+    private final int[] edgePredecessors;
+    private final int[] edgeSuccessors;
+    private final int[] minimumTimeGaps;
+    private final int[] maximumTimeGaps;
+
+    private final int[] successorOffsets;
+    private final int[] successorEdges;
+    private final int[] predecessorOffsets;
+    private final int[] predecessorEdges;
+
+    /**
+     * @param taskIds          ids of the tasks
+     * @param durations        duration of each task in days, same order as taskIds
+     * @param predecessorIds   task id of the predecessor of each relationship
+     * @param successorIds     task id of the successor of each relationship
+     * @param minimumTimeGaps  minimum time gap of each relationship or {@link #NO_TIME_GAP}, may be null
+     * @param maximumTimeGaps  maximum time gap of each relationship or {@link #NO_TIME_GAP}, may be null
+     */
+    public ProjectGraph(int[] taskIds, int[] durations, int[] predecessorIds, int[] successorIds,
+                        int[] minimumTimeGaps, int[] maximumTimeGaps) {
+        if (taskIds.length != durations.length || predecessorIds.length != successorIds.length)
+            throw new IllegalArgumentException("Task or relationship arrays have different length");
+
+        final int n = taskIds.length;
+        final int m = predecessorIds.length;
+
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) taskIds[i] << 32) | i;
+        }
+        Arrays.sort(packed);
+
+        this.taskIds = new int[n];
+        this.durations = new int[n];
+        for (int i = 0; i < n; i++) {
+            int original = (int) packed[i];
+            this.taskIds[i] = (int) (packed[i] >> 32);
+            this.durations[i] = durations[original];
+            if (i > 0 && this.taskIds[i] == this.taskIds[i - 1])
+                throw new IllegalArgumentException("Duplicate task id " + this.taskIds[i]);
+        }
+
+        this.edgePredecessors = new int[m];
+        this.edgeSuccessors = new int[m];
+        this.minimumTimeGaps = new int[m];
+        this.maximumTimeGaps = new int[m];
+        this.successorOffsets = new int[n + 1];
+        this.predecessorOffsets = new int[n + 1];
+
+        for (int e = 0; e < m; e++) {
+            int from = indexOf(predecessorIds[e]);
+            int to = indexOf(successorIds[e]);
+            if (from < 0 || to < 0)
+                throw new IllegalArgumentException("Relationship %d -> %d references unknown task".formatted(predecessorIds[e], successorIds[e]));
+
+            edgePredecessors[e] = from;
+            edgeSuccessors[e] = to;
+            this.minimumTimeGaps[e] = minimumTimeGaps != null ? minimumTimeGaps[e] : NO_TIME_GAP;
+            this.maximumTimeGaps[e] = maximumTimeGaps != null ? maximumTimeGaps[e] : NO_TIME_GAP;
+            successorOffsets[from + 1]++;
+            predecessorOffsets[to + 1]++;
+        }
+
+        for (int i = 0; i < n; i++) {
+            successorOffsets[i + 1] += successorOffsets[i];
+            predecessorOffsets[i + 1] += predecessorOffsets[i];
+        }
+
+        this.successorEdges = new int[m];
+        this.predecessorEdges = new int[m];
+        int[] successorFill = Arrays.copyOf(successorOffsets, n);
+        int[] predecessorFill = Arrays.copyOf(predecessorOffsets, n);
+        for (int e = 0; e < m; e++) {
+            successorEdges[successorFill[edgePredecessors[e]]++] = e;
+            predecessorEdges[predecessorFill[edgeSuccessors[e]]++] = e;
+        }
+    }
+
+    public static ProjectGraph fromTasks(Collection<Task> tasks, Collection<TaskRelationship> relationships) {
+        return fromTasks(tasks, relationships, null);
+    }
+
+    /**
+     * @param calendar working calendar the durations are counted in, calendar days are counted when null
+     */
+    public static ProjectGraph fromTasks(Collection<Task> tasks, Collection<TaskRelationship> relationships, WorkingCalendar calendar) {
+        int[] taskIds = new int[tasks.size()];
+        int[] durations = new int[tasks.size()];
+        int i = 0;
+        for (Task task : tasks) {
+            taskIds[i] = task.getId();
+            durations[i] = durationOf(task, calendar);
+            i++;
+        }
+
+        int count = 0;
+        for (TaskRelationship relationship : relationships) {
+            if (relationship.getType() == TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY)
+                count++;
+        }
+
+        int[] predecessorIds = new int[count];
+        int[] successorIds = new int[count];
+        int[] minimumTimeGaps = new int[count];
+        int[] maximumTimeGaps = new int[count];
+        int e = 0;
+        for (TaskRelationship relationship : relationships) {
+            if (relationship.getType() != TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY)
+                continue;
+            predecessorIds[e] = relationship.getRelatedTaskId();
+            successorIds[e] = relationship.getTaskId();
+            minimumTimeGaps[e] = relationship.getMinimumTimeGap() != null ? relationship.getMinimumTimeGap() : NO_TIME_GAP;
+            maximumTimeGaps[e] = relationship.getMaximumTimeGap() != null ? relationship.getMaximumTimeGap() : NO_TIME_GAP;
+            e++;
+        }
+
+        return new ProjectGraph(taskIds, durations, predecessorIds, successorIds, minimumTimeGaps, maximumTimeGaps);
+    }
+
+    public static int durationOf(Task task) {
+        return (int) ChronoUnit.DAYS.between(task.getStartDate(), task.getEndDate()) + 1;
+    }
+
+    /**
+     * @param calendar working calendar the duration is counted in, calendar days are counted when null
+     */
+    public static int durationOf(Task task, WorkingCalendar calendar) {
+        return calendar != null
+                ? calendar.workingDays(task.getStartDate().toEpochDay(), task.getEndDate().toEpochDay())
+                : durationOf(task);
+    }
+
+    /**
+     * Kahn's topological sort, runs in O(n + m).
+     *
+     * @return task indexes in topological order
+     * @throws GraphCycleException if the relationships contain a cycle
+     */
+    public int[] topologicalOrder() {
+        final int n = size();
+        int[] inDegree = new int[n];
+        for (int i = 0; i < n; i++) {
+            inDegree[i] = predecessorEnd(i) - predecessorStart(i);
+        }
+
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0)
+                order[tail++] = i;
+        }
+
+        while (head < tail) {
+            int current = order[head++];
+            for (int p = successorStart(current); p < successorEnd(current); p++) {
+                int next = successor(p);
+                if (--inDegree[next] == 0)
+                    order[tail++] = next;
+            }
+        }
+
+        if (tail < n)
+            throw new GraphCycleException(findCycle(inDegree));
+
+        return order;
+    }
+
+    /**
+     * Every task left with a positive in-degree after Kahn's sort has an unprocessed predecessor,
+     * so walking the unprocessed predecessors must eventually revisit a task.
+     */
+    private int[] findCycle(int[] inDegree) {
+        final int n = size();
+        int[] visitedAt = new int[n];
+        Arrays.fill(visitedAt, -1);
+        int[] path = new int[n + 1];
+
+        int current = 0;
+        while (inDegree[current] == 0) {
+            current++;
+        }
+
+        int length = 0;
+        while (visitedAt[current] < 0) {
+            visitedAt[current] = length;
+            path[length++] = current;
+            for (int p = predecessorStart(current); p < predecessorEnd(current); p++) {
+                int previous = predecessor(p);
+                if (inDegree[previous] > 0) {
+                    current = previous;
+                    break;
+                }
+            }
+        }
+
+        int start = visitedAt[current];
+        int[] cycle = new int[length - start];
+        for (int i = 0; i < cycle.length; i++) {
+            // path goes against the relationships, reverse it
+            cycle[i] = taskIds[path[length - 1 - i]];
+        }
+        return cycle;
+    }
+
+    public int size() {
+        return taskIds.length;
+    }
+
+    public int edgeCount() {
+        return edgePredecessors.length;
+    }
+
+    public int indexOf(int taskId) {
+        return Arrays.binarySearch(taskIds, taskId);
+    }
+
+    public int taskId(int index) {
+        return taskIds[index];
+    }
+
+    public int duration(int index) {
+        return durations[index];
+    }
+
+    public int[] durations() {
+        return durations;
+    }
+
+    public int successorStart(int index) {
+        return successorOffsets[index];
+    }
+
+    public int successorEnd(int index) {
+        return successorOffsets[index + 1];
+    }
+
+    public int predecessorStart(int index) {
+        return predecessorOffsets[index];
+    }
+
+    public int predecessorEnd(int index) {
+        return predecessorOffsets[index + 1];
+    }
+
+    /**
+     * Edge index stored at the given position of the successor CSR, use between {@link #successorStart(int)}
+     * and {@link #successorEnd(int)}.
+     */
+    public int successorEdge(int position) {
+        return successorEdges[position];
+    }
+
+    public int predecessorEdge(int position) {
+        return predecessorEdges[position];
+    }
+
+    public int successor(int position) {
+        return edgeSuccessors[successorEdges[position]];
+    }
+
+    public int predecessor(int position) {
+        return edgePredecessors[predecessorEdges[position]];
+    }
+
+    public int edgePredecessor(int edge) {
+        return edgePredecessors[edge];
+    }
+
+    public int edgeSuccessor(int edge) {
+        return edgeSuccessors[edge];
+    }
+
+    public int minimumTimeGap(int edge) {
+        return minimumTimeGaps[edge];
+    }
+
+    public int maximumTimeGap(int edge) {
+        return maximumTimeGaps[edge];
+    }
+}
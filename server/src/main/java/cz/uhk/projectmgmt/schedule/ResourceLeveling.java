@@ -0,0 +1,207 @@
+package cz.uhk.projectmgmt.schedule;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Resource constrained scheduling by the serial schedule generation scheme. Tasks are taken one by one in the order
+ * of a priority rule from the tasks whose predecessors are already scheduled, and each is started at the first day
+ * after its predecessors finish on which its resource has free capacity for the whole duration.
+ * <p>
+ * The priority rule is the latest finish of the critical path method, ties are broken by the task priority, then by
+ * the total float and finally by the task index, so the result is deterministic. The usage of every resource is kept
+ * in a day bucket array, so a task is placed by scanning the days of its own resource only.
+ */
+public final class ResourceLeveling {
+
+    public static final int NO_RESOURCE = -1;
+
+    private ResourceLeveling() {
+    }
+
+    /**
+     * @param resources  resource index of each task or {@link #NO_RESOURCE}, tasks without a resource are limited by
+     *                   their predecessors only
+     * @param priorities priority of each task, a lower value is scheduled first
+     * @param capacity   number of tasks a resource can work on during one day
+     * @throws GraphCycleException if the relationships contain a cycle
+     */
+    public static LevelingResult level(ProjectGraph graph, int[] resources, int[] priorities, int capacity) {
+        return level(graph, resources, priorities, capacity, new int[0][]);
+    }
+
+    /**
+     * @param unavailableDays days each resource cannot work on, indexed by the resource, may be shorter than the
+     *                        number of resources or contain null
+     * @throws GraphCycleException if the relationships contain a cycle
+     */
+    public static LevelingResult level(ProjectGraph graph, int[] resources, int[] priorities, int capacity, int[][] unavailableDays) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive");
+
+        final int n = graph.size();
+        final CpmResult cpm = CpmCalculator.calculate(graph);
+
+        // sorted by the least significant criterion first, every sort keeps the order of the previous one on ties
+        int[] taskByRank = new int[n];
+        for (int i = 0; i < n; i++) {
+            taskByRank[i] = i;
+        }
+        sortByKey(taskByRank, cpm::totalFloat);
+        sortByKey(taskByRank, i -> priorities[i]);
+        sortByKey(taskByRank, cpm::latestFinish);
+        int[] rank = new int[n];
+        for (int r = 0; r < n; r++) {
+            rank[taskByRank[r]] = r;
+        }
+
+        int resourceCount = 0;
+        for (int resource : resources) {
+            resourceCount = Math.max(resourceCount, resource + 1);
+        }
+        int[][] usage = new int[resourceCount][];
+        for (int resource = 0; resource < Math.min(resourceCount, unavailableDays.length); resource++) {
+            if (unavailableDays[resource] == null)
+                continue;
+            for (int day : unavailableDays[resource]) {
+                usage[resource] = ensureLength(usage[resource], day + 1);
+                usage[resource][day] = capacity;
+            }
+        }
+
+        int[] remainingPredecessors = new int[n];
+        EligibleTasks eligible = new EligibleTasks(n);
+        for (int i = 0; i < n; i++) {
+            remainingPredecessors[i] = graph.predecessorEnd(i) - graph.predecessorStart(i);
+            if (remainingPredecessors[i] == 0)
+                eligible.add(rank[i]);
+        }
+
+        int[] start = new int[n];
+        int[] finish = new int[n];
+        int projectDuration = 0;
+        while (!eligible.isEmpty()) {
+            int current = taskByRank[eligible.poll()];
+            int duration = graph.duration(current);
+
+            int earliest = 0;
+            for (int p = graph.predecessorStart(current); p < graph.predecessorEnd(current); p++) {
+                earliest = Math.max(earliest, finish[graph.predecessor(p)]);
+            }
+
+            int resource = resources[current];
+            if (resource != NO_RESOURCE && duration > 0) {
+                int[] profile = usage[resource];
+                earliest = firstFreeDay(profile, earliest, duration, capacity);
+                profile = ensureLength(profile, earliest + duration);
+                for (int day = earliest; day < earliest + duration; day++) {
+                    profile[day]++;
+                }
+                usage[resource] = profile;
+            }
+
+            start[current] = earliest;
+            finish[current] = earliest + duration;
+            projectDuration = Math.max(projectDuration, finish[current]);
+
+            for (int p = graph.successorStart(current); p < graph.successorEnd(current); p++) {
+                int successor = graph.successor(p);
+                if (--remainingPredecessors[successor] == 0)
+                    eligible.add(rank[successor]);
+            }
+        }
+
+        return new LevelingResult(cpm, start, finish, projectDuration);
+    }
+
+    /**
+     * Sorts the tasks by the key and on ties by their current position, both packed into one long, so the tasks are
+     * sorted as primitives.
+     */
+    private static void sortByKey(int[] tasks, IntUnaryOperator key) {
+        long[] packed = new long[tasks.length];
+        for (int position = 0; position < tasks.length; position++) {
+            packed[position] = (long) key.applyAsInt(tasks[position]) << 32 | position;
+        }
+        Arrays.sort(packed);
+
+        int[] previous = tasks.clone();
+        for (int position = 0; position < tasks.length; position++) {
+            tasks[position] = previous[(int) packed[position]];
+        }
+    }
+
+    /**
+     * Moves the start behind the last fully booked day of the window until the whole window has free capacity, every
+     * day of the profile is therefore looked at only once per task.
+     */
+    private static int firstFreeDay(int[] profile, int from, int duration, int capacity) {
+        if (profile == null)
+            return from;
+
+        int start = from;
+        int day = from;
+        while (day < start + duration && day < profile.length) {
+            if (profile[day] >= capacity)
+                start = day + 1;
+            day++;
+        }
+        return start;
+    }
+
+    private static int[] ensureLength(int[] profile, int length) {
+        if (profile == null)
+            return new int[Math.max(length, 64)];
+        if (profile.length >= length)
+            return profile;
+        return Arrays.copyOf(profile, Math.max(length, profile.length * 2));
+    }
+
+    /**
+     * Binary min-heap of task ranks.
+     */
+    private static final class EligibleTasks {
+
+        private final int[] heap;
+        private int size;
+
+        EligibleTasks(int capacity) {
+            this.heap = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int value) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value)
+                    break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        int poll() {
+            int result = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size)
+                    break;
+                if (child + 1 < size && heap[child + 1] < heap[child])
+                    child++;
+                if (last <= heap[child])
+                    break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return result;
+        }
+    }
+}
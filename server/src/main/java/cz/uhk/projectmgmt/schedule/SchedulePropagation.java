@@ -0,0 +1,58 @@
+package cz.uhk.projectmgmt.schedule;
+
+import java.util.Arrays;
+
+/**
+ * Moves the successors of a changed task forward so that every relationship holds again,
+ * {@code S(j) >= S(i) + d(i) + minGap} as in {@link MpmCalculator}. Tasks are visited in topological order and only
+ * when one of their predecessors moved, so each affected task is shifted at most once and tasks are never moved
+ * backwards.
+ */
+public final class SchedulePropagation {
+
+    private SchedulePropagation() {
+    }
+
+    /**
+     * @param startDays start of each task counted in the unit of the durations, the shifted tasks are updated in place
+     * @return indexes of the shifted tasks in topological order
+     * @throws GraphCycleException if the relationships contain a cycle
+     */
+    public static int[] propagate(ProjectGraph graph, long[] startDays, int changedIndex) {
+        final int n = graph.size();
+        final int[] order = graph.topologicalOrder();
+
+        boolean[] affected = new boolean[n];
+        markSuccessors(graph, affected, changedIndex);
+
+        int[] shifted = new int[n];
+        int shiftedCount = 0;
+        for (int current : order) {
+            if (!affected[current])
+                continue;
+
+            long start = startDays[current];
+            for (int p = graph.predecessorStart(current); p < graph.predecessorEnd(current); p++) {
+                int edge = graph.predecessorEdge(p);
+                int predecessor = graph.edgePredecessor(edge);
+                int minimumTimeGap = graph.minimumTimeGap(edge);
+                start = Math.max(start, startDays[predecessor] + graph.duration(predecessor)
+                        + (minimumTimeGap == ProjectGraph.NO_TIME_GAP ? 0 : minimumTimeGap));
+            }
+
+            if (start > startDays[current]) {
+                startDays[current] = start;
+                shifted[shiftedCount++] = current;
+                markSuccessors(graph, affected, current);
+            }
+        }
+
+        return Arrays.copyOf(shifted, shiftedCount);
+    }
+
+    private static void markSuccessors(ProjectGraph graph, boolean[] affected, int index) {
+        for (int p = graph.successorStart(index); p < graph.successorEnd(index); p++) {
+            affected[graph.successor(p)] = true;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package cz.uhk.projectmgmt.schedule;
+
+import cz.uhk.projectmgmt.model.Project;
+import cz.uhk.projectmgmt.model.ProjectDayOff;
+
+import java.time.DayOfWeek;
+import java.util.Collection;
+
+/**
+ * Working days of a project as prefix sums over a horizon of epoch days, so a date converts to its working day index
+ * and back by a single array read. Non-working days are the days outside the working week days and the listed days
+ * off. After the horizon only the working week days apply, the conversions stay constant time by counting whole weeks.
+ */
+public final class WorkingCalendar {
+
+    public static final int MONDAY_TO_FRIDAY = 0b0011111;
+
+    private final long firstDay;
+    private final int workingWeekDays;
+    private final int workingDaysPerWeek;
+
+    // workingBefore[i] working days in [firstDay, firstDay + i), workingDayOffsets[k] offset of the k-th working day
+    private final int[] workingBefore;
+    private final int[] workingDayOffsets;
+
+    // working days among the first k days of a week starting at a week day, offset of the k-th working day of such week
+    private final int[] weekWorkingBefore = new int[7 * 8];
+    private final int[] weekWorkingDayOffsets = new int[7 * 7];
+
+    private WorkingCalendar(long firstDay, long lastDay, int workingWeekDays, long[] nonWorkingDays) {
+        if ((workingWeekDays & 0b1111111) == 0)
+            throw new IllegalArgumentException("Calendar has no working week day");
+
+        this.firstDay = firstDay;
+        this.workingWeekDays = workingWeekDays;
+        this.workingDaysPerWeek = Integer.bitCount(workingWeekDays & 0b1111111);
+
+        for (long day : nonWorkingDays) {
+            lastDay = Math.max(lastDay, day);
+        }
+        final int length = Math.toIntExact(lastDay - firstDay + 1);
+
+        boolean[] dayOff = new boolean[length];
+        for (long day : nonWorkingDays) {
+            if (day >= firstDay)
+                dayOff[(int) (day - firstDay)] = true;
+        }
+
+        this.workingBefore = new int[length + 1];
+        for (int i = 0; i < length; i++) {
+            workingBefore[i + 1] = workingBefore[i] + (!dayOff[i] && isWorkingWeekDay(weekDay(firstDay + i)) ? 1 : 0);
+        }
+
+        this.workingDayOffsets = new int[workingBefore[length]];
+        for (int i = 0; i < length; i++) {
+            if (workingBefore[i + 1] > workingBefore[i])
+                workingDayOffsets[workingBefore[i]] = i;
+        }
+
+        for (int start = 0; start < 7; start++) {
+            int count = 0;
+            for (int k = 0; k < 7; k++) {
+                weekWorkingBefore[start * 8 + k] = count;
+                if (isWorkingWeekDay((start + k) % 7))
+                    weekWorkingDayOffsets[start * 7 + count++] = k;
+            }
+            weekWorkingBefore[start * 8 + 7] = count;
+        }
+    }
+
+    /**
+     * @param firstDay        first epoch day of the horizon, days before it cannot be converted
+     * @param lastDay         last epoch day of the horizon, it is extended to the last day off
+     * @param workingWeekDays bit mask of the working week days, bit 0 is Monday
+     * @param nonWorkingDays  epoch days off, such as holidays
+     */
+    public static WorkingCalendar of(long firstDay, long lastDay, int workingWeekDays, long[] nonWorkingDays) {
+        return new WorkingCalendar(firstDay, Math.max(firstDay, lastDay), workingWeekDays, nonWorkingDays);
+    }
+
+    /**
+     * Calendar of the project from the first day, holidays of the whole project are non-working days. Days off of
+     * single users are not, they only make the user unavailable.
+     */
+    public static WorkingCalendar ofProject(long firstDay, Project project, Collection<ProjectDayOff> daysOff) {
+        return of(
+                firstDay,
+                firstDay,
+                project.getWorkingWeekDays(),
+                daysOff.stream().filter(dayOff -> dayOff.getUserId() == null).mapToLong(dayOff -> dayOff.getDay().toEpochDay()).toArray()
+        );
+    }
+
+    public static int weekDaysMask(Collection<DayOfWeek> weekDays) {
+        int mask = 0;
+        for (DayOfWeek weekDay : weekDays) {
+            mask |= 1 << (weekDay.getValue() - 1);
+        }
+        return mask;
+    }
+
+    public long getFirstDay() {
+        return firstDay;
+    }
+
+    public boolean isWorkingDay(long epochDay) {
+        long offset = offset(epochDay);
+        if (offset < workingBefore.length - 1)
+            return workingBefore[(int) offset + 1] > workingBefore[(int) offset];
+        return isWorkingWeekDay(weekDay(epochDay));
+    }
+
+    /**
+     * @return number of working days from the first day of the calendar before the day, for a working day its index
+     */
+    public int workingDayIndex(long epochDay) {
+        long offset = offset(epochDay);
+        final int length = workingBefore.length - 1;
+        if (offset <= length)
+            return workingBefore[(int) offset];
+
+        long afterHorizon = offset - length;
+        return Math.toIntExact(workingBefore[length]
+                + afterHorizon / 7 * workingDaysPerWeek
+                + weekWorkingBefore[weekDay(firstDay + length) * 8 + (int) (afterHorizon % 7)]);
+    }
+
+    /**
+     * @return epoch day of the working day with the given index
+     */
+    public long epochDay(int workingDayIndex) {
+        if (workingDayIndex < 0)
+            throw new IllegalArgumentException("Negative working day index " + workingDayIndex);
+        if (workingDayIndex < workingDayOffsets.length)
+            return firstDay + workingDayOffsets[workingDayIndex];
+
+        final long end = firstDay + workingBefore.length - 1;
+        int afterHorizon = workingDayIndex - workingDayOffsets.length;
+        return end + (long) (afterHorizon / workingDaysPerWeek) * 7
+                + weekWorkingDayOffsets[weekDay(end) * 7 + afterHorizon % workingDaysPerWeek];
+    }
+
+    /**
+     * @return number of working days from the start to the end day, both included
+     */
+    public int workingDays(long startDay, long endDay) {
+        return workingDayIndex(endDay + 1) - workingDayIndex(startDay);
+    }
+
+    /**
+     * @return last day of a work of the given working days started on the day, or on the next working day
+     */
+    public long endDay(long startDay, int workingDays) {
+        return epochDay(workingDayIndex(startDay) + Math.max(workingDays, 1) - 1);
+    }
+
+    private long offset(long epochDay) {
+        if (epochDay < firstDay)
+            throw new IllegalArgumentException("Day %d is before the calendar start %d".formatted(epochDay, firstDay));
+        return epochDay - firstDay;
+    }
+
+    private boolean isWorkingWeekDay(int weekDay) {
+        return (workingWeekDays & (1 << weekDay)) != 0;
+    }
+
+    /**
+     * @return week day of the epoch day, 0 is Monday, epoch day 0 was a Thursday
+     */
+    private static int weekDay(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+}
@@ -2,6 +2,7 @@ package cz.uhk.projectmgmt.security;
 
 import cz.uhk.projectmgmt.security.jwt.JwtTokenFilter;
 import cz.uhk.projectmgmt.repository.UserRepository;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -88,6 +89,9 @@ public class ApplicationSecurityConfig {
                         sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authRequest ->
                         authRequest
+                                // completion of notification streams, the request was authorized on its first dispatch
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                                .permitAll()
                                 .requestMatchers("/auth/register", "/auth/login", "/auth/refresh-token")
                                 .permitAll()
                                 .requestMatchers(SWAGGER_WHITELIST)
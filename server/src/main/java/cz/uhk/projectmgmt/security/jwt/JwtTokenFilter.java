@@ -2,6 +2,7 @@ package cz.uhk.projectmgmt.security.jwt;
 
 import cz.uhk.projectmgmt.repository.UserRepository;
 import cz.uhk.projectmgmt.model.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtTokenFilter extends OncePerRequestFilter {
@@ -40,15 +42,22 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 
         String token = authHeader.replace("Bearer", "").trim();
 
-        if (!jwtUtils.validJwtToken(token)) {
+        Optional<Claims> claimsOpt = jwtUtils.parseToken(token);
+        if (!claimsOpt.isPresent()) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        User currentUser = userRepository.
-                findUserByUsername(jwtUtils.parseUsernameFromToken(token))
+        // tokens issued before the user claims were added still need the user lookup
+        User currentUser = jwtUtils.parsePrincipal(claimsOpt.get())
+                .or(() -> userRepository.findUserByUsername(claimsOpt.get().getSubject()))
                 .orElseThrow(() -> new UsernameNotFoundException(""));
 
+        if (!currentUser.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         UsernamePasswordAuthenticationToken
                 authentication = new UsernamePasswordAuthenticationToken(currentUser, null, currentUser.getAuthorities());
 
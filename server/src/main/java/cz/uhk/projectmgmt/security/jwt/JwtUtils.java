@@ -2,26 +2,45 @@ package cz.uhk.projectmgmt.security.jwt;
 
 import cz.uhk.projectmgmt.model.RefreshToken;
 import cz.uhk.projectmgmt.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtUtils {
 
-    @Value("${app.jwt.secret}")
-    private String secretJwtKey;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ENABLED_CLAIM = "enabled";
+    public static final String FIRST_NAME_CLAIM = "given_name";
+    public static final String LAST_NAME_CLAIM = "family_name";
 
-    @Value("${app.jwt.expiration}")
-    private long tokenExpiration;
+    private static final SignatureAlgorithm SIGNATURE_ALGORITHM = SignatureAlgorithm.HS512;
 
-    @Value("${app.jwt.refresh-expiration}")
-    private long refreshTokenExpiration;
+    // the secret is Base64 encoded, same as when passed to jjwt as a string
+    private final Key signingKey;
+
+    private final long tokenExpiration;
+
+    private final long refreshTokenExpiration;
+
+    public JwtUtils(@Value("${app.jwt.secret}") String secretJwtKey,
+                    @Value("${app.jwt.expiration}") long tokenExpiration,
+                    @Value("${app.jwt.refresh-expiration}") long refreshTokenExpiration) {
+        this.signingKey = new SecretKeySpec(TextCodec.BASE64.decode(secretJwtKey), SIGNATURE_ALGORITHM.getJcaName());
+        this.tokenExpiration = tokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+    }
 
     public String generateToken(User user) {
         return generateJwtToken(user, new Date(System.currentTimeMillis() + tokenExpiration));
@@ -43,25 +62,47 @@ public class JwtUtils {
         return Jwts
                 .builder()
                 .setSubject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ENABLED_CLAIM, user.isEnabled())
+                .claim(FIRST_NAME_CLAIM, user.getFirstName())
+                .claim(LAST_NAME_CLAIM, user.getLastName())
                 .setIssuedAt(new Date())
                 .setExpiration(expiration)
-                .signWith(SignatureAlgorithm.HS512, secretJwtKey)
+                .signWith(SIGNATURE_ALGORITHM, signingKey)
                 .compact();
     }
 
-    public boolean validJwtToken(String token) {
+    /**
+     * Verifies the signature and expiration of the token and returns its claims.
+     */
+    public Optional<Claims> parseToken(String token) {
         try {
-            Jwts.parser().setSigningKey(secretJwtKey).parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return Optional.of(Jwts.parser().setSigningKey(signingKey).parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
 
-    public String parseUsernameFromToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(secretJwtKey)
-                .parseClaimsJws(token)
-                .getBody().getSubject();
+    /**
+     * Builds the principal from the claims without reading the user, tokens issued without the user claims
+     * return empty.
+     */
+    public Optional<User> parsePrincipal(Claims claims) {
+        Integer userId = claims.get(USER_ID_CLAIM, Integer.class);
+        Boolean enabled = claims.get(ENABLED_CLAIM, Boolean.class);
+        if (userId == null || enabled == null)
+            return Optional.empty();
+
+        User user = new User(
+                claims.getSubject(),
+                claims.get(FIRST_NAME_CLAIM, String.class),
+                claims.get(LAST_NAME_CLAIM, String.class),
+                null,
+                null,
+                null
+        );
+        user.setId(userId);
+        user.setEnable(enabled);
+        return Optional.of(user);
     }
 }
@@ -1,5 +1,8 @@
 package cz.uhk.projectmgmt.service;
 
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
 import java.util.Random;
 
 public class CommonUtils {
@@ -8,4 +11,21 @@ public class CommonUtils {
         return values[new Random().nextInt(values.length)];
     }
 
+    /**
+     * Runs the action after the surrounding transaction commits or right away outside a transaction.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
 }
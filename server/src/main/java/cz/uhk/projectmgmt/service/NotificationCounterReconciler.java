@@ -0,0 +1,38 @@
+package cz.uhk.projectmgmt.service;
+
+import cz.uhk.projectmgmt.repository.NotificationCounterRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically recounts unread notifications and repairs drifted counters. Runs once on startup as well, which also
+ * creates the counters of users that existed before the counters were introduced.
+ */
+@Component
+public class NotificationCounterReconciler {
+
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final int batchSize;
+
+    public NotificationCounterReconciler(NotificationCounterRepository notificationCounterRepository,
+                                         @Value("${app.notifications.counter-reconcile-batch-size}") int batchSize) {
+        this.notificationCounterRepository = notificationCounterRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.counter-reconcile-interval}")
+    public void reconcile() {
+        notificationCounterRepository.createMissingCounters();
+
+        Integer afterUserId = 0;
+        List<Integer> userIds;
+        do {
+            userIds = notificationCounterRepository.reconcileUnreadCounts(afterUserId, batchSize);
+            if (!userIds.isEmpty())
+                afterUserId = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == batchSize);
+    }
+}
@@ -0,0 +1,87 @@
+package cz.uhk.projectmgmt.service;
+
+import cz.uhk.projectmgmt.dto.NotificationDto;
+import cz.uhk.projectmgmt.enums.NOTIFICATION_EVENT_TYPE;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process registry of notification streams per user. The streams are asynchronous servlet responses, an idle
+ * subscriber holds only its connection and no thread.
+ */
+@Component
+public class NotificationEventRegistry {
+
+    private final Map<Integer, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    private final long streamTimeout;
+
+    public NotificationEventRegistry(@Value("${app.notifications.stream-timeout}") long streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+
+    public SseEmitter subscribe(Integer userId) {
+        SseEmitter emitter = new SseEmitter(streamTimeout);
+        // added inside compute, so a concurrent unsubscribe cannot remove the set before the emitter is in it
+        subscribers.compute(userId, (id, emitters) -> {
+            Set<SseEmitter> userEmitters = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            userEmitters.add(emitter);
+            return userEmitters;
+        });
+
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(() -> unsubscribe(userId, emitter));
+        emitter.onError(e -> unsubscribe(userId, emitter));
+
+        return emitter;
+    }
+
+    public void publish(Integer userId, NOTIFICATION_EVENT_TYPE type, NotificationDto notification) {
+        Set<SseEmitter> emitters = subscribers.get(userId);
+        if (emitters == null)
+            return;
+
+        for (SseEmitter emitter : emitters) {
+            send(userId, emitter, SseEmitter.event().name(type.name()).data(notification));
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Keeps idle streams open through proxies and drops the ones whose client is gone.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.heartbeat-interval}")
+    public void sendHeartbeat() {
+        subscribers.forEach((userId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(userId, emitter, SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    private void send(Integer userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(Integer userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
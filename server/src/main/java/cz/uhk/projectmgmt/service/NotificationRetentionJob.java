@@ -0,0 +1,38 @@
+package cz.uhk.projectmgmt.service;
+
+import cz.uhk.projectmgmt.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves old read or resolved notifications to the archive. Every batch runs in its own transaction, so the job never
+ * holds locks on more than one batch of rows.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private final NotificationRepository notificationRepository;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public NotificationRetentionJob(NotificationRepository notificationRepository,
+                                    @Value("${app.notifications.retention-days}") int retentionDays,
+                                    @Value("${app.notifications.retention-batch-size}") int batchSize) {
+        this.notificationRepository = notificationRepository;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.notifications.retention-cron}")
+    public void archiveOldNotifications() {
+        LocalDateTime threshold = LocalDateTime.now().minusDays(retentionDays);
+
+        int archived;
+        do {
+            archived = notificationRepository.archiveNotifications(threshold, batchSize);
+        } while (archived == batchSize);
+    }
+}
@@ -1,6 +1,7 @@
 package cz.uhk.projectmgmt.service;
 
 import cz.uhk.projectmgmt.dto.NotificationDto;
+import cz.uhk.projectmgmt.enums.NOTIFICATION_EVENT_TYPE;
 import cz.uhk.projectmgmt.enums.NOTIFICATION_TYPE;
 import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
 import cz.uhk.projectmgmt.exception.BusinessValidationException;
@@ -9,10 +10,13 @@ import cz.uhk.projectmgmt.exception.NoPermissionException;
 import cz.uhk.projectmgmt.model.Notification;
 import cz.uhk.projectmgmt.model.ProjectMember;
 import cz.uhk.projectmgmt.model.User;
+import cz.uhk.projectmgmt.repository.NotificationCounterRepository;
 import cz.uhk.projectmgmt.repository.NotificationRepository;
 import cz.uhk.projectmgmt.repository.ProjectMemberRepository;
+import cz.uhk.projectmgmt.repository.ProjectRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -23,20 +27,41 @@ import java.util.stream.Collectors;
 @Service
 public class NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
     private final ProjectMemberRepository projectMemberRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectRoleCache projectRoleCache;
+    private final NotificationEventRegistry notificationEventRegistry;
 
     public NotificationService(NotificationRepository notificationRepository,
-                               ProjectMemberRepository projectMemberRepository) {
+                               NotificationCounterRepository notificationCounterRepository,
+                               ProjectMemberRepository projectMemberRepository,
+                               ProjectRepository projectRepository,
+                               ProjectRoleCache projectRoleCache,
+                               NotificationEventRegistry notificationEventRegistry) {
         this.notificationRepository = notificationRepository;
+        this.notificationCounterRepository = notificationCounterRepository;
         this.projectMemberRepository = projectMemberRepository;
+        this.projectRepository = projectRepository;
+        this.projectRoleCache = projectRoleCache;
+        this.notificationEventRegistry = notificationEventRegistry;
+    }
+
+    public SseEmitter subscribeToNotifications(Integer userId, User userContext) {
+        if (!Objects.equals(userId, userContext.getId()))
+            throw new NoPermissionException(Notification.class, userContext.getUsername());
+
+        return notificationEventRegistry.subscribe(userId);
     }
 
-    public List<NotificationDto> readUserNotifications(Integer userId, User userContext) {
+    public List<NotificationDto> readUserNotifications(Integer userId, Integer cursor, int limit, User userContext) {
         if (userId != userContext.getId())
             throw new NoPermissionException(Notification.class, userContext.getUsername());
 
-        return notificationRepository.readUserNotifications(userId)
+        return notificationRepository.readUserNotifications(userId, cursor, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)))
                 .stream()
                 .map(Notification::mapEntityToDTO)
                 .collect(Collectors.toList());
@@ -46,7 +71,7 @@ public class NotificationService {
         if (userId != userContext.getId())
             throw new NoPermissionException(Notification.class, userContext.getUsername());
 
-        return notificationRepository.readUnreadNotificationsCount(userId);
+        return notificationCounterRepository.readUnreadCount(userId);
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -60,12 +85,27 @@ public class NotificationService {
         notification.setUpdatedBy(userContext.getUsername());
 
         notificationRepository.merge(notification);
+        notificationCounterRepository.adjustUnreadCount(notification.getUserId(), -1);
+
+        publishEvent(notification, NOTIFICATION_EVENT_TYPE.READ);
     }
 
     public Notification createAndSaveNotification(Integer userId, NOTIFICATION_TYPE type, String content, User userContext) {
         Notification notification = new Notification(userContext.getUsername(), userId, true, type, content);
 
-        return notificationRepository.persist(notification);
+        notificationRepository.persist(notification);
+        notificationCounterRepository.adjustUnreadCount(userId, 1);
+
+        publishEvent(notification, NOTIFICATION_EVENT_TYPE.CREATED);
+
+        return notification;
+    }
+
+    public void removeNotification(Notification notification) {
+        notificationRepository.remove(notification);
+
+        if (notification.isUnread())
+            notificationCounterRepository.adjustUnreadCount(notification.getUserId(), -1);
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -85,17 +125,26 @@ public class NotificationService {
                 if (projectMember.getStatus() != PROJECT_MEMBER_STATUS.WAITING_FOR_CONFIRMATION)
                     throw new BusinessValidationException("project.member.invitation.invalid.status", projectMember.getStatus());
 
+                projectMember.setChangeVersion(projectRepository.incrementContentVersion(projectMember.getProject().getId()));
                 projectMember.setStatus(confirmed ? PROJECT_MEMBER_STATUS.ACTIVE : PROJECT_MEMBER_STATUS.CONFIRMATION_REJECTED);
 
                 projectMemberRepository.merge(projectMember);
+                projectRoleCache.evict(projectMember.getProject().getId(), projectMember.getUser().getId());
 
                 notification.setResolved(true);
                 notification.setUpdatedBy(userContext.getUsername());
                 notificationRepository.merge(notification);
+
+                publishEvent(notification, NOTIFICATION_EVENT_TYPE.RESOLVED);
             }
         }
     }
 
+    private void publishEvent(Notification notification, NOTIFICATION_EVENT_TYPE type) {
+        NotificationDto notificationDto = notification.mapEntityToDTO();
+        CommonUtils.afterCommit(() -> notificationEventRegistry.publish(notification.getUserId(), type, notificationDto));
+    }
+
     private Notification checkUserAccessToNotification(Integer notificationId, User userContext) {
         Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
         if (!notificationOpt.isPresent())
@@ -3,6 +3,7 @@ package cz.uhk.projectmgmt.service;
 import cz.uhk.projectmgmt.dto.CreateProjectMemberDto;
 import cz.uhk.projectmgmt.dto.ProjectMemberDto;
 import cz.uhk.projectmgmt.enums.NOTIFICATION_TYPE;
+import cz.uhk.projectmgmt.enums.PROJECT_ENTITY_TYPE;
 import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
 import cz.uhk.projectmgmt.enums.PROJECT_ROLE;
 import cz.uhk.projectmgmt.enums.RIGHT;
@@ -12,6 +13,7 @@ import cz.uhk.projectmgmt.exception.NoPermissionException;
 import cz.uhk.projectmgmt.model.Notification;
 import cz.uhk.projectmgmt.model.Project;
 import cz.uhk.projectmgmt.model.ProjectMember;
+import cz.uhk.projectmgmt.model.ProjectTombstone;
 import cz.uhk.projectmgmt.model.User;
 import cz.uhk.projectmgmt.repository.ProjectMemberRepository;
 import cz.uhk.projectmgmt.repository.ProjectRepository;
@@ -38,19 +40,22 @@ public class ProjectMemberService {
     private final ProjectRepository projectRepository;
 
     private final MessageSource messageSource;
+    private final ProjectRoleCache projectRoleCache;
 
     public ProjectMemberService(ProjectService projectService,
                                 NotificationService notificationService,
                                 ProjectMemberRepository projectMemberRepository,
                                 UserRepository userRepository,
                                 ProjectRepository projectRepository,
-                                MessageSource messageSource) {
+                                MessageSource messageSource,
+                                ProjectRoleCache projectRoleCache) {
         this.projectService = projectService;
         this.notificationService = notificationService;
         this.projectMemberRepository = projectMemberRepository;
         this.userRepository = userRepository;
         this.projectRepository = projectRepository;
         this.messageSource = messageSource;
+        this.projectRoleCache = projectRoleCache;
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -88,6 +93,8 @@ public class ProjectMemberService {
                 notification
         );
 
+        projectMember.setChangeVersion(projectRepository.incrementContentVersion(projectId));
+
         projectMemberRepository.persist(projectMember);
 
         return projectMember.mapEntityToDTO();
@@ -105,6 +112,7 @@ public class ProjectMemberService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public void changeProjectMemberRole(Integer projectId, Integer userId, PROJECT_ROLE newRole, User userContext) {
         Project project = projectService.readProject(projectId);
         projectService.checkUserRightsOnProject(project, userContext, RIGHT.WRITE);
@@ -119,10 +127,13 @@ public class ProjectMemberService {
         if (projectMember.getRole() == newRole)
             return;
 
+        projectMember.setChangeVersion(projectRepository.incrementContentVersion(projectId));
         projectMember.setRole(newRole);
         projectMember.setUpdatedBy(userContext.getUsername());
 
         projectMemberRepository.merge(projectMember);
+
+        projectRoleCache.evict(projectId, userId);
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -138,9 +149,14 @@ public class ProjectMemberService {
 
         Notification notification = projectMember.getNotification();
         if (notification != null && !notification.isResolved())
-            projectMemberRepository.remove(notification);
+            notificationService.removeNotification(notification);
 
         projectMemberRepository.remove(projectMember);
+
+        long version = projectRepository.incrementContentVersion(projectId);
+        projectRepository.persist(new ProjectTombstone(projectId, PROJECT_ENTITY_TYPE.PROJECT_MEMBER, userId, version));
+
+        projectRoleCache.evict(projectId, userId);
     }
 
     public PROJECT_ROLE readUserRoleInProject(Integer userId, Integer projectId, User userContext) {
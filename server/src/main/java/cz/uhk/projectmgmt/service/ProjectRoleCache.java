@@ -0,0 +1,72 @@
+package cz.uhk.projectmgmt.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
+import cz.uhk.projectmgmt.enums.PROJECT_ROLE;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of project memberships used by the authorization checks. Entries expire after a fixed time,
+ * changes of a membership evict its entry after the transaction commits.
+ * Hits and misses are published as the {@code cache.gets} metric of the {@code projectRoles} cache.
+ */
+@Component
+public class ProjectRoleCache implements MeterBinder {
+
+    public record ProjectMemberRole(PROJECT_ROLE role, PROJECT_MEMBER_STATUS status) {
+    }
+
+    private final Cache<Long, ProjectMemberRole> cache;
+
+    public ProjectRoleCache(@Value("${app.cache.project-roles.maximum-size}") long maximumSize,
+                            @Value("${app.cache.project-roles.expire-after-write}") long expireAfterWriteSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param loader reads the membership when it is not cached, a missing membership is not cached
+     */
+    public Optional<ProjectMemberRole> get(Integer projectId, Integer userId, Supplier<Optional<ProjectMemberRole>> loader) {
+        Long key = key(projectId, userId);
+        ProjectMemberRole cached = cache.getIfPresent(key);
+        if (cached != null)
+            return Optional.of(cached);
+
+        Optional<ProjectMemberRole> loaded = loader.get();
+        loaded.ifPresent(role -> cache.put(key, role));
+        return loaded;
+    }
+
+    public void evict(Integer projectId, Integer userId) {
+        Long key = key(projectId, userId);
+        cache.invalidate(key);
+        CommonUtils.afterCommit(() -> cache.invalidate(key));
+    }
+
+    public void evictProject(Integer projectId) {
+        cache.asMap().keySet().removeIf(key -> (int) (key >> 32) == projectId);
+        CommonUtils.afterCommit(() -> cache.asMap().keySet().removeIf(key -> (int) (key >> 32) == projectId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "projectRoles");
+    }
+
+    private static Long key(Integer projectId, Integer userId) {
+        return (long) projectId << 32 | (userId & 0xFFFFFFFFL);
+    }
+}
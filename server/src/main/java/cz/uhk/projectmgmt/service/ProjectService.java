@@ -1,7 +1,11 @@
 package cz.uhk.projectmgmt.service;
 
 import cz.uhk.projectmgmt.dto.CreateProjectDto;
+import cz.uhk.projectmgmt.dto.ProjectCalendarDto;
+import cz.uhk.projectmgmt.dto.ProjectChangesDto;
 import cz.uhk.projectmgmt.dto.ProjectDto;
+import cz.uhk.projectmgmt.dto.ProjectMemberDto;
+import cz.uhk.projectmgmt.dto.UpdateProjectCalendarDto;
 import cz.uhk.projectmgmt.enums.*;
 import cz.uhk.projectmgmt.exception.BusinessValidationException;
 import cz.uhk.projectmgmt.exception.DataNotFoundException;
@@ -9,13 +13,16 @@ import cz.uhk.projectmgmt.exception.NoPermissionException;
 import cz.uhk.projectmgmt.model.*;
 import cz.uhk.projectmgmt.repository.ProjectMemberRepository;
 import cz.uhk.projectmgmt.repository.ProjectRepository;
+import cz.uhk.projectmgmt.schedule.WorkingCalendar;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,13 +31,23 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final ProjectMemberRepository projectMemberRepository;
     private final MessageSource messageSource;
+    private final ScheduleCache scheduleCache;
+    private final ProjectRoleCache projectRoleCache;
+    private final ProjectSnapshotCache projectSnapshotCache;
+    private final Set<String> demoTemplateLanguages = ConcurrentHashMap.newKeySet();
 
     public ProjectService(ProjectRepository projectRepository,
                           ProjectMemberRepository projectMemberRepository,
-                          MessageSource messageSource) {
+                          MessageSource messageSource,
+                          ScheduleCache scheduleCache,
+                          ProjectRoleCache projectRoleCache,
+                          ProjectSnapshotCache projectSnapshotCache) {
         this.projectRepository = projectRepository;
         this.projectMemberRepository = projectMemberRepository;
         this.messageSource = messageSource;
+        this.scheduleCache = scheduleCache;
+        this.projectRoleCache = projectRoleCache;
+        this.projectSnapshotCache = projectSnapshotCache;
     }
 
     public ProjectDto createNewProject(CreateProjectDto createProjectDto, User userCreated) {
@@ -44,6 +61,7 @@ public class ProjectService {
                 PROJECT_STATUS.NEW,
                 createProjectDto.description()
         );
+        project.setAutoSchedule(Boolean.TRUE.equals(createProjectDto.autoSchedule()));
 
         project.setProjectMembers(
                 Collections.singleton(
@@ -65,7 +83,7 @@ public class ProjectService {
 
     @Transactional(rollbackFor = Exception.class)
     public ProjectDto readProjectById(Integer projectId, User userContext) throws DataNotFoundException, NoPermissionException {
-        Optional<Project> optionalProject = projectRepository.findById(projectId);
+        Optional<Project> optionalProject = projectRepository.readProjectWithTasks(projectId);
 
         if (!optionalProject.isPresent())
             throw new DataNotFoundException(Project.class, Map.of("id", Objects.toString(projectId)));
@@ -77,6 +95,80 @@ public class ProjectService {
         return project.mapEntityToDTO(true);
     }
 
+    /**
+     * Reads the serialized project for its current content version, the project is loaded only when no snapshot of
+     * the version is cached.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ProjectSnapshotCache.ProjectSnapshot readProjectSnapshot(Integer projectId, User userContext) throws DataNotFoundException, NoPermissionException {
+        Optional<Long> versionOpt = projectRepository.readContentVersion(projectId);
+
+        if (!versionOpt.isPresent())
+            throw new DataNotFoundException(Project.class, Map.of("id", Objects.toString(projectId)));
+
+        checkUserAccessToProject(projectId, userContext);
+
+        return projectSnapshotCache.get(
+                projectId,
+                versionOpt.get(),
+                () -> projectRepository.readProjectWithTasks(projectId)
+                        .orElseThrow(() -> new DataNotFoundException(Project.class, Map.of("id", Objects.toString(projectId))))
+                        .mapEntityToDTO(true)
+        );
+    }
+
+    /**
+     * Reads the tasks, relationships and members changed after the given content version and the deletions since
+     * then. The version is read first, so every change up to it is included. Tasks and relationships are read after
+     * the deletions, so a deleted row is never returned as changed too.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ProjectChangesDto readProjectChanges(Integer projectId, long sinceVersion, User userContext) throws DataNotFoundException, NoPermissionException {
+        Optional<Project> optionalProject = projectRepository.findById(projectId);
+
+        if (!optionalProject.isPresent())
+            throw new DataNotFoundException(Project.class, Map.of("id", Objects.toString(projectId)));
+
+        Project project = optionalProject.get();
+
+        checkUserRightsOnProject(project, userContext, RIGHT.READ);
+
+        List<ProjectMemberDto> members = projectRepository.readChangedProjectMembers(projectId, sinceVersion)
+                .stream()
+                .map(ProjectMember::mapEntityToDTO)
+                .collect(Collectors.toList());
+        Set<Integer> memberUserIds = members.stream().map(ProjectMemberDto::getUserId).collect(Collectors.toSet());
+
+        Map<PROJECT_ENTITY_TYPE, List<Integer>> deletedIds = new EnumMap<>(PROJECT_ENTITY_TYPE.class);
+        for (PROJECT_ENTITY_TYPE entityType : PROJECT_ENTITY_TYPE.values()) {
+            deletedIds.put(entityType, new ArrayList<>());
+        }
+        for (ProjectTombstone tombstone : projectRepository.readTombstones(projectId, sinceVersion)) {
+            // a user added again after the removal is returned as a changed member
+            if (tombstone.getEntityType() == PROJECT_ENTITY_TYPE.PROJECT_MEMBER && memberUserIds.contains(tombstone.getEntityId()))
+                continue;
+
+            deletedIds.get(tombstone.getEntityType()).add(tombstone.getEntityId());
+        }
+
+        return new ProjectChangesDto(
+                project.getContentVersion(),
+                project.mapEntityToDTO(false),
+                projectRepository.readChangedTasks(projectId, sinceVersion)
+                        .stream()
+                        .map(Task::mapEntityToDTO)
+                        .collect(Collectors.toList()),
+                projectRepository.readChangedTaskRelationships(projectId, sinceVersion)
+                        .stream()
+                        .map(TaskRelationship::mapEntityToDTO)
+                        .collect(Collectors.toList()),
+                members,
+                deletedIds.get(PROJECT_ENTITY_TYPE.TASK),
+                deletedIds.get(PROJECT_ENTITY_TYPE.TASK_RELATIONSHIP),
+                deletedIds.get(PROJECT_ENTITY_TYPE.PROJECT_MEMBER)
+        );
+    }
+
     @Transactional(rollbackFor = Exception.class)
     public void updateProject(Integer projectId, CreateProjectDto createProjectDto, User userContext) {
         Project project = readProject(projectId);
@@ -87,9 +179,12 @@ public class ProjectService {
         project.setDescription(createProjectDto.description());
         project.setStatus(createProjectDto.status());
         project.setType(createProjectDto.type());
+        if (createProjectDto.autoSchedule() != null)
+            project.setAutoSchedule(createProjectDto.autoSchedule());
         project.setUpdatedBy(userContext.getUsername());
 
         projectRepository.merge(project);
+        projectRepository.incrementContentVersion(projectId);
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -99,6 +194,63 @@ public class ProjectService {
         checkUserRightsOnProject(project, userContext, RIGHT.DELETE);
 
         projectRepository.remove(project);
+
+        scheduleCache.evict(projectId);
+        projectRoleCache.evictProject(projectId);
+        projectSnapshotCache.evict(projectId);
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public ProjectCalendarDto readProjectCalendar(Integer projectId, User userContext) {
+        Project project = readProject(projectId);
+
+        checkUserRightsOnProject(project, userContext, RIGHT.READ);
+
+        return mapProjectCalendar(project, projectRepository.readDaysOff(projectId));
+    }
+
+    /**
+     * Replaces the working week days, holidays and days off of the project members.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ProjectCalendarDto updateProjectCalendar(Integer projectId, UpdateProjectCalendarDto updateProjectCalendarDto, User userContext) {
+        Project project = readProject(projectId);
+
+        checkUserRightsOnProject(project, userContext, RIGHT.WRITE);
+
+        Set<Integer> memberUserIds = project.getProjectMembers()
+                .stream()
+                .map(pm -> pm.getUser().getId())
+                .collect(Collectors.toSet());
+
+        List<ProjectDayOff> daysOff = new ArrayList<>();
+        if (updateProjectCalendarDto.holidays() != null) {
+            updateProjectCalendarDto.holidays()
+                    .stream()
+                    .distinct()
+                    .forEach(day -> daysOff.add(new ProjectDayOff(projectId, null, day)));
+        }
+        if (updateProjectCalendarDto.userDaysOff() != null) {
+            for (Map.Entry<Integer, List<LocalDate>> userDaysOff : updateProjectCalendarDto.userDaysOff().entrySet()) {
+                if (!memberUserIds.contains(userDaysOff.getKey()))
+                    throw new BusinessValidationException("project.calendar.user.not.member", userDaysOff.getKey(), project.getName());
+
+                userDaysOff.getValue()
+                        .stream()
+                        .distinct()
+                        .forEach(day -> daysOff.add(new ProjectDayOff(projectId, userDaysOff.getKey(), day)));
+            }
+        }
+
+        project.setWorkingWeekDays(WorkingCalendar.weekDaysMask(updateProjectCalendarDto.workingWeekDays()));
+        project.setUpdatedBy(userContext.getUsername());
+
+        projectRepository.deleteDaysOff(projectId);
+        projectRepository.persistAll(daysOff);
+        // durations of the cached schedule are counted in the former calendar
+        scheduleCache.evict(projectId);
+
+        return mapProjectCalendar(project, daysOff);
     }
 
     public Project readProject(Integer projectId) {
@@ -111,15 +263,24 @@ public class ProjectService {
     }
 
     public PROJECT_ROLE checkUserAccessToProject(Project project, User userContext) {
-        Optional<ProjectMember> projectMemberOpt = projectMemberRepository.readProjectMember(project.getId(), userContext.getId());
-        if (!projectMemberOpt.isPresent())
-            throw new DataNotFoundException(ProjectMember.class, Map.of("projectId", project.getId(), "userId", userContext.getId()));
+        return checkUserAccessToProject(project.getId(), userContext);
+    }
 
-        ProjectMember projectMember = projectMemberOpt.get();
-        if (projectMember.getStatus() != PROJECT_MEMBER_STATUS.ACTIVE)
+    public PROJECT_ROLE checkUserAccessToProject(Integer projectId, User userContext) {
+        Optional<ProjectRoleCache.ProjectMemberRole> projectMemberRoleOpt = projectRoleCache.get(
+                projectId,
+                userContext.getId(),
+                () -> projectMemberRepository.readProjectMember(projectId, userContext.getId())
+                        .map(pm -> new ProjectRoleCache.ProjectMemberRole(pm.getRole(), pm.getStatus()))
+        );
+        if (!projectMemberRoleOpt.isPresent())
+            throw new DataNotFoundException(ProjectMember.class, Map.of("projectId", projectId, "userId", userContext.getId()));
+
+        ProjectRoleCache.ProjectMemberRole projectMemberRole = projectMemberRoleOpt.get();
+        if (projectMemberRole.status() != PROJECT_MEMBER_STATUS.ACTIVE)
             throw new NoPermissionException(Project.class, userContext.getUsername());
 
-        return projectMember.getRole();
+        return projectMemberRole.role();
     }
 
     public void checkUserRightsOnProject(Project project, User userContext, RIGHT right) {
@@ -143,10 +304,7 @@ public class ProjectService {
         if (userId != userContext.getId())
             throw new NoPermissionException(User.class, userContext.getUsername());
 
-        return projectRepository.readAllActiveUserProjects(userId)
-                .stream()
-                .map(project -> project.mapEntityToDTO(false))
-                .collect(Collectors.toList());
+        return projectRepository.readAllActiveUserProjects(userId);
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -174,130 +332,53 @@ public class ProjectService {
 
         projectRepository.persist(project);
 
-        final LocalDate today = LocalDate.now();
-        final Locale locale = LocaleContextHolder.getLocale();
-        final int taskCount = 23;
-        String[] taskNames = new String[taskCount];
-        for (int i = 1; i < taskCount + 1; i++) {
-            taskNames[i - 1] = messageSource.getMessage("task.demo.%d.name".formatted(i), null, locale);
-        }
+        Locale locale = LocaleContextHolder.getLocale();
+        String language = locale.getLanguage();
+        createDemoTemplateNames(language, locale);
 
-        int taskOrder = 0;
-
-        // A
-        Task taskA = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today, 3, project.getId(), 1, 2, 5);
-        // B
-        Task taskB = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(3), 4, project.getId(), 4, 4, 5);
-        // C
-        Task taskC = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(3), 2, project.getId(), 1, 1, 4);
-        // E
-        Task taskE = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(3), 5, project.getId(), 5, 5, 7);
-        // F
-        Task taskF = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(15), 5, project.getId(), 4, 6, 7);
-        // G
-        Task taskG = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(3), 3, project.getId(), 1, 4, 4);
-        // H
-        Task taskH = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(8), 7, project.getId(), 6, 8, 10);
-        // I
-        Task taskI = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(6), 6, project.getId(), 5, 7, 9);
-        // J
-        Task taskJ = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(15), 8, project.getId(), 8, 8, 10);
-        // K
-        Task taskK = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(24), 2, project.getId(), 1, 1, 2);
-        // L
-        Task taskL = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(23), 1, project.getId(), 1, 2, 2);
-        // M
-        Task taskM = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(12), 4, project.getId(), 4, 4, 6);
-        // N
-        Task taskN = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(16), 3, project.getId(), 2, 5, 7);
-        // O
-        Task taskO = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(26), 2, project.getId(), 1, 1, 2);
-        // P
-        Task taskP = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(28), 11, project.getId(), 9, 11, 13);
-        // Q;
-        Task taskQ = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(39), 7, project.getId(), 7, 9, 10);
-        // R
-        Task taskR = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(46), 1, project.getId(), 1, 1, 2);
-        // S
-        Task taskS = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(47), 2, project.getId(), 2, 2, 6);
-        // T
-        Task taskT = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(28), 10, project.getId(), 8, 11, 15);
-        // U
-        Task taskU = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(38), 8, project.getId(), 7, 9, 13);
-        // V
-        Task taskV = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(49), 4, project.getId(), 3, 5, 7);
-        // X
-        Task taskX = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(53), 3, project.getId(), 4, 4, 5);
-        // Z
-        Task taskZ = createAndSaveDemoTask(newUser.getUsername(), taskNames[taskOrder++], today.plusDays(24), 3, project.getId(), 2, 3, 7);
-
-
-        createAndSaveTaskRelationship(taskB.getId(), taskA.getId());
-        createAndSaveTaskRelationship(taskC.getId(), taskA.getId());
-        createAndSaveTaskRelationship(taskE.getId(), taskA.getId());
-        createAndSaveTaskRelationship(taskG.getId(), taskA.getId());
-
-        createAndSaveTaskRelationship(taskJ.getId(), taskB.getId());
-        createAndSaveTaskRelationship(taskJ.getId(), taskH.getId());
-
-        createAndSaveTaskRelationship(taskH.getId(), taskC.getId());
-        createAndSaveTaskRelationship(taskH.getId(), taskE.getId());
-        createAndSaveTaskRelationship(taskH.getId(), taskG.getId());
-
-        createAndSaveTaskRelationship(taskI.getId(), taskG.getId());
-
-        createAndSaveTaskRelationship(taskF.getId(), taskH.getId());
-        createAndSaveTaskRelationship(taskM.getId(), taskI.getId());
-        createAndSaveTaskRelationship(taskL.getId(), taskJ.getId());
-        createAndSaveTaskRelationship(taskK.getId(), taskL.getId());
-        createAndSaveTaskRelationship(taskK.getId(), taskF.getId());
-        createAndSaveTaskRelationship(taskK.getId(), taskN.getId());
-        createAndSaveTaskRelationship(taskN.getId(), taskM.getId());
-
-        createAndSaveTaskRelationship(taskZ.getId(), taskL.getId());
-        createAndSaveTaskRelationship(taskO.getId(), taskK.getId());
-        createAndSaveTaskRelationship(taskP.getId(), taskO.getId());
-        createAndSaveTaskRelationship(taskT.getId(), taskO.getId());
-        createAndSaveTaskRelationship(taskQ.getId(), taskP.getId());
-        createAndSaveTaskRelationship(taskU.getId(), taskT.getId());
-        createAndSaveTaskRelationship(taskS.getId(), taskU.getId());
-        createAndSaveTaskRelationship(taskR.getId(), taskQ.getId());
-        createAndSaveTaskRelationship(taskS.getId(), taskR.getId());
-        createAndSaveTaskRelationship(taskV.getId(), taskS.getId());
-        createAndSaveTaskRelationship(taskV.getId(), taskZ.getId());
-        createAndSaveTaskRelationship(taskX.getId(), taskV.getId());
+        projectRepository.cloneDemoTemplate(language, project.getId(), newUser.getUsername(), LocalDate.now());
     }
 
-    private Task createAndSaveDemoTask(String username, String name, LocalDate startDate, int duration, Integer projectId,
-                                       Integer optimisticEstimation, Integer modalEstimation, Integer pessimisticEstimation) {
-        Task task = new Task(
-                username,
-                name,
-                CommonUtils.getRandomElement(PRIORITY.values()),
-                CommonUtils.getRandomElement(new TASK_STATUS[]{TASK_STATUS.NEW, TASK_STATUS.WAITING, TASK_STATUS.ON_HOLD, TASK_STATUS.IN_PROGRESS}),
-                null,
-                startDate,
-                startDate.plusDays(duration - 1),
-                0,
-                null,
-                projectId
-        );
-
-        task.setOptimisticEstimation(optimisticEstimation);
-        task.setModalEstimation(modalEstimation);
-        task.setPessimisticEstimation(pessimisticEstimation);
+    private ProjectCalendarDto mapProjectCalendar(Project project, List<ProjectDayOff> daysOff) {
+        List<ProjectDayOff> sortedDaysOff = daysOff.stream()
+                .sorted(Comparator.comparing(ProjectDayOff::getDay))
+                .collect(Collectors.toList());
 
-        projectRepository.persist(task);
-        return task;
+        return new ProjectCalendarDto(
+                project.getId(),
+                Arrays.stream(DayOfWeek.values())
+                        .filter(weekDay -> (project.getWorkingWeekDays() & WorkingCalendar.weekDaysMask(List.of(weekDay))) != 0)
+                        .collect(Collectors.toList()),
+                sortedDaysOff.stream()
+                        .filter(dayOff -> dayOff.getUserId() == null)
+                        .map(ProjectDayOff::getDay)
+                        .collect(Collectors.toList()),
+                sortedDaysOff.stream()
+                        .filter(dayOff -> dayOff.getUserId() != null)
+                        .collect(Collectors.groupingBy(
+                                ProjectDayOff::getUserId,
+                                TreeMap::new,
+                                Collectors.mapping(ProjectDayOff::getDay, Collectors.toList())
+                        ))
+        );
     }
 
-    private void createAndSaveTaskRelationship(Integer taskId, Integer relatedTaskId) {
-        TaskRelationship taskRelationship = new TaskRelationship(
-                taskId,
-                relatedTaskId,
-                TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY
-        );
-        projectRepository.persist(taskRelationship);
+    /**
+     * Stores the task names of the demo template in the language of the locale, once per database.
+     */
+    private void createDemoTemplateNames(String language, Locale locale) {
+        if (demoTemplateLanguages.contains(language))
+            return;
+
+        if (!projectRepository.demoTemplateNamesExist(language)) {
+            Map<Integer, String> names = new LinkedHashMap<>();
+            for (Integer ordinal : projectRepository.readDemoTemplateOrdinals()) {
+                names.put(ordinal, messageSource.getMessage("task.demo.%d.name".formatted(ordinal + 1), null, locale));
+            }
+            projectRepository.createDemoTemplateNames(language, names);
+        }
+
+        CommonUtils.afterCommit(() -> demoTemplateLanguages.add(language));
     }
 
 }
@@ -0,0 +1,77 @@
+package cz.uhk.projectmgmt.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import cz.uhk.projectmgmt.dto.ProjectDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Serialized projects with their tasks and members, keyed by the content version of the project. A snapshot is served
+ * only for the version it was built from, so a change of the project makes it unreachable without any eviction.
+ * Hits and misses are published as the {@code cache.gets} metric of the {@code projectSnapshots} cache.
+ */
+@Component
+public class ProjectSnapshotCache implements MeterBinder {
+
+    public record ProjectSnapshot(long version, String eTag, byte[] body) {
+    }
+
+    private final Cache<Integer, ProjectSnapshot> cache;
+    private final ObjectMapper objectMapper;
+
+    public ProjectSnapshotCache(ObjectMapper objectMapper,
+                                @Value("${app.cache.project-snapshots.maximum-weight}") long maximumWeight,
+                                @Value("${app.cache.project-snapshots.expire-after-access}") long expireAfterAccessSeconds) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Integer projectId, ProjectSnapshot snapshot) -> snapshot.body().length)
+                .expireAfterAccess(Duration.ofSeconds(expireAfterAccessSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param loader reads the project when no snapshot of the version is cached, it must not see an older content
+     *               than the version
+     */
+    public ProjectSnapshot get(Integer projectId, long version, Supplier<ProjectDto> loader) {
+        ProjectSnapshot cached = cache.getIfPresent(projectId);
+        if (cached != null && cached.version() == version)
+            return cached;
+
+        ProjectSnapshot snapshot = new ProjectSnapshot(version, eTag(projectId, version), serialize(loader.get()));
+        cache.asMap().merge(projectId, snapshot, (existing, loaded) -> existing.version() >= loaded.version() ? existing : loaded);
+        return snapshot;
+    }
+
+    public void evict(Integer projectId) {
+        CommonUtils.afterCommit(() -> cache.invalidate(projectId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "projectSnapshots");
+    }
+
+    private byte[] serialize(ProjectDto projectDto) {
+        try {
+            return objectMapper.writeValueAsBytes(projectDto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Project " + projectDto.getId() + " cannot be serialized", e);
+        }
+    }
+
+    private static String eTag(Integer projectId, long version) {
+        return "\"" + projectId + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,157 @@
+package cz.uhk.projectmgmt.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import cz.uhk.projectmgmt.model.Task;
+import cz.uhk.projectmgmt.schedule.GraphCycleException;
+import cz.uhk.projectmgmt.schedule.IncrementalSchedule;
+import cz.uhk.projectmgmt.schedule.ProjectGraph;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Critical path schedules of recently read projects, kept up to date by the changes of tasks and relationships.
+ * Changes are applied only after the surrounding transaction commits, a schedule that cannot apply a change is
+ * dropped and built again on the next read, as is a schedule whose working calendar does not reach back to the start of
+ * a changed task. A schedule loaded while a change of its project was committed is not
+ * cached, so a change cannot slip between the load and the caching of a schedule.
+ * <p>
+ * The cache is bounded by the total number of cached tasks and drops schedules not read for a fixed time. Versions are
+ * counted per stripe of projects, a change of another project in the stripe only prevents caching a schedule loaded
+ * meanwhile. Hits and misses are published as the {@code cache.gets} metric of the {@code schedules} cache.
+ */
+@Component
+public class ScheduleCache implements MeterBinder {
+
+    private static final int STRIPES = 64;
+
+    private final Cache<Integer, IncrementalSchedule> schedules;
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+    private final ReentrantLock[] projectLocks = new ReentrantLock[STRIPES];
+
+    public ScheduleCache(@Value("${app.cache.schedules.maximum-weight}") long maximumWeight,
+                         @Value("${app.cache.schedules.expire-after-access}") long expireAfterAccessSeconds) {
+        this.schedules = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Integer projectId, IncrementalSchedule schedule) -> Math.max(schedule.size(), 1))
+                .expireAfterAccess(Duration.ofSeconds(expireAfterAccessSeconds))
+                .recordStats()
+                .build();
+        for (int i = 0; i < projectLocks.length; i++) {
+            projectLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public IncrementalSchedule get(Integer projectId) {
+        return schedules.getIfPresent(projectId);
+    }
+
+    /**
+     * @return version to pass to {@link #putIfAbsent} with a schedule loaded after this call
+     */
+    public long version(Integer projectId) {
+        return versions.get(stripe(projectId));
+    }
+
+    /**
+     * @return the cached schedule or the given one, which is cached only if its project has not changed since
+     * the version was read
+     */
+    public IncrementalSchedule putIfAbsent(Integer projectId, IncrementalSchedule schedule, long version) {
+        IncrementalSchedule cached = schedules.asMap().compute(projectId, (id, existing) -> {
+            if (existing != null)
+                return existing;
+            return version(id) == version ? schedule : null;
+        });
+        return cached != null ? cached : schedule;
+    }
+
+    /**
+     * Serializes the changes of the project graph until the surrounding transaction completes, so a check against the
+     * cached schedule sees every change committed before it.
+     */
+    public void lockProject(Integer projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            throw new IllegalStateException("Project lock requires an active transaction");
+
+        ReentrantLock lock = projectLocks[stripe(projectId)];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    public void evict(Integer projectId) {
+        CommonUtils.afterCommit(() -> {
+            versions.incrementAndGet(stripe(projectId));
+            schedules.invalidate(projectId);
+        });
+    }
+
+    public void taskCreated(Task task, List<Integer> predecessorIds) {
+        long startDay = task.getStartDate().toEpochDay();
+        apply(task.getProjectId(), schedule -> {
+            schedule.addTask(task.getId(), startDay, ProjectGraph.durationOf(task, schedule.getCalendar()));
+            for (Integer predecessorId : predecessorIds) {
+                schedule.addRelationship(predecessorId, task.getId());
+            }
+        });
+    }
+
+    public void taskUpdated(Task task) {
+        long startDay = task.getStartDate().toEpochDay();
+        apply(task.getProjectId(), schedule -> schedule.updateTask(task.getId(), startDay, ProjectGraph.durationOf(task, schedule.getCalendar())));
+    }
+
+    public void taskDeleted(Task task) {
+        apply(task.getProjectId(), schedule -> schedule.removeTask(task.getId()));
+    }
+
+    public void relationshipCreated(Integer projectId, Integer predecessorId, Integer successorId) {
+        apply(projectId, schedule -> schedule.addRelationship(predecessorId, successorId));
+    }
+
+    public void relationshipDeleted(Integer projectId, Integer predecessorId, Integer successorId) {
+        apply(projectId, schedule -> schedule.removeRelationship(predecessorId, successorId));
+    }
+
+    private void apply(Integer projectId, Consumer<IncrementalSchedule> change) {
+        CommonUtils.afterCommit(() -> {
+            versions.incrementAndGet(stripe(projectId));
+            IncrementalSchedule schedule = schedules.getIfPresent(projectId);
+            if (schedule == null)
+                return;
+
+            try {
+                change.accept(schedule);
+                // weighs the schedule again, the change may have added tasks
+                schedules.asMap().replace(projectId, schedule, schedule);
+            } catch (IllegalArgumentException | GraphCycleException e) {
+                schedules.asMap().remove(projectId, schedule);
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, schedules, "schedules");
+    }
+
+    private static int stripe(Integer projectId) {
+        return Math.floorMod(projectId, STRIPES);
+    }
+}
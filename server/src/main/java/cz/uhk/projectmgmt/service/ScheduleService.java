@@ -0,0 +1,412 @@
+package cz.uhk.projectmgmt.service;
+
+import cz.uhk.projectmgmt.dto.*;
+import cz.uhk.projectmgmt.enums.PRIORITY;
+import cz.uhk.projectmgmt.enums.RIGHT;
+import cz.uhk.projectmgmt.enums.TASK_RELATIONSHIP_DIRECTION;
+import cz.uhk.projectmgmt.enums.TASK_RELATIONSHIP_TYPE;
+import cz.uhk.projectmgmt.exception.BusinessValidationException;
+import cz.uhk.projectmgmt.model.Project;
+import cz.uhk.projectmgmt.model.ProjectDayOff;
+import cz.uhk.projectmgmt.model.Task;
+import cz.uhk.projectmgmt.model.TaskRelationship;
+import cz.uhk.projectmgmt.model.User;
+import cz.uhk.projectmgmt.repository.ProjectRepository;
+import cz.uhk.projectmgmt.repository.TaskRepository;
+import cz.uhk.projectmgmt.schedule.*;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class ScheduleService {
+
+    private static final int MAX_SIMULATION_ITERATIONS = 1_000_000;
+    // iterations multiplied by tasks, a simulation samples and schedules every task in every iteration
+    private static final long MAX_SIMULATION_TASK_ITERATIONS = 100_000_000L;
+    private static final int[] SIMULATION_PERCENTILES = {50, 80, 95};
+    static final int TASKS_PER_USER_PER_DAY = 1;
+
+    private final ProjectService projectService;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ScheduleCache scheduleCache;
+    private final SimulationExecutor simulationExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ScheduleService(ProjectService projectService,
+                           TaskRepository taskRepository,
+                           ProjectRepository projectRepository,
+                           ScheduleCache scheduleCache,
+                           SimulationExecutor simulationExecutor,
+                           PlatformTransactionManager transactionManager) {
+        this.projectService = projectService;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.scheduleCache = scheduleCache;
+        this.simulationExecutor = simulationExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // The schedules are not calculated in a transaction. The project is read in a short read-only transaction first,
+    // so a long calculation does not hold a database connection. Durations, offsets and time gaps of all schedules are
+    // counted in working days of the project calendar.
+
+    public CpmScheduleDto calculateCpm(Integer projectId, User userContext) {
+        Project project = projectService.readProject(projectId);
+        projectService.checkUserRightsOnProject(project, userContext, RIGHT.READ);
+
+        IncrementalSchedule incrementalSchedule = readSchedule(projectId);
+        IncrementalSchedule.Snapshot schedule = incrementalSchedule.snapshot();
+        if (schedule.getProjectStartDay() == null)
+            return new CpmScheduleDto(projectId, null, 0, null, new ArrayList<>());
+
+        LocalDate projectStartDate = LocalDate.ofEpochDay(schedule.getProjectStartDay());
+        ScheduleDates dates = new ScheduleDates(incrementalSchedule.getCalendar(), projectStartDate);
+
+        List<CpmActivityDto> activities = new ArrayList<>(schedule.size());
+        for (int i = 0; i < schedule.size(); i++) {
+            activities.add(new CpmActivityDto(
+                    schedule.taskId(i),
+                    schedule.duration(i),
+                    schedule.earliestStart(i),
+                    schedule.earliestFinish(i),
+                    schedule.latestStart(i),
+                    schedule.latestFinish(i),
+                    schedule.totalFloat(i),
+                    schedule.freeFloat(i),
+                    schedule.isCritical(i),
+                    dates.start(schedule.earliestStart(i)),
+                    dates.finish(schedule.earliestStart(i), schedule.earliestFinish(i)),
+                    dates.start(schedule.latestStart(i)),
+                    dates.finish(schedule.latestStart(i), schedule.latestFinish(i))
+            ));
+        }
+
+        return new CpmScheduleDto(projectId, projectStartDate, schedule.getProjectDuration(),
+                dates.finish(0, schedule.getProjectDuration()), activities);
+    }
+
+    public MpmScheduleDto calculateMpm(Integer projectId, User userContext) {
+        ProjectTasks projectTasks = readProjectTasks(projectId, userContext);
+        List<Task> tasks = projectTasks.tasks();
+        LocalDate projectStartDate = projectStartDate(tasks);
+        WorkingCalendar calendar = projectCalendar(projectTasks, projectStartDate);
+        ProjectGraph graph = ProjectGraph.fromTasks(tasks, projectTasks.relationships(), calendar);
+
+        MpmResult result = MpmCalculator.calculate(graph);
+
+        if (!result.isFeasible()) {
+            List<MpmRelationshipDto> conflictRelationships = new ArrayList<>();
+            for (int edge : result.getConflictEdges()) {
+                conflictRelationships.add(new MpmRelationshipDto(
+                        graph.taskId(graph.edgeSuccessor(edge)),
+                        graph.taskId(graph.edgePredecessor(edge)),
+                        timeGapOrNull(graph.minimumTimeGap(edge)),
+                        timeGapOrNull(graph.maximumTimeGap(edge))
+                ));
+            }
+            return new MpmScheduleDto(projectId, projectStartDate, false, null, null, new ArrayList<>(), conflictRelationships);
+        }
+
+        ScheduleDates dates = projectStartDate != null ? new ScheduleDates(calendar, projectStartDate) : null;
+        List<MpmActivityDto> activities = new ArrayList<>(graph.size());
+        for (int i = 0; i < graph.size(); i++) {
+            int earliestFinish = result.earliestStart(i) + graph.duration(i);
+            int latestFinish = result.latestStart(i) + graph.duration(i);
+            int totalFloat = result.latestStart(i) - result.earliestStart(i);
+            activities.add(new MpmActivityDto(
+                    graph.taskId(i),
+                    graph.duration(i),
+                    result.earliestStart(i),
+                    earliestFinish,
+                    result.latestStart(i),
+                    latestFinish,
+                    totalFloat,
+                    totalFloat <= 0,
+                    dates.start(result.earliestStart(i)),
+                    dates.finish(result.earliestStart(i), earliestFinish),
+                    dates.start(result.latestStart(i)),
+                    dates.finish(result.latestStart(i), latestFinish)
+            ));
+        }
+
+        return new MpmScheduleDto(projectId, projectStartDate, true, result.getProjectDuration(),
+                dates != null ? dates.finish(0, result.getProjectDuration()) : null, activities, new ArrayList<>());
+    }
+
+    public PertSimulationDto simulatePert(Integer projectId, int iterations, User userContext) {
+        ProjectTasks projectTasks = readProjectTasks(projectId, userContext);
+
+        if (iterations < 1 || iterations > MAX_SIMULATION_ITERATIONS)
+            throw new BusinessValidationException("schedule.simulation.invalid.iterations", iterations, MAX_SIMULATION_ITERATIONS);
+
+        List<Task> tasks = projectTasks.tasks();
+        LocalDate projectStartDate = projectStartDate(tasks);
+        WorkingCalendar calendar = projectCalendar(projectTasks, projectStartDate);
+        ProjectGraph graph = ProjectGraph.fromTasks(tasks, projectTasks.relationships(), calendar);
+
+        if ((long) iterations * graph.size() > MAX_SIMULATION_TASK_ITERATIONS)
+            throw new BusinessValidationException("schedule.simulation.too.large", iterations, graph.size(),
+                    MAX_SIMULATION_TASK_ITERATIONS / graph.size());
+
+        // estimations are counted in working days, tasks without them keep their planned duration
+        int[] optimistic = new int[graph.size()];
+        int[] modal = new int[graph.size()];
+        int[] pessimistic = new int[graph.size()];
+        for (Task task : tasks) {
+            int i = graph.indexOf(task.getId());
+            if (task.getOptimisticEstimation() == null || task.getModalEstimation() == null || task.getPessimisticEstimation() == null) {
+                optimistic[i] = modal[i] = pessimistic[i] = graph.duration(i);
+                continue;
+            }
+
+            if (!(0 <= task.getOptimisticEstimation()
+                    && task.getOptimisticEstimation() <= task.getModalEstimation()
+                    && task.getModalEstimation() <= task.getPessimisticEstimation()))
+                throw new BusinessValidationException("task.invalid.estimations");
+
+            optimistic[i] = task.getOptimisticEstimation();
+            modal[i] = task.getModalEstimation();
+            pessimistic[i] = task.getPessimisticEstimation();
+        }
+
+        PertSimulationResult result;
+        try {
+            result = simulationExecutor.execute(pool -> PertSimulation.simulate(graph, optimistic, modal, pessimistic, iterations, new SplittableRandom(), pool));
+        } catch (GraphCycleException e) {
+            throw cycleException(e, tasks);
+        }
+
+        ScheduleDates dates = projectStartDate != null ? new ScheduleDates(calendar, projectStartDate) : null;
+        List<PertPercentileDto> percentiles = new ArrayList<>(SIMULATION_PERCENTILES.length);
+        for (int percentile : SIMULATION_PERCENTILES) {
+            double duration = result.percentile(percentile);
+            percentiles.add(new PertPercentileDto(
+                    percentile,
+                    duration,
+                    dates != null ? dates.finish(0, (int) Math.ceil(duration)) : null
+            ));
+        }
+
+        List<PertCriticalityDto> activities = new ArrayList<>(graph.size());
+        for (int i = 0; i < graph.size(); i++) {
+            activities.add(new PertCriticalityDto(graph.taskId(i), result.criticalityIndex(i)));
+        }
+
+        return new PertSimulationDto(projectId, projectStartDate, iterations, result.getMeanDuration(), percentiles, activities);
+    }
+
+    /**
+     * Schedules the tasks so that no user works on more tasks a day than {@link #TASKS_PER_USER_PER_DAY}, only the
+     * tasks of the project are considered. Durations and offsets are counted in working days of the project calendar
+     * and nobody works on their days off.
+     */
+    public LevelingScheduleDto calculateLeveling(Integer projectId, User userContext) {
+        ProjectTasks projectTasks = readProjectTasks(projectId, userContext);
+        Project project = projectTasks.project();
+        List<Task> tasks = projectTasks.tasks();
+        LocalDate projectStartDate = projectStartDate(tasks);
+        long firstDay = (projectStartDate != null ? projectStartDate : LocalDate.now()).toEpochDay();
+        long lastDay = tasks.stream().mapToLong(task -> task.getEndDate().toEpochDay()).max().orElse(firstDay);
+
+        // the leveled schedule cannot end later than all tasks and days off taken one after another with at least one
+        // working day a week, days off after that cannot affect it
+        List<ProjectDayOff> allDaysOff = projectTasks.daysOff();
+        long totalDuration = tasks.stream().mapToLong(task -> task.getEndDate().toEpochDay() - task.getStartDate().toEpochDay() + 1).sum();
+        long horizonDay = lastDay + 7 * (totalDuration + allDaysOff.size());
+        List<ProjectDayOff> daysOff = allDaysOff.stream()
+                .filter(dayOff -> dayOff.getDay().toEpochDay() <= horizonDay)
+                .collect(Collectors.toList());
+
+        // the calendar spans the days off only, working days after them are counted by whole weeks
+        WorkingCalendar calendar = WorkingCalendar.ofProject(firstDay, project, daysOff);
+        ProjectGraph graph = ProjectGraph.fromTasks(tasks, projectTasks.relationships(), calendar);
+
+        Map<Integer, Integer> userResources = new HashMap<>();
+        Integer[] assignedUserIds = new Integer[graph.size()];
+        int[] resources = new int[graph.size()];
+        int[] priorities = new int[graph.size()];
+        for (Task task : tasks) {
+            int i = graph.indexOf(task.getId());
+            assignedUserIds[i] = task.getAssignedUserId();
+            resources[i] = task.getAssignedUserId() != null
+                    ? userResources.computeIfAbsent(task.getAssignedUserId(), userId -> userResources.size())
+                    : ResourceLeveling.NO_RESOURCE;
+            // tasks without priority go last
+            priorities[i] = task.getPriority() != null ? task.getPriority().ordinal() : PRIORITY.values().length;
+        }
+
+        int[][] unavailableDays = new int[userResources.size()][];
+        Map<Integer, List<ProjectDayOff>> userDaysOff = daysOff.stream()
+                .filter(dayOff -> dayOff.getUserId() != null && userResources.containsKey(dayOff.getUserId()))
+                .collect(Collectors.groupingBy(ProjectDayOff::getUserId));
+        userDaysOff.forEach((userId, days) -> unavailableDays[userResources.get(userId)] = days.stream()
+                .mapToLong(dayOff -> dayOff.getDay().toEpochDay())
+                .filter(day -> day >= firstDay && calendar.isWorkingDay(day))
+                .mapToInt(calendar::workingDayIndex)
+                .toArray());
+
+        LevelingResult result;
+        try {
+            result = ResourceLeveling.level(graph, resources, priorities, TASKS_PER_USER_PER_DAY, unavailableDays);
+        } catch (GraphCycleException e) {
+            throw cycleException(e, tasks);
+        }
+
+        List<LevelingActivityDto> activities = new ArrayList<>(graph.size());
+        for (int i = 0; i < graph.size(); i++) {
+            activities.add(new LevelingActivityDto(
+                    graph.taskId(i),
+                    assignedUserIds[i],
+                    graph.duration(i),
+                    result.getCpmResult().earliestStart(i),
+                    result.start(i),
+                    result.finish(i),
+                    result.delay(i),
+                    LocalDate.ofEpochDay(calendar.epochDay(result.start(i))),
+                    LocalDate.ofEpochDay(calendar.endDay(calendar.epochDay(result.start(i)), graph.duration(i)))
+            ));
+        }
+
+        return new LevelingScheduleDto(projectId, projectStartDate, result.getProjectDuration(),
+                result.getCpmResult().getProjectDuration(), activities);
+    }
+
+    /**
+     * @return ids of the tasks that can be related to the task in the given direction without closing a cycle
+     */
+    public int[] readRelationshipCandidates(Integer projectId, Integer taskId, TASK_RELATIONSHIP_DIRECTION direction) {
+        IncrementalSchedule schedule = readSchedule(projectId);
+        return direction == TASK_RELATIONSHIP_DIRECTION.SUCCESSOR
+                ? schedule.candidateSuccessors(taskId)
+                : schedule.candidatePredecessors(taskId);
+    }
+
+    /**
+     * Checks a new relationship against the topological order of the cached schedule.
+     */
+    public void checkNewRelationship(Integer projectId, Task predecessor, Task successor) {
+        try {
+            readSchedule(projectId).checkRelationship(predecessor.getId(), successor.getId());
+        } catch (GraphCycleException e) {
+            throw new BusinessValidationException(
+                    "task.relationship.cycle",
+                    successor.getName(),
+                    predecessor.getName(),
+                    describeCycle(e, taskRepository.readProjectTasks(projectId))
+            );
+        }
+    }
+
+    private IncrementalSchedule readSchedule(Integer projectId) {
+        IncrementalSchedule schedule = scheduleCache.get(projectId);
+        if (schedule != null)
+            return schedule;
+
+        long version = scheduleCache.version(projectId);
+        ProjectTasks projectTasks = readOnlyTransaction.execute(status -> readProjectTasks(projectService.readProject(projectId)));
+        List<Task> tasks = projectTasks.tasks();
+        WorkingCalendar calendar = projectCalendar(projectTasks, projectStartDate(tasks));
+        ProjectGraph graph = ProjectGraph.fromTasks(tasks, projectTasks.relationships(), calendar);
+
+        long[] startDays = new long[graph.size()];
+        for (Task task : tasks) {
+            startDays[graph.indexOf(task.getId())] = task.getStartDate().toEpochDay();
+        }
+
+        try {
+            schedule = IncrementalSchedule.of(graph, startDays, calendar);
+        } catch (GraphCycleException e) {
+            throw cycleException(e, tasks);
+        }
+
+        return scheduleCache.putIfAbsent(projectId, schedule, version);
+    }
+
+    private ProjectTasks readProjectTasks(Integer projectId, User userContext) {
+        return readOnlyTransaction.execute(status -> {
+            Project project = projectService.readProject(projectId);
+            projectService.checkUserRightsOnProject(project, userContext, RIGHT.READ);
+            return readProjectTasks(project);
+        });
+    }
+
+    private ProjectTasks readProjectTasks(Project project) {
+        return new ProjectTasks(
+                project,
+                taskRepository.readProjectTasks(project.getId()),
+                readProjectRelationships(project.getId()),
+                projectRepository.readDaysOff(project.getId())
+        );
+    }
+
+    /**
+     * Calendar of the project from its start, or from today for a project without tasks.
+     */
+    private WorkingCalendar projectCalendar(ProjectTasks projectTasks, LocalDate projectStartDate) {
+        long firstDay = (projectStartDate != null ? projectStartDate : LocalDate.now()).toEpochDay();
+        return WorkingCalendar.ofProject(firstDay, projectTasks.project(), projectTasks.daysOff());
+    }
+
+    private List<TaskRelationship> readProjectRelationships(Integer projectId) {
+        return taskRepository.readProjectTaskRelationships(projectId, TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY);
+    }
+
+    private Integer timeGapOrNull(int timeGap) {
+        return timeGap == ProjectGraph.NO_TIME_GAP ? null : timeGap;
+    }
+
+    private LocalDate projectStartDate(List<Task> tasks) {
+        return tasks.stream()
+                .map(Task::getStartDate)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    private BusinessValidationException cycleException(GraphCycleException e, List<Task> tasks) {
+        return new BusinessValidationException("schedule.graph.cycle", describeCycle(e, tasks));
+    }
+
+    private String describeCycle(GraphCycleException e, List<Task> tasks) {
+        Map<Integer, String> taskNames = tasks.stream().collect(Collectors.toMap(Task::getId, Task::getName));
+
+        return Arrays.stream(e.getTaskIds())
+                .mapToObj(taskNames::get)
+                .collect(Collectors.joining(" → "));
+    }
+
+    private record ProjectTasks(Project project, List<Task> tasks, List<TaskRelationship> relationships,
+                                List<ProjectDayOff> daysOff) {
+    }
+
+    /**
+     * Converts working day offsets from the project start to the dates of the project calendar.
+     */
+    private static final class ScheduleDates {
+
+        private final WorkingCalendar calendar;
+        private final int projectStartIndex;
+
+        ScheduleDates(WorkingCalendar calendar, LocalDate projectStartDate) {
+            this.calendar = calendar;
+            this.projectStartIndex = calendar.workingDayIndex(projectStartDate.toEpochDay());
+        }
+
+        LocalDate start(int offset) {
+            return LocalDate.ofEpochDay(calendar.epochDay(projectStartIndex + offset));
+        }
+
+        /**
+         * @return last working day of a work between the offsets, the start day for a work of no working days
+         */
+        LocalDate finish(int start, int finish) {
+            return start(finish > start ? finish - 1 : start);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package cz.uhk.projectmgmt.service;
+
+import cz.uhk.projectmgmt.exception.ServiceBusyException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Dedicated pool of the Monte Carlo simulations, so a long simulation never occupies the common pool used by parallel
+ * streams of other requests. Only a fixed number of simulations runs at once, a simulation over the limit is rejected
+ * instead of waiting for the pool.
+ */
+@Component
+public class SimulationExecutor implements DisposableBean {
+
+    private final ForkJoinPool pool;
+    private final Semaphore permits;
+
+    public SimulationExecutor(@Value("${app.simulation.parallelism}") int parallelism,
+                              @Value("${app.simulation.max-concurrent}") int maxConcurrent) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * @throws ServiceBusyException if the maximum number of simulations is already running
+     */
+    public <T> T execute(Function<ForkJoinPool, T> simulation) {
+        if (!permits.tryAcquire())
+            throw new ServiceBusyException("schedule.simulation.busy");
+
+        try {
+            return simulation.apply(pool);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
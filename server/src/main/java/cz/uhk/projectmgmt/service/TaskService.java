@@ -9,34 +9,55 @@ import cz.uhk.projectmgmt.model.*;
 import cz.uhk.projectmgmt.repository.ProjectRepository;
 import cz.uhk.projectmgmt.repository.TaskRepository;
 import cz.uhk.projectmgmt.repository.UserRepository;
+import cz.uhk.projectmgmt.schedule.GraphCycleException;
+import cz.uhk.projectmgmt.schedule.ProjectGraph;
+import cz.uhk.projectmgmt.schedule.SchedulePropagation;
+import cz.uhk.projectmgmt.schedule.WorkingCalendar;
 import jakarta.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 public class TaskService {
 
+    private static final int MAX_WORKLOAD_DAYS = 731;
+
     private final ProjectService projectService;
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final ScheduleCache scheduleCache;
+    private final ScheduleService scheduleService;
 
     public TaskService(ProjectService projectService,
                        TaskRepository taskRepository,
                        ProjectRepository projectRepository,
-                       UserRepository userRepository) {
+                       UserRepository userRepository,
+                       ScheduleCache scheduleCache,
+                       ScheduleService scheduleService) {
         this.projectService = projectService;
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
+        this.scheduleCache = scheduleCache;
+        this.scheduleService = scheduleService;
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -55,27 +76,148 @@ public class TaskService {
                 assignedUser != null ? assignedUser.getId() : null,
                 createTaskDto.projectId()
         );
+        task.setChangeVersion(projectRepository.incrementContentVersion(task.getProjectId()));
 
         taskRepository.persist(task);
 
         if (!CollectionUtils.isEmpty(createTaskDto.previousActivities())) {
             for (Integer previousActivityId : createTaskDto.previousActivities()) {
-                createAndSaveTaskRelationship(task, previousActivityId, TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY);
+                createAndSaveTaskRelationship(task, previousActivityId, TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY, task.getChangeVersion());
             }
         }
 
+        scheduleCache.taskCreated(
+                task,
+                createTaskDto.previousActivities() != null ? createTaskDto.previousActivities() : List.of()
+        );
+
         return task.mapEntityToDTO(false);
     }
 
+    /**
+     * Imports tasks with relationships between them. Everything is validated in memory against one snapshot of the
+     * project and written with batched inserts.
+     *
+     * @return ids of the created tasks by their import keys
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public Map<String, Integer> importTasks(ImportTasksDto importTasksDto, User userContext) {
+        Optional<Project> projectOpt = projectRepository.findById(importTasksDto.projectId());
+        if (!projectOpt.isPresent())
+            throw new DataNotFoundException(Project.class, Map.of("id", importTasksDto.projectId()));
+
+        Project project = projectOpt.get();
+
+        PROJECT_ROLE role = projectService.checkUserAccessToProject(project, userContext);
+        if (role != PROJECT_ROLE.OWNER && role != PROJECT_ROLE.MANAGER)
+            throw new NoPermissionException(Task.class, userContext.getUsername());
+
+        Set<String> taskNames = taskRepository.readProjectTaskNames(project.getId())
+                .stream()
+                .map(String::toUpperCase)
+                .collect(Collectors.toCollection(HashSet::new));
+        Set<Integer> assignableUserIds = project.getProjectMembers()
+                .stream()
+                .filter(pm -> pm.getRole() != PROJECT_ROLE.READER)
+                .map(pm -> pm.getUser().getId())
+                .collect(Collectors.toSet());
+
+        Map<String, Task> tasksByKey = new LinkedHashMap<>();
+        for (ImportTaskDto importTaskDto : importTasksDto.tasks()) {
+            if (tasksByKey.containsKey(importTaskDto.key()))
+                throw new BusinessValidationException("task.import.duplicate.key", importTaskDto.key());
+
+            if (!taskNames.add(importTaskDto.name().toUpperCase()))
+                throw new BusinessValidationException("task.name.already.exist", importTaskDto.name());
+
+            if (importTaskDto.startDate().isAfter(importTaskDto.endDate()))
+                throw new BusinessValidationException("task.invalid.start.end.date", importTaskDto.startDate(), importTaskDto.endDate());
+
+            Integer assignedUserId = importTaskDto.assignedUserId();
+            if (assignedUserId != null && !Objects.equals(assignedUserId, userContext.getId())) {
+                if (project.getType() != PROJECT_TYPE.PUBLIC)
+                    throw new BusinessValidationException("project.not.public", project.getName());
+
+                if (!assignableUserIds.contains(assignedUserId))
+                    throw new BusinessValidationException("task.assigned.user.not.project.member", assignedUserId, project.getName());
+            }
+
+            tasksByKey.put(importTaskDto.key(), new Task(
+                    userContext.getUsername(),
+                    importTaskDto.name(),
+                    importTaskDto.priority(),
+                    importTaskDto.status() != null ? importTaskDto.status() : TASK_STATUS.NEW,
+                    StringUtils.isBlank(importTaskDto.description()) ? null : importTaskDto.description(),
+                    importTaskDto.startDate(),
+                    importTaskDto.endDate(),
+                    0,
+                    assignedUserId,
+                    project.getId()
+            ));
+        }
+
+        List<Task> tasks = new ArrayList<>(tasksByKey.values());
+        List<ImportTaskRelationshipDto> relationshipDtos = importTasksDto.relationships() != null ? importTasksDto.relationships() : List.of();
+        int[] predecessorIndexes = new int[relationshipDtos.size()];
+        int[] successorIndexes = new int[relationshipDtos.size()];
+        Map<String, Integer> indexesByKey = new HashMap<>();
+        tasksByKey.keySet().forEach(key -> indexesByKey.put(key, indexesByKey.size()));
+        Set<Long> edges = new HashSet<>();
+        for (int i = 0; i < relationshipDtos.size(); i++) {
+            ImportTaskRelationshipDto relationshipDto = relationshipDtos.get(i);
+            Integer successorIndex = indexesByKey.get(relationshipDto.taskKey());
+            if (successorIndex == null)
+                throw new BusinessValidationException("task.import.unknown.key", relationshipDto.taskKey());
+
+            Integer predecessorIndex = indexesByKey.get(relationshipDto.predecessorKey());
+            if (predecessorIndex == null)
+                throw new BusinessValidationException("task.import.unknown.key", relationshipDto.predecessorKey());
+
+            if (!edges.add(((long) successorIndex << 32) | predecessorIndex))
+                throw new BusinessValidationException("task.relationship.already.exist", tasks.get(successorIndex).getName(), tasks.get(predecessorIndex).getName());
+
+            predecessorIndexes[i] = predecessorIndex;
+            successorIndexes[i] = successorIndex;
+        }
+
+        int[] taskIndexes = IntStream.range(0, tasks.size()).toArray();
+        try {
+            new ProjectGraph(taskIndexes, new int[tasks.size()], predecessorIndexes, successorIndexes, null, null).topologicalOrder();
+        } catch (GraphCycleException e) {
+            throw new BusinessValidationException(
+                    "schedule.graph.cycle",
+                    Arrays.stream(e.getTaskIds()).mapToObj(index -> tasks.get(index).getName()).collect(Collectors.joining(" → "))
+            );
+        }
+
+        long version = projectRepository.incrementContentVersion(project.getId());
+        tasks.forEach(task -> task.setChangeVersion(version));
+        taskRepository.persistAll(tasks);
+
+        List<TaskRelationship> relationships = new ArrayList<>(relationshipDtos.size());
+        for (int i = 0; i < relationshipDtos.size(); i++) {
+            TaskRelationship relationship = new TaskRelationship(
+                    tasks.get(successorIndexes[i]).getId(),
+                    tasks.get(predecessorIndexes[i]).getId(),
+                    TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY
+            );
+            relationship.setChangeVersion(version);
+            relationships.add(relationship);
+        }
+        taskRepository.persistAll(relationships);
+
+        scheduleCache.evict(project.getId());
+
+        Map<String, Integer> taskIds = new LinkedHashMap<>();
+        tasksByKey.forEach((key, task) -> taskIds.put(key, task.getId()));
+        return taskIds;
+    }
+
     public TaskDto readTaskById(Integer taskId, User userContext) {
         TaskDto taskDto = checkUserAccessToTask(taskId, RIGHT.READ, userContext).mapEntityToDTO(false);
 
-        taskDto.setTaskSuccessor(
-                taskRepository.readTaskSuccessor(taskId).stream().map(RelatedTaskDto::mapTaskToRelatedTaskDto).collect(Collectors.toList())
-        );
-        taskDto.setTaskPredecessor(
-                taskRepository.readTaskPredecessors(taskId).stream().map(RelatedTaskDto::mapTaskToRelatedTaskDto).collect(Collectors.toList())
-        );
+        taskDto.setTaskSuccessor(taskRepository.readTaskSuccessor(taskId));
+        taskDto.setTaskPredecessor(taskRepository.readTaskPredecessors(taskId));
 
         return taskDto;
     }
@@ -84,22 +226,72 @@ public class TaskService {
         if (userId != userContext.getId())
             throw new NoPermissionException(User.class, userContext.getUsername());
 
-        return taskRepository.readUserAssignedTasks(userId).stream().map(Task::mapEntityToDTO).collect(Collectors.toList());
+        return taskRepository.readUserAssignedTasks(userId);
     }
 
-    public List<TaskDto> getNotRelatedTasks(Integer taskId, User userContext) {
-        checkUserAccessToTask(taskId, RIGHT.READ, userContext);
-        return taskRepository.readNotRelatedTasks(taskId).stream().map(Task::mapEntityToDTO).collect(Collectors.toList());
+    /**
+     * Counts the unfinished tasks of the user for every day of the period across all projects, a user reading somebody
+     * else's workload sees only the tasks of the projects they manage. Each distinct date range of the tasks adds its
+     * count on its first day and removes it after its last day, a single pass over the days then yields the timeline.
+     */
+    public WorkloadDto readUserWorkload(Integer userId, LocalDate from, LocalDate to, User userContext) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_WORKLOAD_DAYS)
+            throw new BusinessValidationException("workload.invalid.range", from, to, MAX_WORKLOAD_DAYS);
+
+        final int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        int[] changes = new int[days + 1];
+        for (TaskDateRangeDto range : taskRepository.readUserTaskDateRanges(userId, from, to, userContext.getId())) {
+            int first = (int) Math.max(0, ChronoUnit.DAYS.between(from, range.getStartDate()));
+            int last = (int) Math.min(days - 1, ChronoUnit.DAYS.between(from, range.getEndDate()));
+            if (first > last)
+                continue;
+            changes[first] += (int) range.getTasks();
+            changes[last + 1] -= (int) range.getTasks();
+        }
+
+        final int capacity = ScheduleService.TASKS_PER_USER_PER_DAY;
+        List<WorkloadIntervalDto> timeline = new ArrayList<>();
+        int overAllocatedDays = 0;
+        int intervalStart = 0;
+        int tasks = changes[0];
+        for (int day = 1; day <= days; day++) {
+            int next = tasks + changes[day];
+            if (day < days && next == tasks)
+                continue;
+
+            timeline.add(new WorkloadIntervalDto(from.plusDays(intervalStart), from.plusDays(day - 1), tasks, tasks > capacity));
+            if (tasks > capacity)
+                overAllocatedDays += day - intervalStart;
+            intervalStart = day;
+            tasks = next;
+        }
+
+        return new WorkloadDto(userId, from, to, capacity, overAllocatedDays, timeline);
+    }
+
+    public List<TaskDto> getNotRelatedTasks(Integer taskId, TASK_RELATIONSHIP_DIRECTION direction, User userContext) {
+        Task task = checkUserAccessToTask(taskId, RIGHT.READ, userContext);
+
+        int[] candidateIds = scheduleService.readRelationshipCandidates(task.getProjectId(), taskId, direction);
+        if (candidateIds.length == 0)
+            return new ArrayList<>();
+
+        // the candidates may be almost the whole project, so the task DTOs are filtered here rather than in an IN list
+        Arrays.sort(candidateIds);
+        return taskRepository.readProjectTaskDtos(task.getProjectId())
+                .stream()
+                .filter(projectTask -> Arrays.binarySearch(candidateIds, projectTask.getId()) >= 0)
+                .collect(Collectors.toList());
     }
 
     public List<RelatedTaskDto> getTaskSuccessor(Integer taskId, User userContext) {
         checkUserAccessToTask(taskId, RIGHT.READ, userContext);
-        return taskRepository.readTaskSuccessor(taskId).stream().map(RelatedTaskDto::mapTaskToRelatedTaskDto).collect(Collectors.toList());
+        return taskRepository.readTaskSuccessor(taskId);
     }
 
     public List<RelatedTaskDto> getTaskPredecessors(Integer taskId, User userContext) {
         checkUserAccessToTask(taskId, RIGHT.READ, userContext);
-        return taskRepository.readTaskPredecessors(taskId).stream().map(RelatedTaskDto::mapTaskToRelatedTaskDto).collect(Collectors.toList());
+        return taskRepository.readTaskPredecessors(taskId);
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -114,6 +306,8 @@ public class TaskService {
                 userContext
         );
 
+        LocalDate previousEndDate = task.getEndDate();
+        task.setChangeVersion(projectRepository.incrementContentVersion(task.getProjectId()));
         task.setName(updateTaskDto.name());
         task.setPriority(updateTaskDto.priority());
         task.setStatus(updateTaskDto.status());
@@ -140,15 +334,78 @@ public class TaskService {
         }
 
         taskRepository.merge(task);
+
+        scheduleCache.taskUpdated(task);
+
+        if (task.getEndDate().isAfter(previousEndDate)) {
+            projectRepository.findById(task.getProjectId())
+                    .filter(Project::isAutoSchedule)
+                    .ifPresent(project -> shiftSuccessors(project, task, userContext));
+        }
+    }
+
+    /**
+     * Moves the successors of the task forward to keep the relationships of an auto scheduled project. Durations and
+     * time gaps are counted in working days of the project calendar, a shifted task keeps its working days. The
+     * shifted tasks stay managed and are written by batched updates when the transaction flushes.
+     */
+    private void shiftSuccessors(Project project, Task task, User userContext) {
+        List<Task> tasks = taskRepository.readProjectTasks(task.getProjectId());
+        long firstDay = tasks.stream().mapToLong(projectTask -> projectTask.getStartDate().toEpochDay()).min().orElseThrow();
+        WorkingCalendar calendar = WorkingCalendar.ofProject(firstDay, project, projectRepository.readDaysOff(project.getId()));
+        ProjectGraph graph = ProjectGraph.fromTasks(
+                tasks,
+                taskRepository.readProjectTaskRelationships(task.getProjectId(), TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY),
+                calendar
+        );
+
+        Task[] tasksByIndex = new Task[graph.size()];
+        long[] starts = new long[graph.size()];
+        for (Task projectTask : tasks) {
+            int i = graph.indexOf(projectTask.getId());
+            tasksByIndex[i] = projectTask;
+            starts[i] = calendar.workingDayIndex(projectTask.getStartDate().toEpochDay());
+        }
+
+        int[] shifted;
+        try {
+            shifted = SchedulePropagation.propagate(graph, starts, graph.indexOf(task.getId()));
+        } catch (GraphCycleException e) {
+            throw new BusinessValidationException(
+                    "schedule.graph.cycle",
+                    Arrays.stream(e.getTaskIds()).mapToObj(id -> tasksByIndex[graph.indexOf(id)].getName()).collect(Collectors.joining(" → "))
+            );
+        }
+
+        for (int i : shifted) {
+            Task successor = tasksByIndex[i];
+            long startDay = calendar.epochDay((int) starts[i]);
+            successor.setStartDate(LocalDate.ofEpochDay(startDay));
+            successor.setEndDate(LocalDate.ofEpochDay(calendar.endDay(startDay, graph.duration(i))));
+            successor.setChangeVersion(task.getChangeVersion());
+            successor.setUpdatedBy(userContext.getUsername());
+
+            scheduleCache.taskUpdated(successor);
+        }
     }
 
     @Transactional(rollbackFor = Exception.class)
     public void deleteTask(Integer taskId, User userContext) {
         Task task = checkUserAccessToTask(taskId, RIGHT.DELETE, userContext);
+        // the relationships are removed with the task by cascade, their ids are read before
+        List<Integer> relationshipIds = taskRepository.readTaskRelationshipIds(task.getId());
 
         taskRepository.remove(task);
+
+        long version = projectRepository.incrementContentVersion(task.getProjectId());
+        projectRepository.persist(new ProjectTombstone(task.getProjectId(), PROJECT_ENTITY_TYPE.TASK, task.getId(), version));
+        for (Integer relationshipId : relationshipIds) {
+            projectRepository.persist(new ProjectTombstone(task.getProjectId(), PROJECT_ENTITY_TYPE.TASK_RELATIONSHIP, relationshipId, version));
+        }
+        scheduleCache.taskDeleted(task);
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public RelatedTaskDto createTaskRelationship(Integer taskId, CreateTaskRelationshipDto createTaskRelationshipDto, User userContext) {
         Task task = checkUserAccessToTask(taskId, RIGHT.READ, userContext);
         Task relatedTask = checkUserAccessToTask(createTaskRelationshipDto.relatedTaskId(), RIGHT.READ, userContext);
@@ -163,14 +420,27 @@ public class TaskService {
         if (existTaskRelationshipOpt.isPresent())
             throw new BusinessValidationException("task.relationship.already.exist", task.getName(), relatedTask.getName());
 
-        createAndSaveTaskRelationship(task, createTaskRelationshipDto.relatedTaskId(), createTaskRelationshipDto.relationshipType());
+        if (createTaskRelationshipDto.relationshipType() == TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY) {
+            scheduleCache.lockProject(task.getProjectId());
+            scheduleService.checkNewRelationship(task.getProjectId(), relatedTask, task);
+        }
+
+        createAndSaveTaskRelationship(
+                task,
+                createTaskRelationshipDto.relatedTaskId(),
+                createTaskRelationshipDto.relationshipType(),
+                projectRepository.incrementContentVersion(task.getProjectId())
+        );
+
+        if (createTaskRelationshipDto.relationshipType() == TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY)
+            scheduleCache.relationshipCreated(task.getProjectId(), relatedTask.getId(), task.getId());
 
         return RelatedTaskDto.mapTaskToRelatedTaskDto(relatedTask);
     }
 
     @Transactional(rollbackFor = Exception.class)
     public void updateTaskRelationship(Integer taskId, Integer relatedTaskId, UpdateTaskRelationshipDto updateTaskRelationshipDto, TASK_RELATIONSHIP_TYPE relationshipType, User userContext) {
-        checkUserAccessToTask(taskId, RIGHT.WRITE, userContext);
+        Task task = checkUserAccessToTask(taskId, RIGHT.WRITE, userContext);
         Optional<TaskRelationship> taskRelationshipOpt = taskRepository.findTaskRelationship(
                 taskId, relatedTaskId, relationshipType
         );
@@ -183,6 +453,7 @@ public class TaskService {
 
         TaskRelationship taskRelationship = taskRelationshipOpt.get();
 
+        taskRelationship.setChangeVersion(projectRepository.incrementContentVersion(task.getProjectId()));
         taskRelationship.setMinimumTimeGap(updateTaskRelationshipDto.minimumTimeGap());
         taskRelationship.setMaximumTimeGap(updateTaskRelationshipDto.maximumTimeGap());
 
@@ -191,7 +462,7 @@ public class TaskService {
 
     @Transactional(rollbackFor = Exception.class)
     public void deleteTaskRelationship(Integer taskId, Integer relatedTaskId, TASK_RELATIONSHIP_TYPE relationshipType, User userContext) {
-        checkUserAccessToTask(taskId, RIGHT.DELETE, userContext);
+        Task task = checkUserAccessToTask(taskId, RIGHT.DELETE, userContext);
 
         Optional<TaskRelationship> taskRelationshipOpt = taskRepository.findTaskRelationship(
                 taskId, relatedTaskId, relationshipType
@@ -203,7 +474,14 @@ public class TaskService {
                     Map.of("taskId", taskId, "relatedTaskId", relatedTaskId, "relationshipType", relationshipType)
             );
 
-        taskRepository.remove(taskRelationshipOpt.get());
+        TaskRelationship taskRelationship = taskRelationshipOpt.get();
+        taskRepository.remove(taskRelationship);
+
+        long version = projectRepository.incrementContentVersion(task.getProjectId());
+        projectRepository.persist(new ProjectTombstone(task.getProjectId(), PROJECT_ENTITY_TYPE.TASK_RELATIONSHIP, taskRelationship.getId(), version));
+
+        if (relationshipType == TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY)
+            scheduleCache.relationshipDeleted(task.getProjectId(), relatedTaskId, taskId);
     }
 
     private User validTask(String name, Integer projectId, Integer assignedUserId, @Nullable Task existTask, User userContext) {
@@ -258,10 +536,7 @@ public class TaskService {
 
         Task task = optionalTask.get();
 
-        PROJECT_ROLE role = projectService.checkUserAccessToProject(
-                projectService.readProject(task.getProjectId()),
-                userContext
-        );
+        PROJECT_ROLE role = projectService.checkUserAccessToProject(task.getProjectId(), userContext);
 
         if (right == RIGHT.WRITE && !(role == PROJECT_ROLE.OWNER || role == PROJECT_ROLE.MANAGER || task.getAssignedUserId() == userContext.getId()))
             throw new NoPermissionException(Task.class, userContext.getUsername());
@@ -272,7 +547,7 @@ public class TaskService {
         return task;
     }
 
-    private void createAndSaveTaskRelationship(Task task, Integer relatedTaskId, TASK_RELATIONSHIP_TYPE type) {
+    private void createAndSaveTaskRelationship(Task task, Integer relatedTaskId, TASK_RELATIONSHIP_TYPE type, long version) {
         Optional<Task> relatedTaskOpt = taskRepository.findById(relatedTaskId);
         if (!relatedTaskOpt.isPresent())
             throw new DataNotFoundException(Task.class, Map.of("id", relatedTaskId));
@@ -286,6 +561,7 @@ public class TaskService {
                 previousTask.getId(),
                 type
         );
+        taskRelationship.setChangeVersion(version);
 
         taskRepository.persist(taskRelationship);
     }
@@ -0,0 +1,18 @@
+-- Working calendar of a project: the working week days as a bit mask (bit 0 is Monday), holidays of the project and
+-- days off of its members. Holidays have no user.
+
+alter table projects add column working_week_days integer default 31 not null;
+
+create sequence project_days_off_seq start with 1 increment by 50;
+
+create table project_days_off (
+    id integer not null,
+    project_id integer not null,
+    user_id integer,
+    off_day date not null,
+    primary key (id),
+    constraint FK_PROJECT_DAYS_OFF_PROJECTS foreign key (project_id) references projects on delete cascade,
+    constraint FK_PROJECT_DAYS_OFF_USERS foreign key (user_id) references users on delete cascade
+);
+
+create index IX_PROJECT_DAYS_OFF_PROJECT_ID_OFF_DAY on project_days_off (project_id, off_day);
@@ -0,0 +1,110 @@
+-- Schema as created by hibernate.hbm2ddl.auto=update before the migrations were introduced.
+-- Existing databases are baselined at this version and skip it.
+
+create table projects (
+    id serial not null,
+    created_on timestamp(6) not null,
+    updated_on timestamp(6),
+    description varchar(1024),
+    created_by varchar(255) not null,
+    name varchar(255) not null,
+    status varchar(255) not null check (status in ('NEW','IN_PROGRESS','FINISHED','CANCELLED')),
+    type varchar(255) not null check (type in ('PRIVATE','PUBLIC')),
+    updated_by varchar(255),
+    primary key (id)
+);
+
+create table users (
+    enable char(1) not null check (enable in ('N','Y')),
+    id serial not null,
+    created_on timestamp(6) not null,
+    updated_on timestamp(6),
+    username varchar(50) not null unique,
+    first_name varchar(128) not null,
+    last_name varchar(128) not null,
+    password varchar(512) not null,
+    created_by varchar(255) not null,
+    email varchar(255) not null unique,
+    updated_by varchar(255),
+    primary key (id)
+);
+
+create table notifications (
+    id serial not null,
+    resolved char(1) not null check (resolved in ('N','Y')),
+    unread char(1) not null check (unread in ('N','Y')),
+    user_id integer not null,
+    created_on timestamp(6) not null,
+    updated_on timestamp(6),
+    content varchar(512) not null,
+    created_by varchar(255) not null,
+    type varchar(255) not null check (type in ('PROJECT_INVITATION')),
+    updated_by varchar(255),
+    primary key (id)
+);
+
+create table project_members (
+    id serial not null,
+    notification_id integer unique,
+    project_id integer not null,
+    user_id integer not null,
+    created_on timestamp(6) not null,
+    updated_on timestamp(6),
+    created_by varchar(255) not null,
+    role varchar(255) not null check (role in ('OWNER','MANAGER','READER','MEMBER')),
+    status varchar(255) not null check (status in ('ACTIVE','WAITING_FOR_CONFIRMATION','CONFIRMATION_REJECTED','USER_LEFT_TEAM')),
+    updated_by varchar(255),
+    primary key (id),
+    constraint PROJECT_MEMBER_UC unique (user_id, project_id)
+);
+
+create table refresh_tokens (
+    id serial not null,
+    revoked char(1) not null check (revoked in ('N','Y')),
+    user_id integer not null,
+    expiration_date timestamp(6) not null,
+    token varchar(255) not null unique,
+    primary key (id)
+);
+
+create table tasks (
+    assigned_user_id integer,
+    end_date date not null,
+    id serial not null,
+    modal_estimation integer,
+    optimistic_estimation integer,
+    pessimistic_estimation integer,
+    progress integer default 0 not null check ((progress>=0) and (progress<=100)),
+    project_id integer not null,
+    start_date date not null,
+    created_on timestamp(6) not null,
+    updated_on timestamp(6),
+    description varchar(1024),
+    created_by varchar(255) not null,
+    name varchar(255) not null,
+    priority varchar(255) check (priority in ('URGENT','HIGH','NORMAL','LOW')),
+    status varchar(255) check (status in ('DONE','NEW','ON_HOLD','WAITING','IN_PROGRESS')),
+    updated_by varchar(255),
+    primary key (id)
+);
+
+create table task_relationships (
+    id serial not null,
+    maximum_time_gap integer,
+    minimum_time_gap integer,
+    related_task_id integer not null,
+    task_id integer not null,
+    type varchar(255) not null check (type in ('PREVIOUS_ACTIVITY')),
+    primary key (id),
+    constraint TASK_RELATIONSHIPS_TYPE_UC unique (task_id, related_task_id, type)
+);
+
+alter table notifications add constraint FK_NOTIFICATIONS_USERS foreign key (user_id) references users;
+alter table project_members add constraint FK_PROJECT_MEMBERS_NOTIFICATIONS foreign key (notification_id) references notifications;
+alter table project_members add constraint FK_PROJECT_MEMBERS_PROJECTS foreign key (project_id) references projects;
+alter table project_members add constraint FK_PROJECT_MEMBERS_USERS foreign key (user_id) references users;
+alter table refresh_tokens add constraint FK_USERS_TOKENS foreign key (user_id) references users;
+alter table task_relationships add constraint FK_TASK_RELATIONSHIPS_TASK foreign key (task_id) references tasks;
+alter table task_relationships add constraint FK_TASK_RELATIONSHIPS_RELATED_TASK foreign key (related_task_id) references tasks;
+alter table tasks add constraint FK_TASKS_USERS foreign key (assigned_user_id) references users;
+alter table tasks add constraint FK_TASKS_PROJECTS foreign key (project_id) references projects;
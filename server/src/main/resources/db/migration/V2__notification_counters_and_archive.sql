@@ -0,0 +1,26 @@
+-- Databases updated by hibernate.hbm2ddl.auto may already contain these objects.
+
+create table if not exists notification_counters (
+    unread_count integer not null,
+    user_id integer not null,
+    primary key (user_id)
+);
+
+create table if not exists notifications_archive (
+    id integer not null,
+    resolved char(1) not null check (resolved in ('N','Y')),
+    unread char(1) not null check (unread in ('N','Y')),
+    user_id integer not null,
+    archived_on timestamp(6) not null,
+    created_on timestamp(6) not null,
+    updated_on timestamp(6),
+    content varchar(512) not null,
+    created_by varchar(255) not null,
+    type varchar(255) not null check (type in ('PROJECT_INVITATION')),
+    updated_by varchar(255),
+    primary key (id)
+);
+
+create index if not exists IX_NOTIFICATIONS_USER_ID on notifications (user_id, id);
+
+create index if not exists IX_NOTIFICATIONS_ARCHIVE_USER_ID on notifications_archive (user_id);
@@ -0,0 +1,32 @@
+-- Ids are generated from sequences with the pooled-lo optimizer, every nextval reserves a block of 50 ids.
+-- The sequences continue after the highest existing id and replace the serial defaults.
+
+create sequence projects_seq start with 1 increment by 50;
+select setval('projects_seq', coalesce(max(id), 0) + 1, false) from projects;
+alter table projects alter column id drop default;
+drop sequence if exists projects_id_seq;
+
+create sequence users_seq start with 1 increment by 50;
+select setval('users_seq', coalesce(max(id), 0) + 1, false) from users;
+alter table users alter column id drop default;
+drop sequence if exists users_id_seq;
+
+create sequence notifications_seq start with 1 increment by 50;
+select setval('notifications_seq', coalesce(max(id), 0) + 1, false) from notifications;
+alter table notifications alter column id drop default;
+drop sequence if exists notifications_id_seq;
+
+create sequence project_members_seq start with 1 increment by 50;
+select setval('project_members_seq', coalesce(max(id), 0) + 1, false) from project_members;
+alter table project_members alter column id drop default;
+drop sequence if exists project_members_id_seq;
+
+create sequence tasks_seq start with 1 increment by 50;
+select setval('tasks_seq', coalesce(max(id), 0) + 1, false) from tasks;
+alter table tasks alter column id drop default;
+drop sequence if exists tasks_id_seq;
+
+create sequence task_relationships_seq start with 1 increment by 50;
+select setval('task_relationships_seq', coalesce(max(id), 0) + 1, false) from task_relationships;
+alter table task_relationships alter column id drop default;
+drop sequence if exists task_relationships_id_seq;
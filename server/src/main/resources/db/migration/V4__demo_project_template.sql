@@ -0,0 +1,82 @@
+-- Demo project created for every new user. Task names are stored per language on first use from the message
+-- bundles, the registration copies the template with INSERT ... SELECT.
+
+create table demo_template_tasks (
+    ordinal integer not null,
+    start_offset integer not null,
+    duration integer not null,
+    optimistic_estimation integer,
+    modal_estimation integer,
+    pessimistic_estimation integer,
+    primary key (ordinal)
+);
+
+create table demo_template_task_names (
+    language varchar(16) not null,
+    ordinal integer not null,
+    name varchar(255) not null,
+    primary key (language, ordinal)
+);
+
+create table demo_template_relationships (
+    ordinal integer not null,
+    task_ordinal integer not null,
+    related_task_ordinal integer not null,
+    primary key (ordinal)
+);
+
+insert into demo_template_tasks (ordinal, start_offset, duration, optimistic_estimation, modal_estimation, pessimistic_estimation) values
+    (0, 0, 3, 1, 2, 5),
+    (1, 3, 4, 4, 4, 5),
+    (2, 3, 2, 1, 1, 4),
+    (3, 3, 5, 5, 5, 7),
+    (4, 15, 5, 4, 6, 7),
+    (5, 3, 3, 1, 4, 4),
+    (6, 8, 7, 6, 8, 10),
+    (7, 6, 6, 5, 7, 9),
+    (8, 15, 8, 8, 8, 10),
+    (9, 24, 2, 1, 1, 2),
+    (10, 23, 1, 1, 2, 2),
+    (11, 12, 4, 4, 4, 6),
+    (12, 16, 3, 2, 5, 7),
+    (13, 26, 2, 1, 1, 2),
+    (14, 28, 11, 9, 11, 13),
+    (15, 39, 7, 7, 9, 10),
+    (16, 46, 1, 1, 1, 2),
+    (17, 47, 2, 2, 2, 6),
+    (18, 28, 10, 8, 11, 15),
+    (19, 38, 8, 7, 9, 13),
+    (20, 49, 4, 3, 5, 7),
+    (21, 53, 3, 4, 4, 5),
+    (22, 24, 3, 2, 3, 7);
+
+insert into demo_template_relationships (ordinal, task_ordinal, related_task_ordinal) values
+    (0, 1, 0),
+    (1, 2, 0),
+    (2, 3, 0),
+    (3, 5, 0),
+    (4, 8, 1),
+    (5, 8, 6),
+    (6, 6, 2),
+    (7, 6, 3),
+    (8, 6, 5),
+    (9, 7, 5),
+    (10, 4, 6),
+    (11, 11, 7),
+    (12, 10, 8),
+    (13, 9, 10),
+    (14, 9, 4),
+    (15, 9, 12),
+    (16, 12, 11),
+    (17, 22, 10),
+    (18, 13, 9),
+    (19, 14, 13),
+    (20, 18, 13),
+    (21, 15, 14),
+    (22, 19, 18),
+    (23, 17, 19),
+    (24, 16, 15),
+    (25, 17, 16),
+    (26, 20, 17),
+    (27, 20, 22),
+    (28, 21, 20);
@@ -0,0 +1,17 @@
+-- Indexes for the columns the repository queries filter and join on.
+
+-- project tasks and the case insensitive name check, the leading column serves the lookups by project alone
+create index IX_TASKS_PROJECT_ID_UPPER_NAME on tasks (project_id, upper(name));
+
+create index IX_TASKS_ASSIGNED_USER_ID on tasks (assigned_user_id) where assigned_user_id is not null;
+
+-- task_id lookups are served by TASK_RELATIONSHIPS_TYPE_UC
+create index IX_TASK_RELATIONSHIPS_RELATED_TASK_ID on task_relationships (related_task_id);
+
+-- user_id lookups are served by PROJECT_MEMBER_UC
+create index IX_PROJECT_MEMBERS_PROJECT_ID_USER_ID on project_members (project_id, user_id);
+
+create index IX_PROJECTS_UPPER_NAME on projects (upper(name));
+
+-- unread notifications are counted per user by the counter reconciliation
+create index IX_NOTIFICATIONS_USER_ID_UNREAD on notifications (user_id) where unread = 'Y';
@@ -0,0 +1,2 @@
+-- Bumped by every change of a project, its tasks, relationships or members; identifies the cached project snapshots.
+alter table projects add column content_version bigint default 0 not null;
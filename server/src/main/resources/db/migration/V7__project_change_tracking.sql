@@ -0,0 +1,24 @@
+-- Content version of the project at the last change of a row, rows changed after a version a client knows are
+-- returned by the project changes endpoint.
+
+alter table tasks add column change_version bigint default 0 not null;
+alter table task_relationships add column change_version bigint default 0 not null;
+alter table project_members add column change_version bigint default 0 not null;
+
+create index IX_TASKS_PROJECT_ID_CHANGE_VERSION on tasks (project_id, change_version);
+create index IX_PROJECT_MEMBERS_PROJECT_ID_CHANGE_VERSION on project_members (project_id, change_version);
+
+-- deletions of tasks, relationships and members, removed together with their project
+create sequence project_tombstones_seq start with 1 increment by 50;
+
+create table project_tombstones (
+    id integer not null,
+    project_id integer not null,
+    entity_id integer not null,
+    version bigint not null,
+    entity_type varchar(255) not null check (entity_type in ('TASK','TASK_RELATIONSHIP','PROJECT_MEMBER')),
+    primary key (id),
+    constraint FK_PROJECT_TOMBSTONES_PROJECTS foreign key (project_id) references projects on delete cascade
+);
+
+create index IX_PROJECT_TOMBSTONES_PROJECT_ID_VERSION on project_tombstones (project_id, version);
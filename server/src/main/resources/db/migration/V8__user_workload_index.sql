@@ -0,0 +1,7 @@
+-- Tasks of a user overlapping a period are read by the workload view, the index keeps the lookups by user alone and
+-- covers the columns the workload is grouped by.
+
+drop index IX_TASKS_ASSIGNED_USER_ID;
+
+create index IX_TASKS_ASSIGNED_USER_ID_END_DATE on tasks (assigned_user_id, end_date)
+    include (start_date, project_id, status) where assigned_user_id is not null;
@@ -0,0 +1,2 @@
+-- Projects in auto schedule mode move the successors of a task forward when the task ends later.
+alter table projects add column auto_schedule char(1) default 'N' not null check (auto_schedule in ('N','Y'));
@@ -0,0 +1,129 @@
+package cz.uhk.projectmgmt.repository;
+
+import cz.uhk.projectmgmt.enums.PRIORITY;
+import cz.uhk.projectmgmt.enums.PROJECT_STATUS;
+import cz.uhk.projectmgmt.enums.PROJECT_TYPE;
+import cz.uhk.projectmgmt.enums.TASK_STATUS;
+import cz.uhk.projectmgmt.model.Project;
+import cz.uhk.projectmgmt.model.Task;
+import cz.uhk.projectmgmt.model.TaskRelationship;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against PostgreSQL with the Flyway migrations, the template is cloned with native statements.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ProjectRepository.class)
+class DemoTemplateRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void cloneDemoTemplateTest() {
+        Project project = entityManager.persist(new Project("test", "Demo", PROJECT_TYPE.PRIVATE, PROJECT_STATUS.NEW, ""));
+
+        List<Integer> ordinals = projectRepository.readDemoTemplateOrdinals();
+        assertThat(projectRepository.demoTemplateNamesExist("en")).isFalse();
+        projectRepository.createDemoTemplateNames("en", ordinals.stream().collect(Collectors.toMap(o -> o, o -> "Task " + o)));
+        assertThat(projectRepository.demoTemplateNamesExist("en")).isTrue();
+
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        projectRepository.cloneDemoTemplate("en", project.getId(), "test", startDate);
+        entityManager.clear();
+
+        List<Task> tasks = entityManager.getEntityManager()
+                .createQuery("select t from Task t where t.projectId = :projectId order by t.id", Task.class)
+                .setParameter("projectId", project.getId())
+                .getResultList();
+        assertThat(tasks).hasSize(23);
+        assertThat(tasks.get(0).getName()).isEqualTo("Task 0");
+        assertThat(tasks.get(0).getStartDate()).isEqualTo(startDate);
+        assertThat(tasks.get(0).getEndDate()).isEqualTo(startDate.plusDays(2));
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getPriority()).isNotNull());
+
+        Map<Integer, Integer> ordinalsById = IntStream.range(0, tasks.size()).boxed()
+                .collect(Collectors.toMap(i -> tasks.get(i).getId(), i -> i));
+        List<TaskRelationship> relationships = entityManager.getEntityManager()
+                .createQuery("select tr from TaskRelationship tr where tr.taskId in :taskIds", TaskRelationship.class)
+                .setParameter("taskIds", ordinalsById.keySet())
+                .getResultList();
+        assertThat(relationships).hasSize(29);
+        assertThat(relationships).anySatisfy(relationship -> {
+            assertThat(ordinalsById.get(relationship.getTaskId())).isEqualTo(1);
+            assertThat(ordinalsById.get(relationship.getRelatedTaskId())).isEqualTo(0);
+        });
+
+        // tasks persisted by Hibernate take their ids from another block of the sequence
+        Task task = entityManager.persistFlushFind(new Task("test", "Next", PRIORITY.NORMAL, TASK_STATUS.NEW, null,
+                startDate, startDate, 0, null, project.getId()));
+        assertThat(ordinalsById).doesNotContainKey(task.getId());
+    }
+
+    @Test
+    void cloneTemplateLargerThanSequenceIncrementTest() {
+        Project project = entityManager.persist(new Project("test", "Demo", PROJECT_TYPE.PRIVATE, PROJECT_STATUS.NEW, ""));
+        // the template grows past one block of 50 ids, each added task follows the previous one
+        entityManager.getEntityManager()
+                .createNativeQuery("insert into DEMO_TEMPLATE_TASKS (ORDINAL, START_OFFSET, DURATION) " +
+                        "select 100 + s, s, 1 from generate_series(0, 59) s")
+                .executeUpdate();
+        entityManager.getEntityManager()
+                .createNativeQuery("insert into DEMO_TEMPLATE_RELATIONSHIPS (ORDINAL, TASK_ORDINAL, RELATED_TASK_ORDINAL) " +
+                        "select 100 + s, 100 + s, 99 + s from generate_series(1, 59) s")
+                .executeUpdate();
+        List<Integer> ordinals = projectRepository.readDemoTemplateOrdinals();
+        projectRepository.createDemoTemplateNames("en", ordinals.stream().collect(Collectors.toMap(o -> o, o -> "Task " + o)));
+
+        projectRepository.cloneDemoTemplate("en", project.getId(), "test", LocalDate.of(2024, 1, 1));
+        entityManager.clear();
+
+        List<Task> tasks = entityManager.getEntityManager()
+                .createQuery("select t from Task t where t.projectId = :projectId order by t.id", Task.class)
+                .setParameter("projectId", project.getId())
+                .getResultList();
+        assertThat(tasks).hasSize(ordinals.size());
+        assertThat(tasks).extracting(Task::getName)
+                .containsExactlyElementsOf(ordinals.stream().map(o -> "Task " + o).toList());
+
+        List<TaskRelationship> relationships = entityManager.getEntityManager()
+                .createQuery("select tr from TaskRelationship tr where tr.taskId in :taskIds", TaskRelationship.class)
+                .setParameter("taskIds", tasks.stream().map(Task::getId).toList())
+                .getResultList();
+        assertThat(relationships).hasSize(29 + 59);
+        assertThat(relationships).extracting(TaskRelationship::getId).doesNotHaveDuplicates();
+    }
+}
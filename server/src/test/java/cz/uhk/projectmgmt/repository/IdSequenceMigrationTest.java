@@ -0,0 +1,66 @@
+package cz.uhk.projectmgmt.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations against PostgreSQL and checks that the id sequences continue after the existing rows. The insert
+ * cost of the sequences is measured by {@code IdGenerationBenchmark} in the benchmarks module.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class IdSequenceMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @BeforeEach
+    void cleanDatabase() {
+        flyway(MigrationVersion.LATEST).clean();
+    }
+
+    @Test
+    void sequencesContinueAfterExistingIdsTest() throws SQLException {
+        migrate("1");
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("insert into projects (created_on, created_by, name, status, type) " +
+                    "select now(), 'test', 'Project ' || i, 'NEW', 'PUBLIC' from generate_series(1, 120) i");
+        }
+
+        migrate(null);
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select nextval('projects_seq')")) {
+            resultSet.next();
+            assertThat(resultSet.getInt(1)).isEqualTo(121);
+        }
+    }
+
+    private void migrate(String target) {
+        flyway(target != null ? MigrationVersion.fromVersion(target) : MigrationVersion.LATEST).migrate();
+    }
+
+    private Flyway flyway(MigrationVersion target) {
+        return Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .cleanDisabled(false)
+                .target(target)
+                .load();
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
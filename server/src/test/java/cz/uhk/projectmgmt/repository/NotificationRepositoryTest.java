@@ -0,0 +1,46 @@
+package cz.uhk.projectmgmt.repository;
+
+import cz.uhk.projectmgmt.enums.NOTIFICATION_TYPE;
+import cz.uhk.projectmgmt.model.Notification;
+import cz.uhk.projectmgmt.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
+@Import(NotificationRepository.class)
+class NotificationRepositoryTest {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void readUserNotificationsPagesTest() {
+        final Integer userId = entityManager.persist(new User("user", "First", "Last", "user@test.cz", "password", "test")).getId();
+        final Integer otherUserId = entityManager.persist(new User("other", "First", "Last", "other@test.cz", "password", "test")).getId();
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(entityManager.persist(new Notification("test", userId, true, NOTIFICATION_TYPE.PROJECT_INVITATION, "Notification " + i)).getId());
+        }
+        entityManager.persist(new Notification("test", otherUserId, true, NOTIFICATION_TYPE.PROJECT_INVITATION, "Other user"));
+        entityManager.flush();
+
+        List<Notification> firstPage = notificationRepository.readUserNotifications(userId, null, 2);
+        List<Notification> secondPage = notificationRepository.readUserNotifications(userId, firstPage.get(1).getId(), 2);
+        List<Notification> lastPage = notificationRepository.readUserNotifications(userId, secondPage.get(1).getId(), 2);
+
+        assertThat(firstPage).extracting(Notification::getId).containsExactly(ids.get(4), ids.get(3));
+        assertThat(secondPage).extracting(Notification::getId).containsExactly(ids.get(2), ids.get(1));
+        assertThat(lastPage).extracting(Notification::getId).containsExactly(ids.get(0));
+    }
+}
@@ -0,0 +1,140 @@
+package cz.uhk.projectmgmt.repository;
+
+import cz.uhk.projectmgmt.dto.ProjectDto;
+import cz.uhk.projectmgmt.enums.*;
+import cz.uhk.projectmgmt.model.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(ProjectRepository.class)
+class ProjectRepositoryTest {
+
+    private static final int TASK_COUNT = 200;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void readProjectWithTasksQueryCountTest() {
+        User user = entityManager.persist(new User("user", "First", "Last", "user@test.cz", "password", "test"));
+        Project project = new Project("test", "Project", PROJECT_TYPE.PUBLIC, PROJECT_STATUS.NEW, null);
+        project.setProjectMembers(Collections.singleton(
+                new ProjectMember("test", user, project, PROJECT_ROLE.OWNER, PROJECT_MEMBER_STATUS.ACTIVE, null)
+        ));
+        entityManager.persist(project);
+
+        Task previousTask = null;
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = entityManager.persist(new Task("test", "Task " + i, PRIORITY.NORMAL, TASK_STATUS.NEW, null,
+                    LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), 0, null, project.getId()));
+            if (previousTask != null)
+                entityManager.persist(new TaskRelationship(task.getId(), previousTask.getId(), TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY));
+            previousTask = task;
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        ProjectDto projectDto = projectRepository.readProjectWithTasks(project.getId()).orElseThrow().mapEntityToDTO(true);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(projectDto.getTasks()).hasSize(TASK_COUNT);
+        assertThat(projectDto.getMembers()).hasSize(1);
+        assertThat(projectDto.getTasks())
+                .filteredOn(task -> task.getTaskPredecessor().size() == 1 && task.getTaskSuccessor().size() == 1)
+                .hasSize(TASK_COUNT - 2);
+    }
+
+    @Test
+    void readAllActiveUserProjectsTest() {
+        User user = entityManager.persist(new User("user", "First", "Last", "user@test.cz", "password", "test"));
+        for (PROJECT_MEMBER_STATUS status : PROJECT_MEMBER_STATUS.values()) {
+            Project project = new Project("test", "Project " + status, PROJECT_TYPE.PUBLIC, PROJECT_STATUS.NEW, "Description");
+            project.setProjectMembers(Collections.singleton(
+                    new ProjectMember("test", user, project, PROJECT_ROLE.MEMBER, status, null)
+            ));
+            entityManager.persist(project);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ProjectDto> projects = projectRepository.readAllActiveUserProjects(user.getId());
+
+        assertThat(projects).singleElement().satisfies(project -> {
+            assertThat(project.getName()).isEqualTo("Project " + PROJECT_MEMBER_STATUS.ACTIVE);
+            assertThat(project.getDescription()).isEqualTo("Description");
+            assertThat(project.getTasks()).isEmpty();
+        });
+    }
+
+    @Test
+    void readChangesSinceVersionTest() {
+        User user = entityManager.persist(new User("user", "First", "Last", "user@test.cz", "password", "test"));
+        User other = entityManager.persist(new User("other", "First", "Last", "other@test.cz", "password", "test"));
+        Project project = new Project("test", "Project", PROJECT_TYPE.PUBLIC, PROJECT_STATUS.NEW, null);
+        ProjectMember owner = new ProjectMember("test", user, project, PROJECT_ROLE.OWNER, PROJECT_MEMBER_STATUS.ACTIVE, null);
+        owner.setChangeVersion(1);
+        ProjectMember member = new ProjectMember("test", other, project, PROJECT_ROLE.MEMBER, PROJECT_MEMBER_STATUS.ACTIVE, null);
+        member.setChangeVersion(4);
+        project.setProjectMembers(Set.of(owner, member));
+        entityManager.persist(project);
+
+        Task[] tasks = new Task[3];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new Task("test", "Task " + i, PRIORITY.NORMAL, TASK_STATUS.NEW, null,
+                    LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), 0, null, project.getId());
+            tasks[i].setChangeVersion(i + 1);
+            entityManager.persist(tasks[i]);
+        }
+        TaskRelationship oldRelationship = new TaskRelationship(tasks[1].getId(), tasks[0].getId(), TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY);
+        oldRelationship.setChangeVersion(2);
+        entityManager.persist(oldRelationship);
+        TaskRelationship newRelationship = new TaskRelationship(tasks[2].getId(), tasks[1].getId(), TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY);
+        newRelationship.setChangeVersion(3);
+        entityManager.persist(newRelationship);
+
+        entityManager.persist(new ProjectTombstone(project.getId(), PROJECT_ENTITY_TYPE.TASK, 1000, 2));
+        entityManager.persist(new ProjectTombstone(project.getId(), PROJECT_ENTITY_TYPE.TASK, 1001, 5));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(projectRepository.readChangedTasks(project.getId(), 2))
+                .extracting(Task::getId)
+                .containsExactly(tasks[2].getId());
+        assertThat(projectRepository.readChangedTaskRelationships(project.getId(), 2))
+                .extracting(TaskRelationship::getId)
+                .containsExactly(newRelationship.getId());
+        assertThat(projectRepository.readChangedProjectMembers(project.getId(), 2))
+                .extracting(pm -> pm.getUser().getId())
+                .containsExactly(other.getId());
+        assertThat(projectRepository.readTombstones(project.getId(), 2))
+                .extracting(ProjectTombstone::getEntityId)
+                .containsExactly(1001);
+        assertThat(projectRepository.readChangedTasks(project.getId(), 5)).isEmpty();
+    }
+}
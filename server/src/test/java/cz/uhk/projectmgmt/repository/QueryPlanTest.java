@@ -0,0 +1,177 @@
+package cz.uhk.projectmgmt.repository;
+
+import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
+import cz.uhk.projectmgmt.enums.TASK_RELATIONSHIP_TYPE;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the repository queries against a seeded PostgreSQL with the Flyway schema and checks their plans. Sequential
+ * scans are disabled for the check, so a query is only planned with one when no index can serve it.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=cz.uhk.projectmgmt.repository.QueryPlanTest$RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskRepository.class, ProjectRepository.class, ProjectMemberRepository.class, NotificationRepository.class,
+        NotificationCounterRepository.class, UserRepository.class})
+class QueryPlanTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationCounterRepository notificationCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        execute("insert into users (id, enable, created_on, created_by, username, first_name, last_name, password, email) " +
+                "select i, 'Y', now(), 'seed', 'user' || i, 'First', 'Last', 'password', 'user' || i || '@test.cz' " +
+                "from generate_series(1, 200) i");
+        execute("insert into projects (id, created_on, created_by, name, status, type) " +
+                "select i, now(), 'seed', 'Project ' || i, 'NEW', 'PUBLIC' from generate_series(1, 500) i");
+        execute("insert into project_members (id, created_on, created_by, project_id, user_id, role, status) " +
+                "select i, now(), 'seed', (i - 1) / 2 + 1, (i % 200) + 1, case when i % 2 = 1 then 'OWNER' else 'MEMBER' end, 'ACTIVE' " +
+                "from generate_series(1, 1000) i");
+        execute("insert into tasks (id, created_on, created_by, name, priority, status, start_date, end_date, progress, project_id, assigned_user_id) " +
+                "select i, now(), 'seed', 'Task ' || i, 'NORMAL', 'NEW', current_date, current_date + 5, 0, (i % 500) + 1, " +
+                "case when i % 3 = 0 then (i % 200) + 1 end " +
+                "from generate_series(1, 20000) i");
+        execute("insert into task_relationships (id, task_id, related_task_id, type) " +
+                "select i, i, i - 500, 'PREVIOUS_ACTIVITY' from generate_series(501, 20000) i");
+        execute("insert into notifications (id, created_on, created_by, user_id, unread, resolved, type, content) " +
+                "select i, now(), 'seed', (i % 200) + 1, case when i % 2 = 0 then 'Y' else 'N' end, 'N', 'PROJECT_INVITATION', 'Notification' " +
+                "from generate_series(1, 20000) i");
+        execute("analyze");
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void repositoryQueriesUseIndexesTest() {
+        taskRepository.findTaskByNameInProject("Task 1", 2);
+        taskRepository.readTaskSuccessor(501);
+        taskRepository.readTaskPredecessors(501);
+        taskRepository.findTaskRelationship(501, 1, TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY);
+        taskRepository.readProjectTasks(2);
+        taskRepository.readProjectTaskRelationships(2, TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY);
+        taskRepository.readUserAssignedTasks(4);
+        taskRepository.readProjectTaskDtos(2);
+        taskRepository.readUserTaskDateRanges(4, LocalDate.now(), LocalDate.now().plusDays(30), 4);
+        taskRepository.readProjectTaskNames(2);
+        projectRepository.findUserProjectByName("Project 1", 2);
+        projectRepository.readAllActiveUserProjects(2);
+        entityManager.clear();
+        projectRepository.readProjectWithTasks(2);
+        projectRepository.readChangedTasks(2, 0);
+        projectRepository.readChangedTaskRelationships(2, 0);
+        projectRepository.readChangedProjectMembers(2, 0);
+        projectRepository.readTombstones(2, 0);
+        projectMemberRepository.readProjectMembers(2);
+        projectMemberRepository.readProjectMembers(2, PROJECT_MEMBER_STATUS.ACTIVE);
+        projectMemberRepository.readProjectMember(2, 4);
+        projectMemberRepository.readProjectMemberForNotification(1);
+        notificationRepository.readUserNotifications(2, null, 50);
+        notificationRepository.readUserNotifications(2, 1000, 50);
+        notificationCounterRepository.readUnreadCount(2);
+        userRepository.findUserByUsername("user2");
+        userRepository.findUserByEmail("user2@test.cz");
+
+        List<String> statements = new ArrayList<>(RecordingStatementInspector.STATEMENTS);
+        assertThat(statements).isNotEmpty();
+
+        for (String sql : statements) {
+            assertThat(explain(sql))
+                    .as("plan of %s", sql)
+                    .noneMatch(line -> line.contains("Seq Scan"));
+        }
+    }
+
+    private List<String> explain(String sql) {
+        StringBuilder parameterized = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?')
+                parameterized.append('$').append(++parameter);
+            else
+                parameterized.append(c);
+        }
+
+        List<String> plan = new ArrayList<>();
+        entityManager.getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set local enable_seqscan = off");
+                try (ResultSet resultSet = statement.executeQuery("explain (generic_plan) " + parameterized)) {
+                    while (resultSet.next()) {
+                        plan.add(resultSet.getString(1));
+                    }
+                }
+            }
+        });
+        return plan;
+    }
+
+    private void execute(String sql) {
+        entityManager.getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+        });
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase().startsWith("select"))
+                STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
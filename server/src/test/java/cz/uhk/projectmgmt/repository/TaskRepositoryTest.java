@@ -0,0 +1,140 @@
+package cz.uhk.projectmgmt.repository;
+
+import cz.uhk.projectmgmt.dto.RelatedTaskDto;
+import cz.uhk.projectmgmt.dto.TaskDateRangeDto;
+import cz.uhk.projectmgmt.dto.TaskDto;
+import cz.uhk.projectmgmt.enums.*;
+import cz.uhk.projectmgmt.model.Project;
+import cz.uhk.projectmgmt.model.ProjectMember;
+import cz.uhk.projectmgmt.model.Task;
+import cz.uhk.projectmgmt.model.TaskRelationship;
+import cz.uhk.projectmgmt.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(TaskRepository.class)
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Test
+    void readTaskProjectionsTest() {
+        User user = entityManager.persist(new User("user", "First", "Last", "user@test.cz", "password", "test"));
+        Project project = entityManager.persist(new Project("test", "Project", PROJECT_TYPE.PUBLIC, PROJECT_STATUS.NEW, null));
+
+        Task analysis = entityManager.persist(new Task("test", "Analysis", PRIORITY.HIGH, TASK_STATUS.DONE, "Description",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5), 100, user.getId(), project.getId()));
+        Task implementation = entityManager.persist(new Task("test", "Implementation", PRIORITY.NORMAL, TASK_STATUS.NEW, null,
+                LocalDate.of(2024, 1, 6), LocalDate.of(2024, 1, 20), 0, null, project.getId()));
+        TaskRelationship relationship = entityManager.persist(
+                new TaskRelationship(implementation.getId(), analysis.getId(), TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(taskRepository.readTaskSuccessor(analysis.getId()))
+                .extracting(RelatedTaskDto::getRelatedTaskId, RelatedTaskDto::getTaskName, RelatedTaskDto::getTaskStatus)
+                .containsExactly(tuple(implementation.getId(), "Implementation", TASK_STATUS.NEW));
+        assertThat(taskRepository.readTaskPredecessors(implementation.getId()))
+                .extracting(RelatedTaskDto::getRelatedTaskId)
+                .containsExactly(analysis.getId());
+        assertThat(taskRepository.readTaskRelationshipIds(analysis.getId())).containsExactly(relationship.getId());
+        assertThat(taskRepository.readTaskRelationshipIds(implementation.getId())).containsExactly(relationship.getId());
+
+        assertThat(taskRepository.readUserAssignedTasks(user.getId())).singleElement().satisfies(task -> {
+            assertThat(task.getId()).isEqualTo(analysis.getId());
+            assertThat(task.getPriority()).isEqualTo(PRIORITY.HIGH);
+            assertThat(task.getEndDate()).isEqualTo(LocalDate.of(2024, 1, 5));
+            assertThat(task.getProgress()).isEqualTo(100);
+            assertThat(task.getTaskPredecessor()).isEmpty();
+        });
+
+        assertThat(taskRepository.readProjectTaskDtos(project.getId()))
+                .extracting(TaskDto::getId, TaskDto::getName, TaskDto::getAssignedUserId)
+                .containsExactly(tuple(analysis.getId(), "Analysis", user.getId()), tuple(implementation.getId(), "Implementation", null));
+    }
+
+    @Test
+    void readUserTaskDateRangesTest() {
+        User user = entityManager.persist(new User("user", "First", "Last", "user@test.cz", "password", "test"));
+        User manager = entityManager.persist(new User("manager", "First", "Last", "manager@test.cz", "password", "test"));
+        Project managed = entityManager.persist(new Project("test", "Managed", PROJECT_TYPE.PUBLIC, PROJECT_STATUS.NEW, null));
+        Project other = entityManager.persist(new Project("test", "Other", PROJECT_TYPE.PUBLIC, PROJECT_STATUS.NEW, null));
+        entityManager.persist(new ProjectMember("test", user, managed, PROJECT_ROLE.MEMBER, PROJECT_MEMBER_STATUS.ACTIVE, null));
+        entityManager.persist(new ProjectMember("test", manager, managed, PROJECT_ROLE.MANAGER, PROJECT_MEMBER_STATUS.ACTIVE, null));
+        entityManager.persist(new ProjectMember("test", user, other, PROJECT_ROLE.MEMBER, PROJECT_MEMBER_STATUS.ACTIVE, null));
+
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 5);
+        entityManager.persist(new Task("test", "First", PRIORITY.NORMAL, TASK_STATUS.NEW, null, start, end, 0, user.getId(), managed.getId()));
+        entityManager.persist(new Task("test", "Second", PRIORITY.NORMAL, TASK_STATUS.IN_PROGRESS, null, start, end, 0, user.getId(), managed.getId()));
+        entityManager.persist(new Task("test", "Done", PRIORITY.NORMAL, TASK_STATUS.DONE, null, start, end, 100, user.getId(), managed.getId()));
+        entityManager.persist(new Task("test", "Later", PRIORITY.NORMAL, TASK_STATUS.NEW, null, end, end.plusDays(30), 0, user.getId(), other.getId()));
+        entityManager.persist(new Task("test", "Outside", PRIORITY.NORMAL, TASK_STATUS.NEW, null, end.plusDays(20), end.plusDays(30), 0, user.getId(), other.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(taskRepository.readUserTaskDateRanges(user.getId(), start, end.plusDays(10), user.getId()))
+                .extracting(TaskDateRangeDto::getStartDate, TaskDateRangeDto::getEndDate, TaskDateRangeDto::getTasks)
+                .containsExactlyInAnyOrder(tuple(start, end, 2L), tuple(end, end.plusDays(30), 1L));
+
+        // the manager sees only the tasks of the managed project
+        assertThat(taskRepository.readUserTaskDateRanges(user.getId(), start, end.plusDays(10), manager.getId()))
+                .extracting(TaskDateRangeDto::getStartDate, TaskDateRangeDto::getTasks)
+                .containsExactly(tuple(start, 2L));
+    }
+
+    @Test
+    void persistAllBatchesInsertsTest() {
+        Project project = entityManager.persist(new Project("test", "Project", PROJECT_TYPE.PUBLIC, PROJECT_STATUS.NEW, null));
+        entityManager.flush();
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            tasks.add(new Task("test", "Task " + i, PRIORITY.NORMAL, TASK_STATUS.NEW, null,
+                    LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), 0, null, project.getId()));
+        }
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        taskRepository.persistAll(tasks);
+
+        List<TaskRelationship> relationships = new ArrayList<>();
+        for (int i = 1; i < tasks.size(); i++) {
+            relationships.add(new TaskRelationship(tasks.get(i).getId(), tasks.get(i - 1).getId(), TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY));
+        }
+        taskRepository.persistAll(relationships);
+
+        // one insert batch per table instead of a statement per row
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(45);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(taskRepository.readProjectTaskNames(project.getId())).hasSize(23);
+        // only the persisted entities are detached
+        assertThat(entityManager.getEntityManager().contains(tasks.get(0))).isFalse();
+        assertThat(entityManager.getEntityManager().contains(project)).isTrue();
+    }
+}
@@ -0,0 +1,85 @@
+package cz.uhk.projectmgmt.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CpmCalculatorTest {
+
+    @Test
+    void calculateTest() {
+        // A -> B -> D, A -> C -> D
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{40, 10, 30, 20},
+                new int[]{1, 3, 2, 4},
+                new int[]{10, 10, 20, 30},
+                new int[]{20, 30, 40, 40},
+                null,
+                null
+        );
+
+        CpmResult result = CpmCalculator.calculate(graph);
+
+        int a = graph.indexOf(10);
+        int b = graph.indexOf(20);
+        int c = graph.indexOf(30);
+        int d = graph.indexOf(40);
+
+        assertThat(result.getProjectDuration()).isEqualTo(8);
+
+        assertThat(result.earliestStart(b)).isEqualTo(3);
+        assertThat(result.earliestFinish(b)).isEqualTo(7);
+        assertThat(result.earliestStart(d)).isEqualTo(7);
+
+        assertThat(result.latestStart(a)).isEqualTo(0);
+        assertThat(result.latestStart(c)).isEqualTo(5);
+        assertThat(result.latestFinish(c)).isEqualTo(7);
+
+        assertThat(result.totalFloat(c)).isEqualTo(2);
+        assertThat(result.freeFloat(c)).isEqualTo(2);
+        assertThat(result.isCritical(a)).isTrue();
+        assertThat(result.isCritical(b)).isTrue();
+        assertThat(result.isCritical(c)).isFalse();
+        assertThat(result.isCritical(d)).isTrue();
+    }
+
+    @Test
+    void calculateFreeFloatOfLastTaskTest() {
+        // A -> B -> C, A -> D
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2, 3, 4},
+                new int[]{2, 3, 4, 1},
+                new int[]{1, 2, 1},
+                new int[]{2, 3, 4},
+                null,
+                null
+        );
+
+        CpmResult result = CpmCalculator.calculate(graph);
+
+        int c = graph.indexOf(3);
+        int d = graph.indexOf(4);
+
+        assertThat(result.getProjectDuration()).isEqualTo(9);
+        assertThat(result.freeFloat(c)).isEqualTo(0);
+        assertThat(result.totalFloat(d)).isEqualTo(6);
+        assertThat(result.freeFloat(d)).isEqualTo(6);
+    }
+
+    @Test
+    void calculateWithCycleTest() {
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2, 3, 4},
+                new int[]{1, 1, 1, 1},
+                new int[]{4, 1, 2, 3},
+                new int[]{1, 2, 3, 1},
+                null,
+                null
+        );
+
+        assertThatThrownBy(() -> CpmCalculator.calculate(graph))
+                .isInstanceOf(GraphCycleException.class)
+                .satisfies(e -> assertThat(((GraphCycleException) e).getTaskIds()).containsExactly(2, 3, 1));
+    }
+}
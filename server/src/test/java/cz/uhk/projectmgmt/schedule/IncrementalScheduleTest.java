@@ -0,0 +1,218 @@
+package cz.uhk.projectmgmt.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncrementalScheduleTest {
+
+    @Test
+    void updateTaskTest() {
+        // A -> B -> D, A -> C -> D
+        IncrementalSchedule schedule = IncrementalSchedule.of(new ProjectGraph(
+                new int[]{10, 20, 30, 40},
+                new int[]{3, 4, 2, 1},
+                new int[]{10, 10, 20, 30},
+                new int[]{20, 30, 40, 40},
+                null,
+                null
+        ), new long[4]);
+
+        schedule.updateTask(30, 0, 6);
+        IncrementalSchedule.Snapshot snapshot = schedule.snapshot();
+
+        assertThat(snapshot.getProjectDuration()).isEqualTo(10);
+        assertThat(snapshot.earliestStart(3)).isEqualTo(9);
+        assertThat(snapshot.isCritical(1)).isFalse();
+        assertThat(snapshot.totalFloat(1)).isEqualTo(2);
+        assertThat(snapshot.isCritical(2)).isTrue();
+    }
+
+    @Test
+    void addRelationshipWithCycleTest() {
+        IncrementalSchedule schedule = IncrementalSchedule.of(new ProjectGraph(
+                new int[]{1, 2, 3},
+                new int[]{1, 1, 1},
+                new int[]{1, 2},
+                new int[]{2, 3},
+                null,
+                null
+        ), new long[3]);
+
+        assertThatThrownBy(() -> schedule.addRelationship(3, 1))
+                .isInstanceOf(GraphCycleException.class)
+                .satisfies(e -> assertThat(((GraphCycleException) e).getTaskIds()).containsExactly(1, 2, 3));
+        assertThat(schedule.snapshot().getProjectDuration()).isEqualTo(3);
+    }
+
+    @Test
+    void checkRelationshipTest() {
+        // 1 -> 2 -> 3, 4 -> 5
+        IncrementalSchedule schedule = IncrementalSchedule.of(new ProjectGraph(
+                new int[]{1, 2, 3, 4, 5},
+                new int[]{1, 1, 1, 1, 1},
+                new int[]{1, 2, 4},
+                new int[]{2, 3, 5},
+                null,
+                null
+        ), new long[5]);
+
+        schedule.checkRelationship(5, 1);
+        assertThat(schedule.snapshot().getProjectDuration()).isEqualTo(3);
+
+        schedule.addRelationship(5, 1);
+        assertThat(schedule.snapshot().getProjectDuration()).isEqualTo(5);
+
+        assertThatThrownBy(() -> schedule.checkRelationship(3, 4))
+                .isInstanceOf(GraphCycleException.class)
+                .satisfies(e -> assertThat(((GraphCycleException) e).getTaskIds()).containsExactly(4, 5, 1, 2, 3));
+        assertThatThrownBy(() -> schedule.checkRelationship(2, 2)).isInstanceOf(GraphCycleException.class);
+    }
+
+    @Test
+    void candidatesTest() {
+        assertCandidates(IncrementalSchedule.MAX_REACHABILITY_TASKS);
+    }
+
+    @Test
+    void candidatesWithoutReachabilityIndexTest() {
+        assertCandidates(0);
+    }
+
+    @Test
+    void randomChangesMatchFullRecalculationTest() {
+        Random random = new Random(7);
+        Map<Integer, Integer> durations = new TreeMap<>();
+        Set<Long> relationships = new HashSet<>();
+        for (int taskId = 1; taskId <= 200; taskId++) {
+            durations.put(taskId, 1 + random.nextInt(10));
+        }
+        for (int i = 0; i < 300; i++) {
+            int predecessor = 1 + random.nextInt(199);
+            int successor = predecessor + 1 + random.nextInt(200 - predecessor);
+            relationships.add(key(predecessor, successor));
+        }
+
+        IncrementalSchedule schedule = IncrementalSchedule.of(graph(durations, relationships), new long[durations.size()]);
+        int nextTaskId = 201;
+
+        for (int step = 0; step < 2_000; step++) {
+            List<Integer> taskIds = new ArrayList<>(durations.keySet());
+            int operation = random.nextInt(10);
+            if (operation < 4) {
+                int taskId = taskIds.get(random.nextInt(taskIds.size()));
+                int duration = 1 + random.nextInt(10);
+                durations.put(taskId, duration);
+                schedule.updateTask(taskId, 0, duration);
+            } else if (operation < 7) {
+                int predecessor = taskIds.get(random.nextInt(taskIds.size()));
+                int successor = taskIds.get(random.nextInt(taskIds.size()));
+                try {
+                    schedule.addRelationship(predecessor, successor);
+                    relationships.add(key(predecessor, successor));
+                } catch (GraphCycleException e) {
+                    relationships.add(key(predecessor, successor));
+                    assertThatThrownBy(() -> graph(durations, relationships).topologicalOrder()).isInstanceOf(GraphCycleException.class);
+                    relationships.remove(key(predecessor, successor));
+                }
+            } else if (operation < 9 && !relationships.isEmpty()) {
+                long relationship = relationships.iterator().next();
+                relationships.remove(relationship);
+                schedule.removeRelationship((int) (relationship >> 32), (int) relationship);
+            } else if (operation == 9 && random.nextBoolean()) {
+                int taskId = taskIds.get(random.nextInt(taskIds.size()));
+                durations.remove(taskId);
+                relationships.removeIf(relationship -> (int) (relationship >> 32) == taskId || (int) (long) relationship == taskId);
+                schedule.removeTask(taskId);
+            } else {
+                int duration = 1 + random.nextInt(10);
+                durations.put(nextTaskId, duration);
+                schedule.addTask(nextTaskId++, 0, duration);
+            }
+
+            assertMatchesFullRecalculation(schedule.snapshot(), graph(durations, relationships));
+
+            int taskId = taskIds.get(random.nextInt(taskIds.size()));
+            if (durations.containsKey(taskId))
+                assertThat(schedule.candidatePredecessors(taskId)).containsExactly(candidatePredecessors(taskId, durations, relationships).stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private static void assertCandidates(int reachabilityLimit) {
+        // 1 -> 2 -> 3, 1 -> 4, 5
+        IncrementalSchedule schedule = IncrementalSchedule.of(new ProjectGraph(
+                new int[]{1, 2, 3, 4, 5},
+                new int[]{1, 1, 1, 1, 1},
+                new int[]{1, 2, 1},
+                new int[]{2, 3, 4},
+                null,
+                null
+        ), new long[5], reachabilityLimit);
+
+        assertThat(schedule.candidatePredecessors(2)).containsExactly(4, 5);
+        assertThat(schedule.candidateSuccessors(2)).containsExactly(4, 5);
+        assertThat(schedule.candidatePredecessors(1)).containsExactly(5);
+
+        schedule.addRelationship(5, 1);
+        assertThat(schedule.candidatePredecessors(2)).containsExactly(4, 5);
+        assertThat(schedule.candidateSuccessors(2)).containsExactly(4);
+
+        schedule.removeRelationship(1, 2);
+        assertThat(schedule.candidateSuccessors(2)).containsExactly(1, 4, 5);
+
+        schedule.removeTask(4);
+        assertThat(schedule.candidatePredecessors(3)).containsExactly(1, 5);
+    }
+
+    private static void assertMatchesFullRecalculation(IncrementalSchedule.Snapshot snapshot, ProjectGraph graph) {
+        CpmResult result = CpmCalculator.calculate(graph);
+
+        assertThat(snapshot.size()).isEqualTo(graph.size());
+        assertThat(snapshot.getProjectDuration()).isEqualTo(result.getProjectDuration());
+        for (int i = 0; i < snapshot.size(); i++) {
+            int index = graph.indexOf(snapshot.taskId(i));
+            assertThat(snapshot.earliestStart(i)).isEqualTo(result.earliestStart(index));
+            assertThat(snapshot.earliestFinish(i)).isEqualTo(result.earliestFinish(index));
+            assertThat(snapshot.latestStart(i)).isEqualTo(result.latestStart(index));
+            assertThat(snapshot.latestFinish(i)).isEqualTo(result.latestFinish(index));
+            assertThat(snapshot.freeFloat(i)).isEqualTo(result.freeFloat(index));
+        }
+    }
+
+    private static List<Integer> candidatePredecessors(int taskId, Map<Integer, Integer> durations, Set<Long> relationships) {
+        Set<Integer> excluded = new HashSet<>();
+        Deque<Integer> stack = new ArrayDeque<>(List.of(taskId));
+        while (!stack.isEmpty()) {
+            int current = stack.pop();
+            if (excluded.add(current)) {
+                for (long relationship : relationships) {
+                    if ((int) (relationship >> 32) == current)
+                        stack.push((int) relationship);
+                }
+            }
+        }
+        for (long relationship : relationships) {
+            if ((int) relationship == taskId)
+                excluded.add((int) (relationship >> 32));
+        }
+
+        List<Integer> candidates = new ArrayList<>(durations.keySet());
+        candidates.removeAll(excluded);
+        return candidates;
+    }
+
+    private static ProjectGraph graph(Map<Integer, Integer> durations, Set<Long> relationships) {
+        int[] taskIds = durations.keySet().stream().mapToInt(Integer::intValue).toArray();
+        int[] taskDurations = durations.values().stream().mapToInt(Integer::intValue).toArray();
+        int[] predecessorIds = relationships.stream().mapToInt(relationship -> (int) (relationship >> 32)).toArray();
+        int[] successorIds = relationships.stream().mapToInt(relationship -> (int) (long) relationship).toArray();
+        return new ProjectGraph(taskIds, taskDurations, predecessorIds, successorIds, null, null);
+    }
+
+    private static long key(int predecessor, int successor) {
+        return (long) predecessor << 32 | successor;
+    }
+}
@@ -0,0 +1,102 @@
+package cz.uhk.projectmgmt.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpmCalculatorTest {
+
+    private static final int NO = ProjectGraph.NO_TIME_GAP;
+
+    @Test
+    void calculateWithMinimumTimeGapTest() {
+        // A -(min 3)-> B
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2},
+                new int[]{2, 1},
+                new int[]{1},
+                new int[]{2},
+                new int[]{3},
+                new int[]{NO}
+        );
+
+        MpmResult result = MpmCalculator.calculate(graph);
+
+        assertThat(result.isFeasible()).isTrue();
+        assertThat(result.earliestStart(graph.indexOf(2))).isEqualTo(5);
+        assertThat(result.getProjectDuration()).isEqualTo(6);
+    }
+
+    @Test
+    void calculateWithMaximumTimeGapTest() {
+        // A(1) -(max 0)-> C(1), B(5) -> C, so A has to wait for B
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2, 3},
+                new int[]{1, 5, 1},
+                new int[]{1, 2},
+                new int[]{3, 3},
+                new int[]{NO, NO},
+                new int[]{0, NO}
+        );
+
+        MpmResult result = MpmCalculator.calculate(graph);
+
+        assertThat(result.isFeasible()).isTrue();
+        assertThat(result.earliestStart(graph.indexOf(1))).isEqualTo(4);
+        assertThat(result.earliestStart(graph.indexOf(3))).isEqualTo(5);
+        assertThat(result.latestStart(graph.indexOf(1))).isEqualTo(4);
+        assertThat(result.latestStart(graph.indexOf(2))).isEqualTo(0);
+    }
+
+    @Test
+    void calculateInfeasibleTest() {
+        // A(2) -> B(1) -> C(1), A -(max 0)-> C cannot hold
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2, 3},
+                new int[]{2, 1, 1},
+                new int[]{1, 2, 1},
+                new int[]{2, 3, 3},
+                new int[]{NO, NO, NO},
+                new int[]{NO, NO, 0}
+        );
+
+        MpmResult result = MpmCalculator.calculate(graph);
+
+        assertThat(result.isFeasible()).isFalse();
+        assertThat(result.getConflictEdges()).containsExactlyInAnyOrder(0, 1, 2);
+    }
+
+    @Test
+    void calculateWithoutTimeGapsMatchesCpmTest() {
+        final int n = 10_000;
+        final int m = 50_000;
+        SplittableRandom random = new SplittableRandom(42);
+
+        int[] taskIds = new int[n];
+        int[] durations = new int[n];
+        for (int i = 0; i < n; i++) {
+            taskIds[i] = i + 1;
+            durations[i] = 1 + random.nextInt(10);
+        }
+        int[] predecessors = new int[m];
+        int[] successors = new int[m];
+        for (int e = 0; e < m; e++) {
+            int a = 1 + random.nextInt(n - 1);
+            predecessors[e] = a;
+            successors[e] = a + 1 + random.nextInt(Math.min(50, n - a));
+        }
+
+        ProjectGraph graph = new ProjectGraph(taskIds, durations, predecessors, successors, null, null);
+        CpmResult cpm = CpmCalculator.calculate(graph);
+        MpmResult mpm = MpmCalculator.calculate(graph);
+
+        assertThat(mpm.isFeasible()).isTrue();
+        assertThat(mpm.getProjectDuration()).isEqualTo(cpm.getProjectDuration());
+        for (int i = 0; i < n; i++) {
+            assertThat(mpm.earliestStart(i)).isEqualTo(cpm.earliestStart(i));
+            assertThat(mpm.latestStart(i)).isEqualTo(cpm.latestStart(i));
+        }
+    }
+}
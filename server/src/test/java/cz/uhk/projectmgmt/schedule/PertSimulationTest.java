@@ -0,0 +1,62 @@
+package cz.uhk.projectmgmt.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PertSimulationTest {
+
+    // A -> B -> D, A -> C -> D
+    private static final ProjectGraph GRAPH = new ProjectGraph(
+            new int[]{1, 2, 3, 4},
+            new int[]{1, 1, 1, 1},
+            new int[]{1, 1, 2, 3},
+            new int[]{2, 3, 4, 4},
+            null,
+            null
+    );
+
+    @Test
+    void simulateDeterministicEstimationsTest() {
+        PertSimulationResult result = PertSimulation.simulate(
+                GRAPH,
+                new int[]{1, 3, 2, 4},
+                new int[]{1, 3, 2, 4},
+                new int[]{1, 3, 2, 4},
+                1_000,
+                new SplittableRandom(1),
+                ForkJoinPool.commonPool()
+        );
+
+        assertThat(result.getIterations()).isEqualTo(1_000);
+        assertThat(result.percentile(50)).isEqualTo(8.0);
+        assertThat(result.percentile(95)).isEqualTo(8.0);
+        assertThat(result.criticalityIndex(GRAPH.indexOf(2))).isEqualTo(1.0);
+        assertThat(result.criticalityIndex(GRAPH.indexOf(3))).isEqualTo(0.0);
+    }
+
+    @Test
+    void simulateMergingPathsTest() {
+        // B and C follow the same distribution, the merge point D shifts the expected duration right
+        PertSimulationResult result = PertSimulation.simulate(
+                GRAPH,
+                new int[]{0, 2, 2, 0},
+                new int[]{0, 5, 5, 0},
+                new int[]{0, 8, 8, 0},
+                20_000,
+                new SplittableRandom(7),
+                ForkJoinPool.commonPool()
+        );
+
+        assertThat(result.getMeanDuration()).isGreaterThan(5.3);
+        assertThat(result.percentile(50)).isLessThanOrEqualTo(result.percentile(80));
+        assertThat(result.percentile(80)).isLessThanOrEqualTo(result.percentile(95));
+        assertThat(result.percentile(95)).isLessThanOrEqualTo(8.0);
+        assertThat(result.criticalityIndex(GRAPH.indexOf(2)) + result.criticalityIndex(GRAPH.indexOf(3)))
+                .isCloseTo(1.0, within(0.01));
+    }
+}
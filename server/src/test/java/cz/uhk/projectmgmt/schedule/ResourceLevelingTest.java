@@ -0,0 +1,182 @@
+package cz.uhk.projectmgmt.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResourceLevelingTest {
+
+    private static final int NONE = ResourceLeveling.NO_RESOURCE;
+
+    @Test
+    void levelSharedResourceTest() {
+        // A -> C, B independent, A and B share one user
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2, 3},
+                new int[]{2, 3, 1},
+                new int[]{1},
+                new int[]{3},
+                null,
+                null
+        );
+        int a = graph.indexOf(1);
+        int b = graph.indexOf(2);
+        int c = graph.indexOf(3);
+
+        int[] resources = new int[3];
+        resources[a] = 0;
+        resources[b] = 0;
+        resources[c] = NONE;
+
+        LevelingResult result = ResourceLeveling.level(graph, resources, new int[3], 1);
+
+        assertThat(result.getCpmResult().getProjectDuration()).isEqualTo(3);
+        assertThat(result.getProjectDuration()).isEqualTo(5);
+
+        // A finishes earlier in the unleveled schedule, so it goes first
+        assertThat(result.start(a)).isEqualTo(0);
+        assertThat(result.start(b)).isEqualTo(2);
+        assertThat(result.delay(b)).isEqualTo(2);
+        assertThat(result.start(c)).isEqualTo(2);
+        assertThat(result.delay(c)).isEqualTo(0);
+    }
+
+    @Test
+    void levelByPriorityTest() {
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2},
+                new int[]{3, 3},
+                new int[0],
+                new int[0],
+                null,
+                null
+        );
+        int a = graph.indexOf(1);
+        int b = graph.indexOf(2);
+
+        int[] priorities = new int[2];
+        priorities[a] = 2;
+        priorities[b] = 0;
+
+        LevelingResult result = ResourceLeveling.level(graph, new int[]{0, 0}, priorities, 1);
+
+        assertThat(result.start(b)).isEqualTo(0);
+        assertThat(result.start(a)).isEqualTo(3);
+        assertThat(result.getProjectDuration()).isEqualTo(6);
+    }
+
+    @Test
+    void levelIntoGapTest() {
+        // A -> B with user 0 free between them, C of user 0 fits into the gap
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2, 3, 4},
+                new int[]{1, 1, 2, 2},
+                new int[]{1, 4},
+                new int[]{4, 2},
+                null,
+                null
+        );
+        int[] resources = new int[4];
+        resources[graph.indexOf(1)] = 0;
+        resources[graph.indexOf(2)] = 0;
+        resources[graph.indexOf(3)] = 0;
+        resources[graph.indexOf(4)] = NONE;
+
+        LevelingResult result = ResourceLeveling.level(graph, resources, new int[4], 1);
+
+        assertThat(result.start(graph.indexOf(3))).isEqualTo(1);
+        assertThat(result.start(graph.indexOf(2))).isEqualTo(3);
+        assertThat(result.getProjectDuration()).isEqualTo(4);
+    }
+
+    @Test
+    void levelAroundUnavailableDaysTest() {
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2},
+                new int[]{2, 2},
+                new int[0],
+                new int[0],
+                null,
+                null
+        );
+        int a = graph.indexOf(1);
+        int b = graph.indexOf(2);
+
+        // user 0 is off on day 1, user 1 on days 0 and 3
+        int[] resources = new int[2];
+        resources[a] = 0;
+        resources[b] = 1;
+
+        LevelingResult result = ResourceLeveling.level(graph, resources, new int[2], 1, new int[][]{{1}, {0, 3}});
+
+        assertThat(result.start(a)).isEqualTo(2);
+        assertThat(result.start(b)).isEqualTo(1);
+        assertThat(result.getProjectDuration()).isEqualTo(4);
+    }
+
+    @Test
+    void levelLargeProjectTest() {
+        final int n = 10_000;
+        final int users = 50;
+        SplittableRandom random = new SplittableRandom(3);
+
+        int[] taskIds = new int[n];
+        int[] durations = new int[n];
+        int[] resources = new int[n];
+        int[] priorities = new int[n];
+        int[] predecessorIds = new int[2 * n];
+        int[] successorIds = new int[2 * n];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            taskIds[i] = i;
+            durations[i] = 1 + random.nextInt(10);
+            resources[i] = random.nextInt(10) == 0 ? NONE : random.nextInt(users);
+            priorities[i] = random.nextInt(4);
+            for (int k = 0; k < 2 && i > 0; k++) {
+                predecessorIds[m] = Math.max(0, i - 1 - random.nextInt(64));
+                successorIds[m] = i;
+                m++;
+            }
+        }
+        ProjectGraph graph = new ProjectGraph(taskIds, durations,
+                Arrays.copyOf(predecessorIds, m), Arrays.copyOf(successorIds, m), null, null);
+
+        LevelingResult result = ResourceLeveling.level(graph, resources, priorities, 1);
+
+        int[][] usage = new int[users][result.getProjectDuration()];
+        for (int i = 0; i < n; i++) {
+            assertThat(result.finish(i) - result.start(i)).isEqualTo(graph.duration(i));
+            assertThat(result.delay(i)).isGreaterThanOrEqualTo(0);
+            for (int p = graph.predecessorStart(i); p < graph.predecessorEnd(i); p++) {
+                assertThat(result.start(i)).isGreaterThanOrEqualTo(result.finish(graph.predecessor(p)));
+            }
+            if (resources[i] != NONE) {
+                for (int day = result.start(i); day < result.finish(i); day++) {
+                    usage[resources[i]][day]++;
+                }
+            }
+        }
+        for (int[] profile : usage) {
+            assertThat(Arrays.stream(profile).max().orElse(0)).isLessThanOrEqualTo(1);
+        }
+    }
+
+    @Test
+    void levelWithCycleTest() {
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2},
+                new int[]{1, 1},
+                new int[]{1, 2},
+                new int[]{2, 1},
+                null,
+                null
+        );
+
+        assertThatThrownBy(() -> ResourceLeveling.level(graph, new int[]{0, 0}, new int[2], 1))
+                .isInstanceOf(GraphCycleException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package cz.uhk.projectmgmt.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchedulePropagationTest {
+
+    @Test
+    void propagateTest() {
+        // A -> B -> D, A -> C -> D, E unrelated, C starts 2 days after A finishes
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2, 3, 4, 5},
+                new int[]{5, 2, 2, 1, 3},
+                new int[]{1, 1, 2, 3},
+                new int[]{2, 3, 4, 4},
+                new int[]{ProjectGraph.NO_TIME_GAP, 2, 0, 0},
+                null
+        );
+        int a = graph.indexOf(1);
+        int b = graph.indexOf(2);
+        int c = graph.indexOf(3);
+        int d = graph.indexOf(4);
+        int e = graph.indexOf(5);
+
+        // A grew from 3 to 5 days, B still fits after it only with one day to spare
+        long[] startDays = new long[5];
+        startDays[a] = 0;
+        startDays[b] = 6;
+        startDays[c] = 5;
+        startDays[d] = 8;
+        startDays[e] = 0;
+
+        int[] shifted = SchedulePropagation.propagate(graph, startDays, a);
+
+        assertThat(shifted).containsExactly(c, d);
+        assertThat(startDays[b]).isEqualTo(6);
+        assertThat(startDays[c]).isEqualTo(7);
+        assertThat(startDays[d]).isEqualTo(9);
+        assertThat(startDays[e]).isEqualTo(0);
+    }
+
+    @Test
+    void propagateNotBackwardsTest() {
+        ProjectGraph graph = new ProjectGraph(
+                new int[]{1, 2},
+                new int[]{1, 1},
+                new int[]{1},
+                new int[]{2},
+                null,
+                null
+        );
+
+        long[] startDays = {0, 10};
+
+        assertThat(SchedulePropagation.propagate(graph, startDays, graph.indexOf(1))).isEmpty();
+        assertThat(startDays).containsExactly(0, 10);
+    }
+}
@@ -0,0 +1,101 @@
+package cz.uhk.projectmgmt.schedule;
+
+import cz.uhk.projectmgmt.enums.PROJECT_STATUS;
+import cz.uhk.projectmgmt.enums.PROJECT_TYPE;
+import cz.uhk.projectmgmt.model.Project;
+import cz.uhk.projectmgmt.model.ProjectDayOff;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkingCalendarTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void convertTest() {
+        WorkingCalendar calendar = WorkingCalendar.of(day(0), day(30), WorkingCalendar.MONDAY_TO_FRIDAY, new long[]{day(2)});
+
+        assertThat(calendar.workingDayIndex(day(0))).isEqualTo(0);
+        assertThat(calendar.workingDayIndex(day(1))).isEqualTo(1);
+        assertThat(calendar.isWorkingDay(day(2))).isFalse();
+        assertThat(calendar.workingDayIndex(day(2))).isEqualTo(2);
+        assertThat(calendar.workingDayIndex(day(3))).isEqualTo(2);
+        assertThat(calendar.isWorkingDay(day(5))).isFalse();
+        assertThat(calendar.workingDayIndex(day(7))).isEqualTo(4);
+
+        assertThat(calendar.epochDay(2)).isEqualTo(day(3));
+        assertThat(calendar.epochDay(4)).isEqualTo(day(7));
+        assertThat(calendar.workingDays(day(0), day(6))).isEqualTo(4);
+        assertThat(calendar.endDay(day(0), 5)).isEqualTo(day(7));
+        assertThat(calendar.endDay(day(5), 1)).isEqualTo(day(7));
+    }
+
+    @Test
+    void projectCalendarTest() {
+        Project project = new Project("tester", "Project", PROJECT_TYPE.PUBLIC, PROJECT_STATUS.NEW, null);
+        project.setWorkingWeekDays(WorkingCalendar.weekDaysMask(List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY)));
+        WorkingCalendar calendar = WorkingCalendar.ofProject(day(0), project, List.of(
+                new ProjectDayOff(1, null, MONDAY.plusDays(7)),
+                new ProjectDayOff(1, 5, MONDAY.plusDays(8))
+        ));
+
+        // only the holiday of the whole project is a non-working day
+        assertThat(calendar.isWorkingDay(day(7))).isFalse();
+        assertThat(calendar.isWorkingDay(day(8))).isTrue();
+        assertThat(calendar.workingDays(day(0), day(13))).isEqualTo(3);
+    }
+
+    @Test
+    void convertAfterHorizonTest() {
+        WorkingCalendar calendar = WorkingCalendar.of(day(0), day(30), WorkingCalendar.MONDAY_TO_FRIDAY, new long[]{day(2)});
+
+        // February 1 is a Thursday, January has 23 week days and one holiday
+        assertThat(calendar.workingDayIndex(day(31))).isEqualTo(22);
+        assertThat(calendar.workingDayIndex(day(35))).isEqualTo(24);
+        assertThat(calendar.epochDay(24)).isEqualTo(day(35));
+        assertThat(calendar.isWorkingDay(day(34))).isFalse();
+    }
+
+    @Test
+    void convertMatchesDayByDayCountTest() {
+        int workingWeekDays = WorkingCalendar.weekDaysMask(List.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.SATURDAY));
+        long[] holidays = {day(9), day(40), day(41), day(100), day(14), day(150)};
+        WorkingCalendar calendar = WorkingCalendar.of(day(0), day(60), workingWeekDays, holidays);
+
+        int index = 0;
+        for (int offset = 0; offset < 800; offset++) {
+            LocalDate date = MONDAY.plusDays(offset);
+            boolean working = (workingWeekDays & (1 << (date.getDayOfWeek().getValue() - 1))) != 0
+                    && offset != 9 && offset != 40 && offset != 41 && offset != 100 && offset != 14 && offset != 150;
+
+            assertThat(calendar.isWorkingDay(date.toEpochDay())).as("working %s", date).isEqualTo(working);
+            assertThat(calendar.workingDayIndex(date.toEpochDay())).as("index of %s", date).isEqualTo(index);
+            if (working) {
+                assertThat(calendar.epochDay(index)).as("day of %d", index).isEqualTo(date.toEpochDay());
+                index++;
+            }
+        }
+    }
+
+    @Test
+    void convertBeforeStartTest() {
+        WorkingCalendar calendar = WorkingCalendar.of(day(0), day(30), WorkingCalendar.MONDAY_TO_FRIDAY, new long[0]);
+
+        assertThatThrownBy(() -> calendar.workingDayIndex(day(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WorkingCalendar.of(day(0), day(30), 0, new long[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WorkingCalendar.of(day(0), day(30), WorkingCalendar.MONDAY_TO_FRIDAY, new long[]{day(0) + Integer.MAX_VALUE}))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    private static long day(int offset) {
+        return MONDAY.toEpochDay() + offset;
+    }
+}
@@ -0,0 +1,57 @@
+package cz.uhk.projectmgmt.security.jwt;
+
+import cz.uhk.projectmgmt.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "abcdefghijklmnOPQRSTUVWXYZ";
+
+    private final JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000, 120_000);
+
+    @Test
+    void parsePrincipalTest() {
+        User user = new User("tester", "Ivan", "Tester", "test@test.com", "", "");
+        user.setId(7);
+
+        Claims claims = jwtUtils.parseToken(jwtUtils.generateToken(user)).orElseThrow();
+
+        assertThat(jwtUtils.parsePrincipal(claims)).hasValueSatisfying(principal -> {
+            assertThat(principal.getId()).isEqualTo(7);
+            assertThat(principal.getUsername()).isEqualTo("tester");
+            assertThat(principal.getFullName()).isEqualTo("Ivan Tester");
+            assertThat(principal.isEnabled()).isTrue();
+        });
+    }
+
+    @Test
+    void parseInvalidTokenTest() {
+        User user = new User("tester", "Ivan", "Tester", "test@test.com", "", "");
+        user.setId(7);
+        String token = jwtUtils.generateToken(user);
+
+        assertThat(jwtUtils.parseToken(token.substring(0, token.length() - 2))).isEmpty();
+        assertThat(new JwtUtils(SECRET, -1, -1).parseToken(new JwtUtils(SECRET, -1, -1).generateToken(user))).isEmpty();
+    }
+
+    @Test
+    void parseTokenWithoutUserClaimsTest() {
+        String token = Jwts.builder()
+                .setSubject("tester")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+
+        Claims claims = jwtUtils.parseToken(token).orElseThrow();
+
+        assertThat(claims.getSubject()).isEqualTo("tester");
+        assertThat(jwtUtils.parsePrincipal(claims)).isEmpty();
+    }
+}
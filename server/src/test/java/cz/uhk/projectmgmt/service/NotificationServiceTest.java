@@ -1,19 +1,24 @@
 package cz.uhk.projectmgmt.service;
 
 import cz.uhk.projectmgmt.dto.NotificationDto;
+import cz.uhk.projectmgmt.enums.NOTIFICATION_EVENT_TYPE;
 import cz.uhk.projectmgmt.enums.NOTIFICATION_TYPE;
 import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
 import cz.uhk.projectmgmt.enums.PROJECT_ROLE;
 import cz.uhk.projectmgmt.model.Notification;
+import cz.uhk.projectmgmt.model.Project;
 import cz.uhk.projectmgmt.model.ProjectMember;
 import cz.uhk.projectmgmt.model.User;
+import cz.uhk.projectmgmt.repository.NotificationCounterRepository;
 import cz.uhk.projectmgmt.repository.NotificationRepository;
 import cz.uhk.projectmgmt.repository.ProjectMemberRepository;
+import cz.uhk.projectmgmt.repository.ProjectRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Collections;
 import java.util.List;
@@ -21,7 +26,9 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationServiceTest {
@@ -32,11 +39,34 @@ class NotificationServiceTest {
     @Mock
     private ProjectMemberRepository projectMemberRepository;
 
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private NotificationCounterRepository notificationCounterRepository;
+
+    @Mock
+    private ProjectRoleCache projectRoleCache;
+
+    @Mock
+    private NotificationEventRegistry notificationEventRegistry;
+
     @InjectMocks
     private NotificationService notificationService;
 
     private static final User TEST_USER = new User("tester", "Ivan", "Tester", "test@test.com", "", "");
 
+    @Test
+    void subscribeToNotificationsTest() {
+        // ids outside of the Integer cache are boxed to different instances
+        final Integer userId = 1000;
+        TEST_USER.setId(1000);
+        SseEmitter emitter = new SseEmitter();
+        given(notificationEventRegistry.subscribe(userId)).willReturn(emitter);
+
+        assertThat(notificationService.subscribeToNotifications(userId, TEST_USER)).isSameAs(emitter);
+    }
+
     @Test
     void readUserNotificationsTest() {
         final Integer userId = 1;
@@ -50,10 +80,10 @@ class NotificationServiceTest {
                 "TEST"
         );
 
-        given(notificationRepository.readUserNotifications(userId))
+        given(notificationRepository.readUserNotifications(userId, null, 50))
                 .willReturn(Collections.singletonList(notification));
 
-        List<NotificationDto> notifications = notificationService.readUserNotifications(userId, TEST_USER);
+        List<NotificationDto> notifications = notificationService.readUserNotifications(userId, null, 50, TEST_USER);
 
         assertThat(notifications).isNotEmpty();
         assertThat(notifications.size()).isEqualTo(1);
@@ -64,7 +94,7 @@ class NotificationServiceTest {
         final Integer userId = 1;
         TEST_USER.setId(userId);
 
-        given(notificationRepository.readUnreadNotificationsCount(userId))
+        given(notificationCounterRepository.readUnreadCount(userId))
                 .willReturn(25);
 
         Integer unreadNotificationsCount = notificationService.readUnreadNotificationsCountForUser(userId, TEST_USER);
@@ -90,6 +120,8 @@ class NotificationServiceTest {
         notificationService.markNotificationAsRead(notificationId, TEST_USER);
 
         assertThat(notification.isUnread()).isFalse();
+        then(notificationCounterRepository).should().adjustUnreadCount(userId, -1);
+        then(notificationEventRegistry).should().publish(eq(userId), eq(NOTIFICATION_EVENT_TYPE.READ), any());
     }
 
     @Test
@@ -109,12 +141,15 @@ class NotificationServiceTest {
         assertThat(notification.getContent()).isEqualTo(content);
         assertThat(notification.isResolved()).isFalse();
         assertThat(notification.isUnread()).isTrue();
+        then(notificationCounterRepository).should().adjustUnreadCount(userId, 1);
+        then(notificationEventRegistry).should().publish(eq(userId), eq(NOTIFICATION_EVENT_TYPE.CREATED), any());
     }
 
     @Test
     void resolveNotificationTest() {
         final Integer userId = 1;
         final Integer notificationId = 1;
+        final Integer projectId = 1;
         TEST_USER.setId(userId);
 
         final Notification notification = new Notification(
@@ -126,15 +161,20 @@ class NotificationServiceTest {
         );
         notification.setId(notificationId);
 
+        final Project project = new Project();
+        project.setId(projectId);
+
         given(notificationRepository.findById(notificationId))
                 .willReturn(Optional.of(notification));
 
         given(projectMemberRepository.readProjectMemberForNotification(notificationId))
-                .willReturn(Optional.of(new ProjectMember("", TEST_USER, null, PROJECT_ROLE.MEMBER, PROJECT_MEMBER_STATUS.WAITING_FOR_CONFIRMATION, null)));
+                .willReturn(Optional.of(new ProjectMember("", TEST_USER, project, PROJECT_ROLE.MEMBER, PROJECT_MEMBER_STATUS.WAITING_FOR_CONFIRMATION, null)));
 
         notificationService.resolveNotification(notificationId, true, TEST_USER);
 
 
         assertThat(notification.isResolved()).isTrue();
+        then(projectRoleCache).should().evict(projectId, userId);
+        then(projectRepository).should().incrementContentVersion(projectId);
     }
 }
\ No newline at end of file
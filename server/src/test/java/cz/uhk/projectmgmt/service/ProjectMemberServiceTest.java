@@ -2,13 +2,16 @@ package cz.uhk.projectmgmt.service;
 
 import cz.uhk.projectmgmt.dto.CreateProjectMemberDto;
 import cz.uhk.projectmgmt.dto.ProjectMemberDto;
+import cz.uhk.projectmgmt.enums.PROJECT_ENTITY_TYPE;
 import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
 import cz.uhk.projectmgmt.enums.PROJECT_ROLE;
 import cz.uhk.projectmgmt.model.Notification;
 import cz.uhk.projectmgmt.model.Project;
 import cz.uhk.projectmgmt.model.ProjectMember;
+import cz.uhk.projectmgmt.model.ProjectTombstone;
 import cz.uhk.projectmgmt.model.User;
 import cz.uhk.projectmgmt.repository.ProjectMemberRepository;
+import cz.uhk.projectmgmt.repository.ProjectRepository;
 import cz.uhk.projectmgmt.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,7 +27,9 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 
 @ExtendWith(MockitoExtension.class)
 class ProjectMemberServiceTest {
@@ -38,12 +43,18 @@ class ProjectMemberServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProjectRepository projectRepository;
+
     @Mock
     private NotificationService notificationService;
 
     @Mock
     private MessageSource messageSource;
 
+    @Mock
+    private ProjectRoleCache projectRoleCache;
+
     @InjectMocks
     private ProjectMemberService projectMemberService;
 
@@ -114,6 +125,7 @@ class ProjectMemberServiceTest {
         projectMemberService.changeProjectMemberRole(projectId, userId, PROJECT_ROLE.OWNER, TEST_USER);
 
         assertThat(projectMember.getRole()).isEqualTo(PROJECT_ROLE.OWNER);
+        then(projectRepository).should().incrementContentVersion(projectId);
     }
 
     @Test
@@ -129,6 +141,9 @@ class ProjectMemberServiceTest {
                 .willReturn(Optional.of(new ProjectMember()));
 
         projectMemberService.deleteProjectMember(projectId, userId, TEST_USER);
+
+        then(projectRepository).should().persist(argThat((ProjectTombstone tombstone) ->
+                tombstone.getEntityType() == PROJECT_ENTITY_TYPE.PROJECT_MEMBER && tombstone.getEntityId().equals(userId)));
     }
 
     @Test
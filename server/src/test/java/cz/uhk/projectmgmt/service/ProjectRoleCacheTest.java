@@ -0,0 +1,44 @@
+package cz.uhk.projectmgmt.service;
+
+import cz.uhk.projectmgmt.enums.PROJECT_MEMBER_STATUS;
+import cz.uhk.projectmgmt.enums.PROJECT_ROLE;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectRoleCacheTest {
+
+    private static final ProjectRoleCache.ProjectMemberRole MANAGER =
+            new ProjectRoleCache.ProjectMemberRole(PROJECT_ROLE.MANAGER, PROJECT_MEMBER_STATUS.ACTIVE);
+
+    @Test
+    void getAndEvictTest() {
+        ProjectRoleCache projectRoleCache = new ProjectRoleCache(100, 60);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        projectRoleCache.bindTo(registry);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(projectRoleCache.get(1, 2, () -> {
+                loads.incrementAndGet();
+                return Optional.of(MANAGER);
+            })).contains(MANAGER);
+        }
+        assertThat(projectRoleCache.get(1, 3, Optional::empty)).isEmpty();
+        assertThat(projectRoleCache.get(1, 3, Optional::empty)).isEmpty();
+
+        projectRoleCache.evict(1, 2);
+        projectRoleCache.get(1, 2, () -> {
+            loads.incrementAndGet();
+            return Optional.of(MANAGER);
+        });
+
+        assertThat(loads).hasValue(2);
+        assertThat(registry.get("cache.gets").tag("cache", "projectRoles").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.gets").tag("cache", "projectRoles").tag("result", "miss").functionCounter().count()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,50 @@
+package cz.uhk.projectmgmt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.uhk.projectmgmt.dto.ProjectDto;
+import cz.uhk.projectmgmt.enums.PROJECT_STATUS;
+import cz.uhk.projectmgmt.enums.PROJECT_TYPE;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectSnapshotCacheTest {
+
+    @Test
+    void snapshotIsServedForItsVersionTest() {
+        ProjectSnapshotCache projectSnapshotCache = new ProjectSnapshotCache(new ObjectMapper(), 1024 * 1024, 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        ProjectSnapshotCache.ProjectSnapshot first = projectSnapshotCache.get(1, 3, () -> {
+            loads.incrementAndGet();
+            return new ProjectDto(1, "Project", PROJECT_TYPE.PRIVATE, PROJECT_STATUS.NEW, null);
+        });
+        ProjectSnapshotCache.ProjectSnapshot cached = projectSnapshotCache.get(1, 3, () -> {
+            loads.incrementAndGet();
+            return new ProjectDto(1, "Changed", PROJECT_TYPE.PRIVATE, PROJECT_STATUS.NEW, null);
+        });
+
+        assertThat(cached).isSameAs(first);
+        assertThat(first.eTag()).isEqualTo("\"1-3\"");
+        assertThat(new String(first.body(), StandardCharsets.UTF_8)).contains("\"name\":\"Project\"");
+
+        ProjectSnapshotCache.ProjectSnapshot changed = projectSnapshotCache.get(1, 4, () -> {
+            loads.incrementAndGet();
+            return new ProjectDto(1, "Changed", PROJECT_TYPE.PRIVATE, PROJECT_STATUS.NEW, null);
+        });
+
+        assertThat(changed.eTag()).isEqualTo("\"1-4\"");
+        assertThat(new String(changed.body(), StandardCharsets.UTF_8)).contains("\"name\":\"Changed\"");
+        assertThat(projectSnapshotCache.get(1, 3, () -> {
+            loads.incrementAndGet();
+            return new ProjectDto(1, "Project", PROJECT_TYPE.PRIVATE, PROJECT_STATUS.NEW, null);
+        }).eTag()).isEqualTo("\"1-3\"");
+        assertThat(projectSnapshotCache.get(1, 4, () -> {
+            throw new AssertionError("snapshot of the newest version is loaded again");
+        })).isSameAs(changed);
+        assertThat(loads).hasValue(3);
+    }
+}
@@ -0,0 +1,73 @@
+package cz.uhk.projectmgmt.service;
+
+import cz.uhk.projectmgmt.enums.PRIORITY;
+import cz.uhk.projectmgmt.enums.TASK_STATUS;
+import cz.uhk.projectmgmt.model.Task;
+import cz.uhk.projectmgmt.schedule.IncrementalSchedule;
+import cz.uhk.projectmgmt.schedule.ProjectGraph;
+import cz.uhk.projectmgmt.schedule.WorkingCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleCacheTest {
+
+    @Test
+    void scheduleLoadedDuringChangeIsNotCachedTest() {
+        ScheduleCache scheduleCache = new ScheduleCache(1000, 60);
+
+        long version = scheduleCache.version(1);
+        scheduleCache.evict(1);
+        IncrementalSchedule stale = schedule();
+
+        assertThat(scheduleCache.putIfAbsent(1, stale, version)).isSameAs(stale);
+        assertThat(scheduleCache.get(1)).isNull();
+
+        IncrementalSchedule loaded = schedule();
+        assertThat(scheduleCache.putIfAbsent(1, loaded, scheduleCache.version(1))).isSameAs(loaded);
+        assertThat(scheduleCache.putIfAbsent(1, schedule(), scheduleCache.version(1))).isSameAs(loaded);
+        assertThat(scheduleCache.get(1)).isSameAs(loaded);
+
+        scheduleCache.relationshipCreated(1, 2, 1);
+        assertThat(scheduleCache.get(1)).isNull();
+    }
+
+    @Test
+    void taskChangesAreCountedInWorkingDaysTest() {
+        ScheduleCache scheduleCache = new ScheduleCache(1000, 60);
+        LocalDate monday = LocalDate.of(2024, 1, 1);
+        WorkingCalendar calendar = WorkingCalendar.of(monday.toEpochDay(), monday.toEpochDay(), WorkingCalendar.MONDAY_TO_FRIDAY, new long[0]);
+        IncrementalSchedule schedule = IncrementalSchedule.of(graph(), new long[]{monday.toEpochDay(), monday.toEpochDay()}, calendar);
+        scheduleCache.putIfAbsent(1, schedule, scheduleCache.version(1));
+
+        scheduleCache.taskUpdated(task(1, monday, monday.plusDays(7)));
+        assertThat(scheduleCache.get(1).snapshot().getProjectDuration()).isEqualTo(7);
+
+        // the calendar cannot count days before the project start it was built for
+        scheduleCache.taskUpdated(task(2, monday.minusDays(1), monday));
+        assertThat(scheduleCache.get(1)).isNull();
+    }
+
+    private static Task task(Integer id, LocalDate startDate, LocalDate endDate) {
+        Task task = new Task("tester", "Task " + id, PRIORITY.NORMAL, TASK_STATUS.NEW, null, startDate, endDate, 0, null, 1);
+        task.setId(id);
+        return task;
+    }
+
+    private static IncrementalSchedule schedule() {
+        return IncrementalSchedule.of(graph(), new long[2]);
+    }
+
+    private static ProjectGraph graph() {
+        return new ProjectGraph(
+                new int[]{1, 2},
+                new int[]{1, 1},
+                new int[]{1},
+                new int[]{2},
+                null,
+                null
+        );
+    }
+}
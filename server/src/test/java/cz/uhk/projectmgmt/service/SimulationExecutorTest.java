@@ -0,0 +1,24 @@
+package cz.uhk.projectmgmt.service;
+
+import cz.uhk.projectmgmt.exception.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimulationExecutorTest {
+
+    @Test
+    void simulationOverLimitIsRejectedTest() {
+        SimulationExecutor simulationExecutor = new SimulationExecutor(2, 1);
+
+        assertThat(simulationExecutor.<Integer>execute(ForkJoinPool::getParallelism)).isEqualTo(2);
+        assertThatThrownBy(() -> simulationExecutor.execute(pool -> simulationExecutor.execute(inner -> 0)))
+                .isInstanceOf(ServiceBusyException.class);
+        assertThat(simulationExecutor.<Integer>execute(pool -> 1)).isEqualTo(1);
+
+        simulationExecutor.destroy();
+    }
+}
@@ -0,0 +1,252 @@
+package cz.uhk.projectmgmt.service;
+
+import cz.uhk.projectmgmt.dto.ImportTaskDto;
+import cz.uhk.projectmgmt.dto.ImportTaskRelationshipDto;
+import cz.uhk.projectmgmt.dto.ImportTasksDto;
+import cz.uhk.projectmgmt.dto.TaskDateRangeDto;
+import cz.uhk.projectmgmt.dto.UpdateTaskDto;
+import cz.uhk.projectmgmt.dto.WorkloadDto;
+import cz.uhk.projectmgmt.dto.WorkloadIntervalDto;
+import cz.uhk.projectmgmt.enums.*;
+import cz.uhk.projectmgmt.exception.BusinessValidationException;
+import cz.uhk.projectmgmt.model.Project;
+import cz.uhk.projectmgmt.model.ProjectDayOff;
+import cz.uhk.projectmgmt.model.ProjectTombstone;
+import cz.uhk.projectmgmt.model.Task;
+import cz.uhk.projectmgmt.model.TaskRelationship;
+import cz.uhk.projectmgmt.model.User;
+import cz.uhk.projectmgmt.repository.ProjectRepository;
+import cz.uhk.projectmgmt.repository.TaskRepository;
+import cz.uhk.projectmgmt.repository.UserRepository;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ScheduleCache scheduleCache;
+
+    @Mock
+    private ScheduleService scheduleService;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    private static final User TEST_USER = new User("tester", "Ivan", "Tester", "test@test.com", "", "");
+    private static final Integer PROJECT_ID = 1;
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+
+    private Project givenProject(PROJECT_ROLE role) {
+        Project project = new Project("tester", "Project", PROJECT_TYPE.PUBLIC, PROJECT_STATUS.NEW, null);
+        project.setId(PROJECT_ID);
+        given(projectRepository.findById(PROJECT_ID)).willReturn(Optional.of(project));
+        given(projectService.checkUserAccessToProject(project, TEST_USER)).willReturn(role);
+        return project;
+    }
+
+    private static Task task(Integer id, String name, LocalDate startDate, LocalDate endDate) {
+        Task task = new Task("tester", name, PRIORITY.NORMAL, TASK_STATUS.NEW, null, startDate, endDate, 0, null, PROJECT_ID);
+        task.setId(id);
+        return task;
+    }
+
+    private static ImportTaskDto importTask(String key, String name) {
+        return new ImportTaskDto(key, name, PRIORITY.NORMAL, null, START_DATE, START_DATE.plusDays(4), null, null);
+    }
+
+    @Test
+    void importTasksTest() {
+        givenProject(PROJECT_ROLE.OWNER);
+        given(taskRepository.readProjectTaskNames(PROJECT_ID)).willReturn(List.of("Existing"));
+        willAnswer(i -> {
+            List<?> entities = i.getArgument(0);
+            for (int id = 0; id < entities.size(); id++) {
+                if (entities.get(id) instanceof Task task)
+                    task.setId(100 + id);
+            }
+            return null;
+        }).given(taskRepository).persistAll(any());
+
+        Map<String, Integer> taskIds = taskService.importTasks(new ImportTasksDto(PROJECT_ID,
+                List.of(importTask("a", "Analysis"), importTask("b", "Design"), importTask("c", "Implementation")),
+                List.of(new ImportTaskRelationshipDto("b", "a"), new ImportTaskRelationshipDto("c", "b"))
+        ), TEST_USER);
+
+        assertThat(taskIds).containsExactly(Map.entry("a", 100), Map.entry("b", 101), Map.entry("c", 102));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object>> persisted = ArgumentCaptor.forClass(List.class);
+        then(taskRepository).should(times(2)).persistAll(persisted.capture());
+        assertThat(persisted.getAllValues().get(1))
+                .asInstanceOf(InstanceOfAssertFactories.list(TaskRelationship.class))
+                .extracting(TaskRelationship::getTaskId, TaskRelationship::getRelatedTaskId, TaskRelationship::getType)
+                .containsExactly(
+                        tuple(101, 100, TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY),
+                        tuple(102, 101, TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY)
+                );
+        then(projectRepository).should().incrementContentVersion(PROJECT_ID);
+        then(scheduleCache).should().evict(PROJECT_ID);
+    }
+
+    @Test
+    void importTasksAssignedToImporterTest() {
+        // ids outside of the Integer cache are boxed to different instances
+        User importer = new User("importer", "Ivan", "Importer", "importer@test.com", "", "");
+        importer.setId(1000);
+        Project project = new Project("importer", "Project", PROJECT_TYPE.PRIVATE, PROJECT_STATUS.NEW, null);
+        project.setId(PROJECT_ID);
+        given(projectRepository.findById(PROJECT_ID)).willReturn(Optional.of(project));
+        given(projectService.checkUserAccessToProject(project, importer)).willReturn(PROJECT_ROLE.OWNER);
+        given(taskRepository.readProjectTaskNames(PROJECT_ID)).willReturn(List.of());
+
+        ImportTaskDto assigned = new ImportTaskDto("a", "Analysis", PRIORITY.NORMAL, null, START_DATE, START_DATE.plusDays(4), 1000, null);
+        taskService.importTasks(new ImportTasksDto(PROJECT_ID, List.of(assigned), List.of()), importer);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object>> persisted = ArgumentCaptor.forClass(List.class);
+        then(taskRepository).should(times(2)).persistAll(persisted.capture());
+        assertThat(persisted.getAllValues().get(0))
+                .asInstanceOf(InstanceOfAssertFactories.list(Task.class))
+                .extracting(Task::getAssignedUserId)
+                .containsExactly(1000);
+    }
+
+    @Test
+    void importTasksRejectsCycleTest() {
+        givenProject(PROJECT_ROLE.MANAGER);
+        given(taskRepository.readProjectTaskNames(PROJECT_ID)).willReturn(List.of());
+
+        ImportTasksDto importTasksDto = new ImportTasksDto(PROJECT_ID,
+                List.of(importTask("a", "Analysis"), importTask("b", "Design")),
+                List.of(new ImportTaskRelationshipDto("b", "a"), new ImportTaskRelationshipDto("a", "b"))
+        );
+
+        assertThatThrownBy(() -> taskService.importTasks(importTasksDto, TEST_USER))
+                .isInstanceOf(BusinessValidationException.class)
+                .extracting(e -> ((BusinessValidationException) e).getMessageKey())
+                .isEqualTo("schedule.graph.cycle");
+        then(taskRepository).should(never()).persistAll(any());
+    }
+
+    @Test
+    void readUserWorkloadTest() {
+        LocalDate from = START_DATE;
+        LocalDate to = LocalDate.of(2024, 1, 10);
+        given(taskRepository.readUserTaskDateRanges(2, from, to, TEST_USER.getId())).willReturn(List.of(
+                new TaskDateRangeDto(LocalDate.of(2023, 12, 30), LocalDate.of(2024, 1, 3), 1),
+                new TaskDateRangeDto(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 4), 2),
+                new TaskDateRangeDto(LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 20), 1)
+        ));
+
+        WorkloadDto workload = taskService.readUserWorkload(2, from, to, TEST_USER);
+
+        assertThat(workload.getOverAllocatedDays()).isEqualTo(2);
+        assertThat(workload.getTimeline())
+                .extracting(WorkloadIntervalDto::getStartDate, WorkloadIntervalDto::getEndDate, WorkloadIntervalDto::getTasks, WorkloadIntervalDto::isOverAllocated)
+                .containsExactly(
+                        tuple(from, LocalDate.of(2024, 1, 2), 1, false),
+                        tuple(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 3), 3, true),
+                        tuple(LocalDate.of(2024, 1, 4), LocalDate.of(2024, 1, 4), 2, true),
+                        tuple(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 7), 0, false),
+                        tuple(LocalDate.of(2024, 1, 8), to, 1, false)
+                );
+    }
+
+    @Test
+    void readUserWorkloadRejectsReversedPeriodTest() {
+        assertThatThrownBy(() -> taskService.readUserWorkload(2, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 1), TEST_USER))
+                .isInstanceOf(BusinessValidationException.class)
+                .extracting(e -> ((BusinessValidationException) e).getMessageKey())
+                .isEqualTo("workload.invalid.range");
+        then(taskRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void deleteTaskRecordsRelationshipDeletionsTest() {
+        Task design = task(11, "Design", START_DATE, START_DATE.plusDays(4));
+        given(taskRepository.findById(design.getId())).willReturn(Optional.of(design));
+        given(projectService.checkUserAccessToProject(PROJECT_ID, TEST_USER)).willReturn(PROJECT_ROLE.MANAGER);
+        given(taskRepository.readTaskRelationshipIds(design.getId())).willReturn(List.of(20, 21));
+        given(projectRepository.incrementContentVersion(PROJECT_ID)).willReturn(7L);
+
+        taskService.deleteTask(design.getId(), TEST_USER);
+
+        ArgumentCaptor<ProjectTombstone> tombstones = ArgumentCaptor.forClass(ProjectTombstone.class);
+        then(projectRepository).should(times(3)).persist(tombstones.capture());
+        assertThat(tombstones.getAllValues())
+                .extracting(ProjectTombstone::getEntityType, ProjectTombstone::getEntityId, ProjectTombstone::getVersion)
+                .containsExactly(
+                        tuple(PROJECT_ENTITY_TYPE.TASK, 11, 7L),
+                        tuple(PROJECT_ENTITY_TYPE.TASK_RELATIONSHIP, 20, 7L),
+                        tuple(PROJECT_ENTITY_TYPE.TASK_RELATIONSHIP, 21, 7L)
+                );
+        then(scheduleCache).should().taskDeleted(design);
+    }
+
+    @Test
+    void updateTaskShiftsSuccessorsTest() {
+        givenProject(PROJECT_ROLE.OWNER).setAutoSchedule(true);
+
+        Task analysis = task(10, "Analysis", START_DATE, LocalDate.of(2024, 1, 5));
+        Task design = task(11, "Design", LocalDate.of(2024, 1, 6), LocalDate.of(2024, 1, 10));
+        Task review = task(12, "Review", LocalDate.of(2024, 1, 20), LocalDate.of(2024, 1, 20));
+        TaskRelationship designAfterAnalysis = new TaskRelationship(design.getId(), analysis.getId(), TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY);
+        designAfterAnalysis.setMinimumTimeGap(1);
+        TaskRelationship reviewAfterDesign = new TaskRelationship(review.getId(), design.getId(), TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY);
+
+        given(taskRepository.findById(analysis.getId())).willReturn(Optional.of(analysis));
+        given(projectService.checkUserAccessToProject(PROJECT_ID, TEST_USER)).willReturn(PROJECT_ROLE.OWNER);
+        given(taskRepository.findTaskByNameInProject("Analysis", PROJECT_ID)).willReturn(Optional.of(analysis));
+        given(projectRepository.incrementContentVersion(PROJECT_ID)).willReturn(7L);
+        given(taskRepository.readProjectTasks(PROJECT_ID)).willReturn(List.of(analysis, design, review));
+        given(taskRepository.readProjectTaskRelationships(PROJECT_ID, TASK_RELATIONSHIP_TYPE.PREVIOUS_ACTIVITY))
+                .willReturn(List.of(designAfterAnalysis, reviewAfterDesign));
+        given(projectRepository.readDaysOff(PROJECT_ID)).willReturn(List.of(new ProjectDayOff(PROJECT_ID, null, LocalDate.of(2024, 1, 11))));
+
+        // Monday to Friday with a holiday on Thursday 11th, the design keeps its 3 working days after a working day gap
+        taskService.updateExistingTask(new UpdateTaskDto("Analysis", PRIORITY.NORMAL, TASK_STATUS.IN_PROGRESS,
+                START_DATE, LocalDate.of(2024, 1, 8), null, null, null, null, null, null), analysis.getId(), TEST_USER);
+
+        assertThat(design.getStartDate()).isEqualTo(LocalDate.of(2024, 1, 10));
+        assertThat(design.getEndDate()).isEqualTo(LocalDate.of(2024, 1, 15));
+        assertThat(design.getChangeVersion()).isEqualTo(7L);
+        assertThat(review.getStartDate()).isEqualTo(LocalDate.of(2024, 1, 20));
+        assertThat(review.getChangeVersion()).isEqualTo(0L);
+        then(projectRepository).should(times(1)).incrementContentVersion(PROJECT_ID);
+        then(scheduleCache).should().taskUpdated(design);
+        then(scheduleCache).should(never()).taskUpdated(review);
+    }
+}